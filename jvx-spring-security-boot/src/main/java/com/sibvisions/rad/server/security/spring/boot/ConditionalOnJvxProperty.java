@@ -0,0 +1,64 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.boot;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.context.annotation.Conditional;
+
+/**
+ * The <code>ConditionalOnJvxProperty</code> registers a bean only if a setting with the prefix
+ * {@link JvxSecurityProperties#PREFIX} has the expected value.
+ * 
+ * @author Thomas Krautinger
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Documented
+@Conditional(OnJvxPropertyCondition.class)
+public @interface ConditionalOnJvxProperty
+{
+	/**
+	 * The name without prefix, e.g. <code>audit.enabled</code>.
+	 * 
+	 * @return the name
+	 */
+	String name();
+
+	/**
+	 * The expected value, compared case insensitive.
+	 * 
+	 * @return the value
+	 */
+	String havingValue() default "true";
+
+	/**
+	 * Whether the condition matches if the setting is missing.
+	 * 
+	 * @return <code>true</code> to match a missing setting
+	 */
+	boolean matchIfMissing() default false;
+
+} // ConditionalOnJvxProperty
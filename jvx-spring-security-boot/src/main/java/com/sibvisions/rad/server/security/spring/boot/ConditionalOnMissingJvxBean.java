@@ -0,0 +1,51 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.boot;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.context.annotation.Conditional;
+
+/**
+ * The <code>ConditionalOnMissingJvxBean</code> registers a bean only if the application didn't define
+ * a bean of the same type. The auto-configuration has to be processed after the application
+ * configuration, as done for auto-configurations of Spring Boot.
+ * 
+ * @author Thomas Krautinger
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Documented
+@Conditional(OnMissingJvxBeanCondition.class)
+public @interface ConditionalOnMissingJvxBean
+{
+	/**
+	 * The bean type.
+	 * 
+	 * @return the type
+	 */
+	Class<?> value();
+
+} // ConditionalOnMissingJvxBean
@@ -0,0 +1,282 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.boot;
+
+import java.io.File;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.env.Environment;
+import org.springframework.security.core.session.SessionRegistry;
+import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.security.web.authentication.Http403ForbiddenEntryPoint;
+import org.springframework.security.web.authentication.LoginUrlAuthenticationEntryPoint;
+
+import com.sibvisions.rad.server.security.spring.SecurityManagerEntryPoint;
+import com.sibvisions.rad.server.security.spring.SecurityManagerWarmup;
+import com.sibvisions.rad.server.security.spring.audit.AuditLog;
+import com.sibvisions.rad.server.security.spring.authentication.SecurityManagerPreparerAuthenticationSuccessHandler;
+import com.sibvisions.rad.server.security.spring.logout.ClusterSessionInvalidator;
+import com.sibvisions.rad.server.security.spring.logout.DestroySessionLogoutSuccessHandler;
+import com.sibvisions.rad.server.security.spring.logout.ISessionInvalidationTransport;
+import com.sibvisions.rad.server.security.spring.logout.LoopbackSessionInvalidationTransport;
+import com.sibvisions.rad.server.security.spring.logout.SessionReaper;
+
+/**
+ * The <code>JvxSecurityAutoConfiguration</code> wires the JVx integration for Spring Boot, instead of the
+ * beans of <code>jvx-security.xml</code>. It will be found via <code>META-INF/spring.factories</code>
+ * or, without Spring Boot, imported with <code>@Import(JvxSecurityAutoConfiguration.class)</code> after
+ * the application configuration.
+ * 
+ * The entry point, the authentication success handler and the logout success handler are lazy and only
+ * created if the application didn't define its own bean of the same type. They are enabled by default
+ * and use the settings:
+ * 
+ * <pre>
+ * jvx.security.entry-point.enabled=true
+ * jvx.security.entry-point.login-url=/login          (empty for 403 without login page)
+ * jvx.security.entry-point.secured-paths=/services/Server
+ * jvx.security.entry-point.compact-responses=true
+ * jvx.security.entry-point.rejection-timeout=5000
+ * jvx.security.success-handler.enabled=true
+ * jvx.security.success-handler.default-target-url=/web/ui
+ * jvx.security.logout-url=/logout
+ * jvx.security.logout-success-handler.enabled=true
+ * </pre>
+ * 
+ * Features with background threads are disabled by default and, if enabled, created at startup even
+ * with lazy initialization:
+ * 
+ * <pre>
+ * jvx.security.cluster.enabled=true                  (uses an ISessionInvalidationTransport bean or the loopback)
+ * jvx.security.cluster.batch-delay=50
+ * jvx.security.cluster.max-batch-size=500
+ * jvx.security.cluster.dedup-timeout=60000
+ * jvx.security.reaper.enabled=true
+ * jvx.security.reaper.tick-duration=1000
+ * jvx.security.reaper.check-interval=300000
+ * jvx.security.reaper.grace-period=60000
+ * jvx.security.reaper.batch-size=100
+ * jvx.security.audit.enabled=true
+ * jvx.security.audit.directory=/var/log/jvx/audit
+ * jvx.security.audit.capacity=65536
+ * jvx.security.audit.file-size=67108864
+ * jvx.security.audit.max-files=10
+ * jvx.security.warmup.enabled=true
+ * jvx.security.warmup.applications=myapp
+ * jvx.security.warmup.validate=true
+ * </pre>
+ * 
+ * Missing settings keep the defaults of the beans, the values above are examples.
+ * 
+ * @author Thomas Krautinger
+ */
+@Configuration(proxyBeanMethods = false)
+@Lazy
+public class JvxSecurityAutoConfiguration
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates the settings.
+	 * 
+	 * @param pEnvironment the environment
+	 * @return the settings
+	 */
+	@Bean
+	@ConditionalOnMissingJvxBean(JvxSecurityProperties.class)
+	public JvxSecurityProperties jvxSecurityProperties(Environment pEnvironment)
+	{
+		return new JvxSecurityProperties(pEnvironment);
+	}
+
+	/**
+	 * Creates the entry point which answers unauthenticated JVx requests.
+	 * 
+	 * @param pProperties the settings
+	 * @return the entry point
+	 */
+	@Bean
+	@ConditionalOnJvxProperty(name = "entry-point.enabled", matchIfMissing = true)
+	@ConditionalOnMissingJvxBean(SecurityManagerEntryPoint.class)
+	public SecurityManagerEntryPoint jvxEntryPoint(JvxSecurityProperties pProperties)
+	{
+		String sLoginUrl = pProperties.getString("entry-point.login-url", "/login");
+
+		AuthenticationEntryPoint delegate;
+
+		if (sLoginUrl.trim().length() == 0)
+		{
+			delegate = new Http403ForbiddenEntryPoint();
+		}
+		else
+		{
+			delegate = new LoginUrlAuthenticationEntryPoint(sLoginUrl.trim());
+		}
+
+		SecurityManagerEntryPoint entryPoint = new SecurityManagerEntryPoint(delegate);
+		entryPoint.setSecuredPaths(pProperties.getStrings("entry-point.secured-paths", entryPoint.getSecuredPaths()));
+		entryPoint.setCompactResponses(pProperties.getBoolean("entry-point.compact-responses", entryPoint.isCompactResponses()));
+		entryPoint.setRejectionTimeout(pProperties.getLong("entry-point.rejection-timeout", entryPoint.getRejectionTimeout()));
+
+		return entryPoint;
+	}
+
+	/**
+	 * Creates the authentication success handler which prepares the JVx security manager.
+	 * 
+	 * @param pProperties the settings
+	 * @return the authentication success handler
+	 */
+	@Bean
+	@ConditionalOnJvxProperty(name = "success-handler.enabled", matchIfMissing = true)
+	@ConditionalOnMissingJvxBean(SecurityManagerPreparerAuthenticationSuccessHandler.class)
+	public SecurityManagerPreparerAuthenticationSuccessHandler jvxAuthenticationSuccessHandler(JvxSecurityProperties pProperties)
+	{
+		return new SecurityManagerPreparerAuthenticationSuccessHandler(pProperties.getString("success-handler.default-target-url", "/web/ui"),
+																	   pProperties.getString("logout-url", "/logout"));
+	}
+
+	/**
+	 * Creates the logout success handler which destroys the JVx session. The cluster session invalidator
+	 * will be used, if enabled.
+	 * 
+	 * @param pSessionInvalidator the optional cluster session invalidator
+	 * @return the logout success handler
+	 */
+	@Bean
+	@ConditionalOnJvxProperty(name = "logout-success-handler.enabled", matchIfMissing = true)
+	@ConditionalOnMissingJvxBean(DestroySessionLogoutSuccessHandler.class)
+	public DestroySessionLogoutSuccessHandler jvxLogoutSuccessHandler(ObjectProvider<ClusterSessionInvalidator> pSessionInvalidator)
+	{
+		DestroySessionLogoutSuccessHandler handler = new DestroySessionLogoutSuccessHandler();
+		handler.setSessionInvalidator(pSessionInvalidator.getIfAvailable());
+
+		return handler;
+	}
+
+	/**
+	 * Creates the cluster session invalidator.
+	 * 
+	 * @param pProperties the settings
+	 * @param pTransport the optional transport, the loopback transport if missing
+	 * @return the cluster session invalidator
+	 */
+	@Bean
+	@Lazy(false)
+	@ConditionalOnJvxProperty(name = "cluster.enabled")
+	@ConditionalOnMissingJvxBean(ClusterSessionInvalidator.class)
+	public ClusterSessionInvalidator jvxSessionInvalidator(JvxSecurityProperties pProperties, ObjectProvider<ISessionInvalidationTransport> pTransport)
+	{
+		ISessionInvalidationTransport transport = pTransport.getIfAvailable();
+
+		if (transport == null)
+		{
+			transport = new LoopbackSessionInvalidationTransport();
+		}
+
+		ClusterSessionInvalidator invalidator = new ClusterSessionInvalidator(transport);
+		invalidator.setBatchDelay(pProperties.getLong("cluster.batch-delay", invalidator.getBatchDelay()));
+		invalidator.setMaxBatchSize(pProperties.getInt("cluster.max-batch-size", invalidator.getMaxBatchSize()));
+		invalidator.setDedupTimeout(pProperties.getLong("cluster.dedup-timeout", invalidator.getDedupTimeout()));
+
+		return invalidator;
+	}
+
+	/**
+	 * Creates the session reaper.
+	 * 
+	 * @param pProperties the settings
+	 * @param pSessionRegistry the optional session registry
+	 * @param pSessionInvalidator the optional cluster session invalidator
+	 * @return the session reaper
+	 */
+	@Bean
+	@Lazy(false)
+	@ConditionalOnJvxProperty(name = "reaper.enabled")
+	@ConditionalOnMissingJvxBean(SessionReaper.class)
+	public SessionReaper jvxSessionReaper(JvxSecurityProperties pProperties,
+										  ObjectProvider<SessionRegistry> pSessionRegistry,
+										  ObjectProvider<ClusterSessionInvalidator> pSessionInvalidator)
+	{
+		SessionReaper reaper = new SessionReaper();
+		reaper.setTickDuration(pProperties.getLong("reaper.tick-duration", reaper.getTickDuration()));
+		reaper.setCheckInterval(pProperties.getLong("reaper.check-interval", reaper.getCheckInterval()));
+		reaper.setGracePeriod(pProperties.getLong("reaper.grace-period", reaper.getGracePeriod()));
+		reaper.setBatchSize(pProperties.getInt("reaper.batch-size", reaper.getBatchSize()));
+		reaper.setSessionRegistry(pSessionRegistry.getIfAvailable());
+		reaper.setSessionInvalidator(pSessionInvalidator.getIfAvailable());
+
+		return reaper;
+	}
+
+	/**
+	 * Creates the audit log.
+	 * 
+	 * @param pProperties the settings
+	 * @return the audit log
+	 */
+	@Bean
+	@Lazy(false)
+	@ConditionalOnJvxProperty(name = "audit.enabled")
+	@ConditionalOnMissingJvxBean(AuditLog.class)
+	public AuditLog jvxAuditLog(JvxSecurityProperties pProperties)
+	{
+		AuditLog log = new AuditLog();
+
+		String sDirectory = pProperties.getString("audit.directory", null);
+
+		if (sDirectory != null)
+		{
+			log.setDirectory(new File(sDirectory));
+		}
+
+		log.setCapacity(pProperties.getInt("audit.capacity", log.getCapacity()));
+		log.setFileSize(pProperties.getInt("audit.file-size", log.getFileSize()));
+		log.setMaxFiles(pProperties.getInt("audit.max-files", log.getMaxFiles()));
+
+		return log;
+	}
+
+	/**
+	 * Creates the warm-up of the security integration for the configured applications.
+	 * 
+	 * @param pProperties the settings
+	 * @return the warm-up
+	 */
+	@Bean
+	@Lazy(false)
+	@ConditionalOnJvxProperty(name = "warmup.enabled")
+	@ConditionalOnMissingJvxBean(SecurityManagerWarmup.class)
+	public SecurityManagerWarmup jvxWarmup(JvxSecurityProperties pProperties)
+	{
+		SecurityManagerWarmup warmup = new SecurityManagerWarmup(pProperties.getStrings("warmup.applications", new String[0]));
+		warmup.setValidate(pProperties.getBoolean("warmup.validate", warmup.isValidate()));
+		warmup.setFailOnError(pProperties.getBoolean("warmup.fail-on-error", warmup.isFailOnError()));
+
+		return warmup;
+	}
+
+} // JvxSecurityAutoConfiguration
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.boot;
+
+import org.springframework.core.env.Environment;
+
+/**
+ * The <code>JvxSecurityProperties</code> reads the settings of the auto-configuration with the prefix
+ * {@link #PREFIX} from the environment, e.g. <code>application.properties</code>. Missing settings keep
+ * the defaults of the configured beans.
+ * 
+ * @author Thomas Krautinger
+ */
+public class JvxSecurityProperties
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Constants
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the property prefix. */
+	public static final String PREFIX = "jvx.security.";
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the environment. */
+	private Environment environment;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates a new instance of <code>JvxSecurityProperties</code>.
+	 * 
+	 * @param pEnvironment the environment
+	 */
+	public JvxSecurityProperties(Environment pEnvironment)
+	{
+		environment = pEnvironment;
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Gets a text setting.
+	 * 
+	 * @param pName the name without prefix, e.g. <code>entry-point.login-url</code>
+	 * @param pDefault the default value
+	 * @return the value or <code>pDefault</code> if not set
+	 */
+	public String getString(String pName, String pDefault)
+	{
+		return environment.getProperty(PREFIX + pName, pDefault);
+	}
+
+	/**
+	 * Gets a comma separated list setting.
+	 * 
+	 * @param pName the name without prefix
+	 * @param pDefault the default value
+	 * @return the trimmed values or <code>pDefault</code> if not set
+	 */
+	public String[] getStrings(String pName, String[] pDefault)
+	{
+		String sValue = environment.getProperty(PREFIX + pName);
+
+		if (sValue == null
+			|| sValue.trim().length() == 0)
+		{
+			return pDefault;
+		}
+
+		String[] sValues = sValue.split(",");
+
+		for (int i = 0; i < sValues.length; i++)
+		{
+			sValues[i] = sValues[i].trim();
+		}
+
+		return sValues;
+	}
+
+	/**
+	 * Gets a boolean setting.
+	 * 
+	 * @param pName the name without prefix
+	 * @param pDefault the default value
+	 * @return the value or <code>pDefault</code> if not set
+	 */
+	public boolean getBoolean(String pName, boolean pDefault)
+	{
+		return environment.getProperty(PREFIX + pName, Boolean.class, Boolean.valueOf(pDefault)).booleanValue();
+	}
+
+	/**
+	 * Gets an int setting.
+	 * 
+	 * @param pName the name without prefix
+	 * @param pDefault the default value
+	 * @return the value or <code>pDefault</code> if not set
+	 */
+	public int getInt(String pName, int pDefault)
+	{
+		return environment.getProperty(PREFIX + pName, Integer.class, Integer.valueOf(pDefault)).intValue();
+	}
+
+	/**
+	 * Gets a long setting, e.g. a time in milliseconds.
+	 * 
+	 * @param pName the name without prefix
+	 * @param pDefault the default value
+	 * @return the value or <code>pDefault</code> if not set
+	 */
+	public long getLong(String pName, long pDefault)
+	{
+		return environment.getProperty(PREFIX + pName, Long.class, Long.valueOf(pDefault)).longValue();
+	}
+
+} // JvxSecurityProperties
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.boot;
+
+import java.util.Map;
+
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * The <code>OnJvxPropertyCondition</code> checks a {@link ConditionalOnJvxProperty}.
+ * 
+ * @author Thomas Krautinger
+ */
+class OnJvxPropertyCondition implements Condition
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Interface implementation
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public boolean matches(ConditionContext pContext, AnnotatedTypeMetadata pMetadata)
+	{
+		Map<String, Object> attributes = pMetadata.getAnnotationAttributes(ConditionalOnJvxProperty.class.getName());
+
+		String sValue = pContext.getEnvironment().getProperty(JvxSecurityProperties.PREFIX + attributes.get("name"));
+
+		if (sValue == null)
+		{
+			return ((Boolean) attributes.get("matchIfMissing")).booleanValue();
+		}
+
+		return ((String) attributes.get("havingValue")).equalsIgnoreCase(sValue.trim());
+	}
+
+} // OnJvxPropertyCondition
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.boot;
+
+import java.util.Map;
+
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.ConfigurationCondition;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * The <code>OnMissingJvxBeanCondition</code> checks a {@link ConditionalOnMissingJvxBean}. Bean
+ * definitions will be checked without creating beans.
+ * 
+ * @author Thomas Krautinger
+ */
+class OnMissingJvxBeanCondition implements ConfigurationCondition
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Interface implementation
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public ConfigurationPhase getConfigurationPhase()
+	{
+		return ConfigurationPhase.REGISTER_BEAN;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public boolean matches(ConditionContext pContext, AnnotatedTypeMetadata pMetadata)
+	{
+		if (pContext.getBeanFactory() == null)
+		{
+			return true;
+		}
+
+		Map<String, Object> attributes = pMetadata.getAnnotationAttributes(ConditionalOnMissingJvxBean.class.getName());
+
+		return pContext.getBeanFactory().getBeanNamesForType((Class<?>) attributes.get("value"), true, false).length == 0;
+	}
+
+} // OnMissingJvxBeanCondition
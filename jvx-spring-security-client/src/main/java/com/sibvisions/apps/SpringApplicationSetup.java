@@ -23,6 +23,8 @@ package com.sibvisions.apps;
 import java.net.URL;
 
 import jvx.rad.application.IApplication;
+import jvx.rad.application.IWorkScreen;
+import jvx.rad.application.IWorkScreenApplication.Modality;
 import jvx.rad.application.genui.IApplicationSetup;
 import jvx.rad.application.genui.RemoteApplication;
 import jvx.rad.application.genui.UILauncher;
@@ -34,6 +36,7 @@ import jvx.rad.remote.UnauthorizedException;
 
 import com.sibvisions.apps.projx.ProjX;
 import com.sibvisions.auth.spring.SpringAuthenticator;
+import com.sibvisions.util.ArrayUtil;
 
 /**
  * The <code>SpringApplicationSetup</code> sets default parameters
@@ -43,7 +46,22 @@ import com.sibvisions.auth.spring.SpringAuthenticator;
  */
 public class SpringApplicationSetup implements IApplicationSetup
 {
-
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Constants
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/** the parameter name for enabling the silent re-authentication. */
+	public static final String PARAM_REAUTHENTICATION = "Application.spring.reauthentication";
+	
+	/** the parameter name for the maximum number of re-authentication attempts. */
+	public static final String PARAM_REAUTHENTICATION_ATTEMPTS = "Application.spring.reauthentication.attempts";
+	
+	/** the parameter name for the initial backoff delay (in milliseconds). */
+	public static final String PARAM_REAUTHENTICATION_DELAY = "Application.spring.reauthentication.delay";
+	
+	/** the parameter name for the maximum backoff delay (in milliseconds). */
+	public static final String PARAM_REAUTHENTICATION_MAXDELAY = "Application.spring.reauthentication.maxdelay";
+	
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
     // Class members
     //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -54,6 +72,30 @@ public class SpringApplicationSetup implements IApplicationSetup
 	/** the flag indicates whether logout was forced by the user. */
 	private boolean userLogout;
 	
+	/** the flag indicates whether the silent re-authentication is enabled. */
+	private boolean reAuthentication = false;
+	
+	/** the maximum number of re-authentication attempts. */
+	private int reAuthenticationAttempts = 5;
+	
+	/** the initial backoff delay (in milliseconds). */
+	private long reAuthenticationDelay = 500;
+	
+	/** the maximum backoff delay (in milliseconds). */
+	private long reAuthenticationMaxDelay = 30000;
+	
+	/** the currently running re-authentication thread. */
+	private Thread thReAuthentication;
+	
+	/** the class names of the work screens, open before the communication exception. */
+	private ArrayUtil<String> reopenScreenClasses;
+	
+	/** the modality of the work screens, open before the communication exception. */
+	private ArrayUtil<Modality> reopenScreenModality;
+	
+	/** whether an auto-login of the silent re-authentication is running. */
+	private volatile boolean reAuthenticating;
+	
     //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
     // Interface implementation
     //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -71,6 +113,11 @@ public class SpringApplicationSetup implements IApplicationSetup
 		launcher.setParameter(ProjX.PARAM_MENU_CHANGE_PASSWORD_VISIBLE, "false");
 		launcher.setParameter(ProjX.PARAM_MENU_LOGIN_VISIBLE, "false");
 		
+		reAuthentication = Boolean.valueOf(launcher.getParameter(PARAM_REAUTHENTICATION)).booleanValue();
+		reAuthenticationAttempts = getParameter(launcher, PARAM_REAUTHENTICATION_ATTEMPTS, reAuthenticationAttempts);
+		reAuthenticationDelay = getParameter(launcher, PARAM_REAUTHENTICATION_DELAY, reAuthenticationDelay);
+		reAuthenticationMaxDelay = getParameter(launcher, PARAM_REAUTHENTICATION_MAXDELAY, reAuthenticationMaxDelay);
+		
 		// login immediate
 		projx.setUseLoginThread(false);
 		
@@ -79,6 +126,7 @@ public class SpringApplicationSetup implements IApplicationSetup
 		projx.eventAfterLogout().addListener(this, "doAfterLogout");
 		projx.eventAfterLogin().addListener(this, "doAfterLogin");
 		projx.eventAutoLoginException().addListener(this, "doAutoLoginException");
+		projx.eventBeforeCommunicationException().addListener(this, "doBeforeCommunicationException");
 		projx.eventAfterCommunicationException().addListener(this, "doAfterCommunicationException");
 		
 	}
@@ -170,7 +218,8 @@ public class SpringApplicationSetup implements IApplicationSetup
 	
 
 	/**
-	 * Shows error message if authentication failed.
+	 * Shows error message if authentication failed. Failed attempts of the silent re-authentication
+	 * will only be logged.
 	 * 
 	 * @param pApplication the application
 	 * @param pConnection the used connection
@@ -179,11 +228,59 @@ public class SpringApplicationSetup implements IApplicationSetup
 	 */
 	public void doAutoLoginException(ProjX pApplication, MasterConnection pConnection, Throwable pThrowable) throws Throwable
 	{
-		projx.handleException(new SecurityException("Spring security pre-authentication failed!"));
+		if (reAuthenticating)
+		{
+			projx.debug(pThrowable);
+		}
+		else
+		{
+			projx.handleException(new SecurityException("Spring security pre-authentication failed!"));
+		}
+	}
+	
+	/**
+	 * Remembers the open work screens, before the application logs out because of the communication
+	 * exception. The screens will be opened again after a successful silent re-authentication.
+	 * 
+	 * @param pApplication the application
+	 * @param pException the communication exception
+	 */
+	public void doBeforeCommunicationException(ProjX pApplication, CommunicationException pException)
+	{
+		if (pException instanceof UnauthorizedException
+			&& reAuthentication
+			&& reAuthenticationAttempts > 0)
+		{
+			IWorkScreen[] screens = projx.getWorkScreens();
+			
+			ArrayUtil<String> auScreenClasses = new ArrayUtil<String>();
+			ArrayUtil<Modality> auScreenModality = new ArrayUtil<Modality>();
+			
+			if (screens != null)
+			{
+				for (int i = 0; i < screens.length; i++)
+				{
+					auScreenClasses.add(projx.getClassName(screens[i]));
+					auScreenModality.add(screens[i].isModal() ? Modality.Modal : Modality.NotModal);
+				}
+			}
+			
+			synchronized (this)
+			{
+				// keep the screens of the first exception, if the re-authentication is already running
+				if (thReAuthentication == null)
+				{
+					reopenScreenClasses = auScreenClasses;
+					reopenScreenModality = auScreenModality;
+				}
+			}
+		}
 	}
 	
 	/**
-	 * Shows error message after communication exception.
+	 * Shows error message after communication exception. If the silent re-authentication is enabled,
+	 * the pre-authenticated login will be retried before the message is shown. The application is
+	 * already logged out at this time.
 	 * 
 	 * @param pApplication the application
 	 * @param pException the communication exception
@@ -192,13 +289,15 @@ public class SpringApplicationSetup implements IApplicationSetup
 	{
 		if (pException instanceof UnauthorizedException)
 		{
-			try
+			if (reAuthentication
+				&& reAuthenticationAttempts > 0
+				&& !userLogout)
 			{
-				projx.showInformation(projx, "You were logged off by the pre-authentication system!");
+				startReAuthentication();
 			}
-			catch (Throwable thr)
+			else
 			{
-				projx.handleException(thr);
+				showLoggedOff();
 			}
 		}
 		else
@@ -207,6 +306,195 @@ public class SpringApplicationSetup implements IApplicationSetup
 		}
 	}
 
+	/**
+	 * Starts the silent re-authentication, if it's not already running.
+	 */
+	private synchronized void startReAuthentication()
+	{
+		if (thReAuthentication != null)
+		{
+			return;
+		}
+		
+		final ArrayUtil<String> auScreenClasses = reopenScreenClasses != null ? reopenScreenClasses : new ArrayUtil<String>();
+		final ArrayUtil<Modality> auScreenModality = reopenScreenModality != null ? reopenScreenModality : new ArrayUtil<Modality>();
+		
+		reopenScreenClasses = null;
+		reopenScreenModality = null;
+		
+		thReAuthentication = projx.getLauncher().getFactory().invokeInThread(new Runnable()
+		{
+			public void run()
+			{
+				try
+				{
+					if (reAuthenticate())
+					{
+						projx.getLauncher().getFactory().invokeLater(new Runnable()
+						{
+							public void run()
+							{
+								reopenWorkScreens(auScreenClasses, auScreenModality);
+							}
+						});
+					}
+					else
+					{
+						projx.getLauncher().getFactory().invokeLater(new Runnable()
+						{
+							public void run()
+							{
+								showLoggedOff();
+							}
+						});
+					}
+				}
+				finally
+				{
+					synchronized (SpringApplicationSetup.this)
+					{
+						thReAuthentication = null;
+					}
+				}
+			}
+		});
+	}
+	
+	/**
+	 * Retries the pre-authenticated login with an exponential backoff. Every attempt uses the auto-login
+	 * of the application with the {@link SpringAuthenticator}, which creates a new master connection.
+	 * 
+	 * @return <code>true</code> if the application is logged in again, <code>false</code> if all attempts failed
+	 */
+	private boolean reAuthenticate()
+	{
+		long lDelay = reAuthenticationDelay;
+		
+		for (int i = 0; i < reAuthenticationAttempts; i++)
+		{
+			try
+			{
+				Thread.sleep(lDelay);
+			}
+			catch (InterruptedException ie)
+			{
+				return false;
+			}
+			
+			// logged in by the user in the meantime
+			if (projx.isConnected())
+			{
+				return false;
+			}
+			
+			reAuthenticating = true;
+			
+			try
+			{
+				projx.getLauncher().getFactory().invokeAndWait(new Runnable()
+				{
+					public void run()
+					{
+						projx.checkAutoLogin();
+					}
+				});
+				
+				if (projx.isConnected())
+				{
+					return true;
+				}
+			}
+			catch (Throwable th)
+			{
+				projx.debug(th);
+			}
+			finally
+			{
+				reAuthenticating = false;
+			}
+			
+			lDelay = Math.min(lDelay * 2, reAuthenticationMaxDelay);
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Opens the work screens again, after the application logged in again.
+	 * 
+	 * @param pScreenClasses the class names of the work screens
+	 * @param pModality the modality of the work screens
+	 */
+	private void reopenWorkScreens(ArrayUtil<String> pScreenClasses, ArrayUtil<Modality> pModality)
+	{
+		for (int i = 0, ic = pScreenClasses.size(); i < ic; i++)
+		{
+			try
+			{
+				projx.openWorkScreen(pScreenClasses.get(i), pModality.get(i));
+			}
+			catch (Throwable th)
+			{
+				projx.debug(th);
+			}
+		}
+	}
+	
+	/**
+	 * Shows the information that the user was logged off.
+	 */
+	private void showLoggedOff()
+	{
+		try
+		{
+			projx.showInformation(projx, "You were logged off by the pre-authentication system!");
+		}
+		catch (Throwable thr)
+		{
+			projx.handleException(thr);
+		}
+	}
+	
+	/**
+	 * Gets a numeric launcher parameter.
+	 * 
+	 * @param pLauncher the launcher
+	 * @param pName the parameter name
+	 * @param pDefault the default value
+	 * @return the parameter value or <code>pDefault</code> if the parameter is not set or invalid
+	 */
+	private static int getParameter(UILauncher pLauncher, String pName, int pDefault)
+	{
+		return (int) getParameter(pLauncher, pName, (long) pDefault);
+	}
+	
+	/**
+	 * Gets a numeric launcher parameter.
+	 * 
+	 * @param pLauncher the launcher
+	 * @param pName the parameter name
+	 * @param pDefault the default value
+	 * @return the parameter value or <code>pDefault</code> if the parameter is not set or invalid
+	 */
+	private static long getParameter(UILauncher pLauncher, String pName, long pDefault)
+	{
+		String sValue = pLauncher.getParameter(pName);
+		
+		if (sValue != null)
+		{
+			try
+			{
+				return Long.parseLong(sValue.trim());
+			}
+			catch (NumberFormatException nfe)
+			{
+				// use default
+			}
+		}
+		
+		return pDefault;
+	}
+
 	
 	/**
 	 * Redirects to the url defined as registry key logout.process.url.
@@ -17,6 +17,8 @@
  * History
  * 
  * 04.02.2015 - [TK] - creation
+ * 19.10.2026 - [TK] - resume token
+ * 19.10.2026 - [TK] - client profile
  */
 package com.sibvisions.auth.spring;
 
@@ -30,10 +32,27 @@ import com.sibvisions.apps.auth.IAuthenticator;
 /**
  * The <code>SpringAuthenticator</code> will be used for spring security pre authentication.
  * 
+ * If the server issues a resume token, the token will be stored in the registry of the launcher and sent
+ * with the next connect. The server then continues with the security state of the still alive session,
+ * if the client is authenticated with the same principal.
+ * 
+ * The client declares the <code>full</code> profile, because the application uses roles, work-screens and
+ * metadata. Another profile can be set with the launcher parameter <code>Spring.profile</code>.
+ * 
  * @author Thomas Krautinger
  */
 public class SpringAuthenticator implements IAuthenticator
 {
+ 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Constants
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/** The connection property of the resume token. */
+	public static final String RESUME_TOKEN = PREFIX_CLIENT + "resume.token";
+	
+	/** The connection property of the client profile. */
+	public static final String PROFILE = PREFIX_CLIENT + "spring.profile";
+	
  	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
     // Interface implementation
     //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -51,6 +70,18 @@ public class SpringAuthenticator implements IAuthenticator
 		{
 			htCredentials.put(APPLICATION, sValue);
 		}
+		
+		sValue = pLauncher.getParameter("Spring.profile");
+		
+		htCredentials.put(PROFILE, sValue != null ? sValue : "full");
+		
+		String sToken = pLauncher.getRegistryKey(getResumeTokenKey(pLauncher));
+		
+		if (sToken != null
+			&& sToken.length() > 0)
+		{
+			htCredentials.put(RESUME_TOKEN, sToken);
+		}
 
 		return htCredentials;
 	}
@@ -60,7 +91,36 @@ public class SpringAuthenticator implements IAuthenticator
 	 */
 	public void setAuthenticated(ILauncher pLauncher, AbstractConnection pConnection)
 	{
-		// Do nothing
+		Object oToken;
+		
+		try
+		{
+			oToken = pConnection.getProperty(RESUME_TOKEN);
+		}
+		catch (Throwable th)
+		{
+			oToken = null;
+		}
+		
+		if (oToken instanceof String)
+		{
+			pLauncher.setRegistryKey(getResumeTokenKey(pLauncher), (String) oToken);
+		}
+	}
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // User-defined methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/**
+	 * Gets the registry key of the resume token for the application.
+	 * 
+	 * @param pLauncher the launcher
+	 * @return the registry key
+	 */
+	protected String getResumeTokenKey(ILauncher pLauncher)
+	{
+		return "spring.resumetoken." + pLauncher.getParameter(ILauncher.PARAM_APPLICATIONNAME);
 	}
 
 } // SpringAuthenticator
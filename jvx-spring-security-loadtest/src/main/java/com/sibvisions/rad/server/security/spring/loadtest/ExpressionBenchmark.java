@@ -0,0 +1,275 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ * 19.10.2026 - [TK] - expected decision
+ */
+package com.sibvisions.rad.server.security.spring.loadtest;
+
+import java.util.Arrays;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.sibvisions.rad.server.security.spring.SpringExpressionAccessController;
+import com.sibvisions.rad.server.security.spring.SpringExpressionAccessController.ExpressionRoot;
+
+/**
+ * The <code>ExpressionBenchmark</code> compares the evaluation of access expressions which will be
+ * parsed for every check with expressions which will be parsed once, as used by
+ * {@link SpringExpressionAccessController}.
+ * 
+ * Usage: <code>ExpressionBenchmark [iterations=1000000] [expression=...] [expected=true|false]</code>
+ * 
+ * The tool exits with status 1 if the decision is not the expected one, or if the decisions are not the
+ * same for all checks. The default expression is expected to allow the access.
+ * 
+ * @author Thomas Krautinger
+ */
+public final class ExpressionBenchmark
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Constants
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the default expression. */
+	private static final String DEFAULT_EXPRESSION = "hasRole('Admin') and principal.department == 'X' and action == 'delete'";
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Initialization
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Invisible constructor, because the <code>ExpressionBenchmark</code> is a utility class.
+	 */
+	private ExpressionBenchmark()
+	{
+	}
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // User-defined methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Starts the benchmark.
+	 * 
+	 * @param pArgs the arguments in the form <code>name=value</code>
+	 */
+	public static void main(String[] pArgs)
+	{
+		int iIterations = 1000000;
+		String sExpression = DEFAULT_EXPRESSION;
+		String sExpected = null;
+
+		for (int i = 0; i < pArgs.length; i++)
+		{
+			if (pArgs[i].startsWith("iterations="))
+			{
+				iIterations = Integer.parseInt(pArgs[i].substring(11));
+			}
+			else if (pArgs[i].startsWith("expression="))
+			{
+				sExpression = pArgs[i].substring(11);
+			}
+			else if (pArgs[i].startsWith("expected="))
+			{
+				sExpected = pArgs[i].substring(9);
+			}
+		}
+
+		if (sExpected == null
+			&& DEFAULT_EXPRESSION.equals(sExpression))
+		{
+			sExpected = "true";
+		}
+
+		UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+				new Principal("admin", "X"), null, Arrays.<GrantedAuthority>asList(new SimpleGrantedAuthority("Admin")));
+
+		// warm-up
+		runInterpreted(sExpression, authentication, iIterations / 10);
+		runParsedOnce(sExpression, authentication, iIterations / 10);
+
+		long lInterpreted = runInterpreted(sExpression, authentication, iIterations);
+		long lParsedOnce = runParsedOnce(sExpression, authentication, iIterations);
+
+		System.out.println("expression: " + sExpression);
+		System.out.println("parse per check: " + (lInterpreted / iIterations) + " ns/op");
+		System.out.println("parsed once:     " + (lParsedOnce / iIterations) + " ns/op");
+
+		boolean bAllowed = evaluate(SpringExpressionAccessController.parse(sExpression), authentication);
+
+		System.out.println("allowed:         " + bAllowed);
+
+		if (sExpected != null
+			&& Boolean.parseBoolean(sExpected) != bAllowed)
+		{
+			System.out.println("expected:        " + sExpected);
+
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Parses and evaluates the expression for every check.
+	 * 
+	 * @param pExpression the expression
+	 * @param pAuthentication the authentication
+	 * @param pIterations the number of checks
+	 * @return the elapsed time in nanoseconds
+	 */
+	private static long runInterpreted(String pExpression, UsernamePasswordAuthenticationToken pAuthentication, int pIterations)
+	{
+		int iAllowed = 0;
+
+		long lStart = System.nanoTime();
+
+		for (int i = 0; i < pIterations; i++)
+		{
+			Expression expression = SpringExpressionAccessController.parse(pExpression);
+
+			if (evaluate(expression, pAuthentication))
+			{
+				iAllowed++;
+			}
+		}
+
+		long lElapsed = System.nanoTime() - lStart;
+
+		check(iAllowed, pIterations);
+
+		return lElapsed;
+	}
+
+	/**
+	 * Parses the expression once and evaluates it for every check.
+	 * 
+	 * @param pExpression the expression
+	 * @param pAuthentication the authentication
+	 * @param pIterations the number of checks
+	 * @return the elapsed time in nanoseconds
+	 */
+	private static long runParsedOnce(String pExpression, UsernamePasswordAuthenticationToken pAuthentication, int pIterations)
+	{
+		int iAllowed = 0;
+
+		Expression expression = SpringExpressionAccessController.parse(pExpression);
+
+		long lStart = System.nanoTime();
+
+		for (int i = 0; i < pIterations; i++)
+		{
+			if (evaluate(expression, pAuthentication))
+			{
+				iAllowed++;
+			}
+		}
+
+		long lElapsed = System.nanoTime() - lStart;
+
+		check(iAllowed, pIterations);
+
+		return lElapsed;
+	}
+
+	/**
+	 * Evaluates the expression like the access controller.
+	 * 
+	 * @param pExpression the expression
+	 * @param pAuthentication the authentication
+	 * @return the result
+	 */
+	private static boolean evaluate(Expression pExpression, UsernamePasswordAuthenticationToken pAuthentication)
+	{
+		ExpressionRoot root = new ExpressionRoot(pAuthentication, null, "com.sibvisions.apps.Benchmark", "customers", "delete");
+
+		return Boolean.TRUE.equals(pExpression.getValue(new StandardEvaluationContext(root), Boolean.class));
+	}
+
+	/**
+	 * Ensures that the results are used and consistent.
+	 * 
+	 * @param pAllowed the number of allowed checks
+	 * @param pIterations the number of checks
+	 */
+	private static void check(int pAllowed, int pIterations)
+	{
+		if (pAllowed != 0
+			&& pAllowed != pIterations)
+		{
+			System.out.println("inconsistent results: " + pAllowed + " of " + pIterations);
+
+			System.exit(1);
+		}
+	}
+
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+
+	/**
+	 * The <code>Principal</code> is a principal with a department.
+	 * 
+	 * @author Thomas Krautinger
+	 */
+	public static final class Principal
+	{
+		/** the name. */
+		private String name;
+
+		/** the department. */
+		private String department;
+
+		/**
+		 * Creates a new instance of <code>Principal</code>.
+		 * 
+		 * @param pName the name
+		 * @param pDepartment the department
+		 */
+		public Principal(String pName, String pDepartment)
+		{
+			name = pName;
+			department = pDepartment;
+		}
+
+		/**
+		 * Gets the name.
+		 * 
+		 * @return the name
+		 */
+		public String getName()
+		{
+			return name;
+		}
+
+		/**
+		 * Gets the department.
+		 * 
+		 * @return the department
+		 */
+		public String getDepartment()
+		{
+			return department;
+		}
+
+	}	// Principal
+
+} // ExpressionBenchmark
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ * 19.10.2026 - [TK] - unstable measurements fail the limit check
+ */
+package com.sibvisions.rad.server.security.spring.loadtest;
+
+import java.util.Arrays;
+import java.util.Hashtable;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import com.sibvisions.rad.server.security.spring.WrappedAuthentication;
+import com.sibvisions.rad.server.security.spring.handler.DefaultAuthenticationMetaDataHandler;
+import com.sibvisions.rad.server.security.spring.handler.ISpringMetaDataHandler;
+import com.sibvisions.rad.server.security.spring.handler.SnapshotMetaDataHandler;
+
+/**
+ * The <code>HandlerFootprint</code> measures the heap which is retained per session by the metadata
+ * handler, for the {@link DefaultAuthenticationMetaDataHandler} and the {@link SnapshotMetaDataHandler}.
+ * The handlers are created like in <code>SpringSecurityManager</code> and the roles are read once.
+ * 
+ * Usage: <code>HandlerFootprint [sessions=50000] [limit=bytes per snapshot session]</code>
+ * 
+ * The tool exits with status 1 if a limit is set and the snapshot handler retains more, or if the
+ * measurement is not usable because the garbage collection freed more than the handlers retain.
+ * 
+ * @author Thomas Krautinger
+ */
+public final class HandlerFootprint
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Initialization
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Invisible constructor, because the <code>HandlerFootprint</code> is a utility class.
+	 */
+	private HandlerFootprint()
+	{
+	}
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // User-defined methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Starts the measurement.
+	 * 
+	 * @param pArgs the arguments in the form <code>name=value</code>
+	 */
+	public static void main(String[] pArgs)
+	{
+		int iSessions = 50000;
+		long lLimit = -1;
+
+		for (int i = 0; i < pArgs.length; i++)
+		{
+			if (pArgs[i].startsWith("sessions="))
+			{
+				iSessions = Integer.parseInt(pArgs[i].substring(9));
+			}
+			else if (pArgs[i].startsWith("limit="))
+			{
+				lLimit = Long.parseLong(pArgs[i].substring(6));
+			}
+		}
+
+		// warm-up and shared profiles
+		measure(false, 100);
+		measure(true, 100);
+
+		long lDefault = measure(false, iSessions);
+		long lSnapshot = measure(true, iSessions);
+
+		System.out.println("sessions: " + iSessions);
+		System.out.println("default:  " + lDefault + " bytes/session");
+		System.out.println("snapshot: " + lSnapshot + " bytes/session");
+
+		if (lLimit >= 0)
+		{
+			if (lSnapshot <= 0)
+			{
+				System.out.println("unstable measurement, use more sessions");
+
+				System.exit(1);
+			}
+
+			if (lSnapshot > lLimit)
+			{
+				System.out.println("limit of " + lLimit + " bytes/session exceeded");
+
+				System.exit(1);
+			}
+		}
+	}
+
+	/**
+	 * Measures the retained heap per handler.
+	 * 
+	 * @param pSnapshot <code>true</code> for the snapshot handler, <code>false</code> for the default handler
+	 * @param pSessions the number of sessions
+	 * @return the retained bytes per session
+	 */
+	private static long measure(boolean pSnapshot, int pSessions)
+	{
+		ISpringMetaDataHandler[] handlers = new ISpringMetaDataHandler[pSessions];
+
+		long lBefore = usedMemory();
+
+		for (int i = 0; i < pSessions; i++)
+		{
+			Hashtable<String, Object> htProperties = new Hashtable<String, Object>();
+			htProperties.put("authentication", createAuthentication(i));
+
+			if (pSnapshot)
+			{
+				handlers[i] = new SnapshotMetaDataHandler(htProperties);
+			}
+			else
+			{
+				handlers[i] = new DefaultAuthenticationMetaDataHandler(htProperties);
+			}
+
+			handlers[i].getRoles();
+		}
+
+		long lAfter = usedMemory();
+
+		if (handlers[pSessions - 1] == null)
+		{
+			throw new IllegalStateException();
+		}
+
+		return (lAfter - lBefore) / pSessions;
+	}
+
+	/**
+	 * Creates the authentication of a user, like a form login with user details.
+	 * 
+	 * @param pUser the user number
+	 * @return the authentication
+	 */
+	private static WrappedAuthentication createAuthentication(int pUser)
+	{
+		String sRole = pUser % 2 == 0 ? "ROLE_USER" : "ROLE_ADMIN";
+
+		GrantedAuthority[] authorities = new GrantedAuthority[] {new SimpleGrantedAuthority(sRole),
+																 new SimpleGrantedAuthority("ROLE_EMPLOYEE")};
+
+		User user = new User("user" + pUser, "password" + pUser, Arrays.asList(authorities));
+
+		UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(user, "password" + pUser, user.getAuthorities());
+		token.setDetails("127.0.0.1;" + Integer.toHexString(pUser * 31));
+
+		WrappedAuthentication authentication = new WrappedAuthentication(token);
+		authentication.setProperty("client.sessionid", "session" + pUser);
+
+		return authentication;
+	}
+
+	/**
+	 * Gets the used heap after garbage collection.
+	 * 
+	 * @return the used heap in bytes
+	 */
+	private static long usedMemory()
+	{
+		Runtime runtime = Runtime.getRuntime();
+
+		for (int i = 0; i < 4; i++)
+		{
+			System.gc();
+
+			try
+			{
+				Thread.sleep(50);
+			}
+			catch (InterruptedException ie)
+			{
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+} // HandlerFootprint
@@ -0,0 +1,357 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ * 19.10.2026 - [TK] - checks the created handlers
+ */
+package com.sibvisions.rad.server.security.spring.loadtest;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Hashtable;
+import java.util.List;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.sibvisions.rad.server.security.spring.SpringSecurityManager;
+import com.sibvisions.rad.server.security.spring.WrappedAuthentication;
+import com.sibvisions.rad.server.security.spring.handler.ISpringMetaDataHandler;
+import com.sibvisions.rad.server.security.spring.handler.SnapshotMetaDataHandler;
+
+/**
+ * The <code>HandlerStartup</code> compares the creation of the first metadata handler on a cold JVM,
+ * with the class name and reflection and with the registered factory. Every run starts a new JVM with
+ * the same class path and JVM options, e.g. <code>-XX:SharedArchiveFile</code> for AppCDS, and measures
+ * the creation time of the first handler and the wall time of the JVM.
+ * 
+ * Usage: <code>HandlerStartup [runs=10] [handler=snapshot]</code>
+ * 
+ * The tool exits with status 1 if a child JVM fails, or if both ways don't create a handler of the same
+ * class with the same user name and roles.
+ * 
+ * @author Thomas Krautinger
+ */
+public final class HandlerStartup
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Constants
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the output prefix of a child JVM. */
+	private static final String RESULT = "first handler: ";
+
+	/** the output prefix of the created handler of a child JVM. */
+	private static final String HANDLER = "handler: ";
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Initialization
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Invisible constructor, because the <code>HandlerStartup</code> is a utility class.
+	 */
+	private HandlerStartup()
+	{
+	}
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // User-defined methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Starts the comparison, or creates the first handler in a child JVM.
+	 * 
+	 * @param pArgs the arguments in the form <code>name=value</code>
+	 * @throws Throwable if the comparison fails
+	 */
+	public static void main(String[] pArgs) throws Throwable
+	{
+		int iRuns = 10;
+		String sHandler = "snapshot";
+		String sMode = null;
+
+		for (int i = 0; i < pArgs.length; i++)
+		{
+			if (pArgs[i].startsWith("runs="))
+			{
+				iRuns = Integer.parseInt(pArgs[i].substring(5));
+			}
+			else if (pArgs[i].startsWith("handler="))
+			{
+				sHandler = pArgs[i].substring(8);
+			}
+			else if (pArgs[i].startsWith("mode="))
+			{
+				sMode = pArgs[i].substring(5);
+			}
+		}
+
+		if (sMode != null)
+		{
+			createFirstHandler(sMode, sHandler);
+
+			return;
+		}
+
+		// warm-up of the file system cache, both ways have to create the same handler
+		String sFactoryHandler = run("factory", sHandler).handler;
+		String sReflectionHandler = run("reflection", sHandler).handler;
+
+		if (!sFactoryHandler.equals(sReflectionHandler))
+		{
+			System.out.println("factory:    " + sFactoryHandler);
+			System.out.println("reflection: " + sReflectionHandler);
+
+			System.exit(1);
+		}
+
+		Run[] runReflection = new Run[iRuns];
+		Run[] runFactory = new Run[iRuns];
+
+		for (int i = 0; i < iRuns; i++)
+		{
+			// alternating runs, against drift
+			runReflection[i] = run("reflection", sHandler);
+			runFactory[i] = run("factory", sHandler);
+		}
+
+		System.out.println("handler: " + sHandler + ", runs: " + iRuns);
+		print("reflection", runReflection);
+		print("factory   ", runFactory);
+	}
+
+	/**
+	 * Creates the first handler and prints the elapsed time.
+	 * 
+	 * @param pMode <code>reflection</code> or <code>factory</code>
+	 * @param pHandler the factory name
+	 * @throws Throwable if the handler could not be created
+	 */
+	private static void createFirstHandler(String pMode, String pHandler) throws Throwable
+	{
+		StartupSecurityManager manager = new StartupSecurityManager();
+
+		Hashtable<String, Object> htProperties = new Hashtable<String, Object>();
+		htProperties.put("authentication", createAuthentication());
+
+		// only the handler creation, without the common classes
+		long lStart = System.nanoTime();
+
+		ISpringMetaDataHandler handler;
+
+		if ("factory".equals(pMode))
+		{
+			handler = manager.createMetaDataHandler(pHandler, null, htProperties);
+		}
+		else
+		{
+			handler = manager.createReflective(getClassName(pHandler), htProperties);
+		}
+
+		String[] sRoles = handler.getRoles();
+
+		System.out.println(RESULT + (System.nanoTime() - lStart));
+		System.out.println(HANDLER + handler.getClass().getName() + " " + handler.getUsername() + " " + Arrays.toString(sRoles));
+	}
+
+	/**
+	 * Runs a child JVM.
+	 * 
+	 * @param pMode <code>reflection</code> or <code>factory</code>
+	 * @param pHandler the factory name
+	 * @return the result of the child JVM
+	 * @throws Exception if the child JVM fails
+	 */
+	private static Run run(String pMode, String pHandler) throws Exception
+	{
+		List<String> liCommand = new ArrayList<String>();
+		liCommand.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+		liCommand.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+		liCommand.add("-cp");
+		liCommand.add(System.getProperty("java.class.path"));
+		liCommand.add(HandlerStartup.class.getName());
+		liCommand.add("mode=" + pMode);
+		liCommand.add("handler=" + pHandler);
+
+		long lStart = System.currentTimeMillis();
+
+		Process process = new ProcessBuilder(liCommand).redirectErrorStream(true).start();
+
+		long lFirst = -1;
+
+		String sCreated = null;
+
+		BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+
+		try
+		{
+			String sLine;
+
+			while ((sLine = reader.readLine()) != null)
+			{
+				if (sLine.startsWith(RESULT))
+				{
+					lFirst = Long.parseLong(sLine.substring(RESULT.length()));
+				}
+				else if (sLine.startsWith(HANDLER))
+				{
+					sCreated = sLine.substring(HANDLER.length());
+				}
+			}
+		}
+		finally
+		{
+			reader.close();
+		}
+
+		if (process.waitFor() != 0
+			|| lFirst < 0
+			|| sCreated == null)
+		{
+			throw new IllegalStateException("Child JVM failed: " + pMode);
+		}
+
+		Run run = new Run();
+		run.first = lFirst;
+		run.jvm = System.currentTimeMillis() - lStart;
+		run.handler = sCreated;
+
+		return run;
+	}
+
+	/**
+	 * Prints the medians of the runs.
+	 * 
+	 * @param pName the mode name
+	 * @param pResults the results of the runs
+	 */
+	private static void print(String pName, Run[] pResults)
+	{
+		long[] lFirst = new long[pResults.length];
+		long[] lJvm = new long[pResults.length];
+
+		for (int i = 0; i < pResults.length; i++)
+		{
+			lFirst[i] = pResults[i].first;
+			lJvm[i] = pResults[i].jvm;
+		}
+
+		Arrays.sort(lFirst);
+		Arrays.sort(lJvm);
+
+		System.out.println(pName + ": first handler " + (lFirst[lFirst.length / 2] / 1000) + " us, jvm " + lJvm[lJvm.length / 2] + " ms (median)");
+	}
+
+	/**
+	 * Gets the handler class name for a factory name.
+	 * 
+	 * @param pHandler the factory name
+	 * @return the class name
+	 */
+	private static String getClassName(String pHandler)
+	{
+		if ("snapshot".equals(pHandler))
+		{
+			return SnapshotMetaDataHandler.class.getName();
+		}
+		else if ("jwt".equals(pHandler))
+		{
+			return "com.sibvisions.rad.server.security.spring.handler.JwtMetaDataHandler";
+		}
+
+		return "com.sibvisions.rad.server.security.spring.handler.DefaultAuthenticationMetaDataHandler";
+	}
+
+	/**
+	 * Creates the authentication of a user.
+	 * 
+	 * @return the authentication
+	 */
+	private static WrappedAuthentication createAuthentication()
+	{
+		GrantedAuthority[] authorities = new GrantedAuthority[] {new SimpleGrantedAuthority("ROLE_USER"),
+																 new SimpleGrantedAuthority("ROLE_EMPLOYEE")};
+
+		UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken("user", "password", Arrays.asList(authorities));
+
+		WrappedAuthentication authentication = new WrappedAuthentication(token);
+		authentication.setProperty("client.sessionid", "session");
+
+		return authentication;
+	}
+
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+
+	/**
+	 * The <code>Run</code> is the result of a child JVM.
+	 * 
+	 * @author Thomas Krautinger
+	 */
+	private static final class Run
+	{
+		/** the nanoseconds until the first handler. */
+		private long first;
+
+		/** the milliseconds of the JVM. */
+		private long jvm;
+
+		/** the class, user name and roles of the created handler. */
+		private String handler;
+
+	}	// Run
+
+	/**
+	 * The <code>StartupSecurityManager</code> offers both ways of handler creation.
+	 * 
+	 * @author Thomas Krautinger
+	 */
+	private static final class StartupSecurityManager extends SpringSecurityManager
+	{
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected ISpringMetaDataHandler createMetaDataHandler(String pFactoryName, String pClassName, Hashtable<String, Object> pProperties) throws Throwable
+		{
+			return super.createMetaDataHandler(pFactoryName, pClassName, pProperties);
+		}
+
+		/**
+		 * Creates the handler with the class name and reflection, like for handlers without factory.
+		 * 
+		 * @param pClassName the handler class name
+		 * @param pProperties the properties
+		 * @return the handler
+		 * @throws Throwable if the handler could not be created
+		 */
+		private ISpringMetaDataHandler createReflective(String pClassName, Hashtable<String, Object> pProperties) throws Throwable
+		{
+			return (ISpringMetaDataHandler) getMetaDataHandlerConstructor(pClassName, pProperties).newInstance(pProperties);
+		}
+
+	}	// StartupSecurityManager
+
+} // HandlerStartup
@@ -0,0 +1,328 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.loadtest;
+
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Arrays;
+import java.util.Base64;
+
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.core.AuthenticationException;
+
+import com.sibvisions.rad.server.security.spring.bearer.JwkSet;
+import com.sibvisions.rad.server.security.spring.bearer.JwtClaims;
+import com.sibvisions.rad.server.security.spring.bearer.JwtValidator;
+import com.sibvisions.rad.server.security.spring.bearer.StaticJwkSetSource;
+
+/**
+ * The <code>JwtCheck</code> validates signed and manipulated tokens with the {@link JwtValidator}. The
+ * tokens are signed with generated RSA and EC keys, and the public keys are offered as local key set by a
+ * {@link StaticJwkSetSource}.
+ * 
+ * Usage: <code>JwtCheck</code>
+ * 
+ * The tool exits with status 1 if a valid token is rejected, or if an expired, not yet valid, unsigned or
+ * malformed token, a token of another issuer or audience, or a token with an unknown key is accepted or
+ * rejected with another exception than an {@link AuthenticationException}.
+ * 
+ * @author Thomas Krautinger
+ */
+public final class JwtCheck
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Constants
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the charset of header and claims. */
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	/** the expected issuer. */
+	private static final String ISSUER = "https://login.example.com";
+
+	/** the expected audience. */
+	private static final String AUDIENCE = "myapp";
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Class members
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the number of failed checks. */
+	private static int failures;
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Initialization
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Invisible constructor, because the <code>JwtCheck</code> is a utility class.
+	 */
+	private JwtCheck()
+	{
+	}
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // User-defined methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Starts the checks.
+	 * 
+	 * @param pArgs the arguments, not used
+	 * @throws Exception if the keys can't be generated or a token can't be signed
+	 */
+	public static void main(String[] pArgs) throws Exception
+	{
+		KeyPairGenerator rsaGenerator = KeyPairGenerator.getInstance("RSA");
+		rsaGenerator.initialize(2048);
+
+		KeyPair rsaKeys = rsaGenerator.generateKeyPair();
+
+		KeyPairGenerator ecGenerator = KeyPairGenerator.getInstance("EC");
+		ecGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+
+		KeyPair ecKeys = ecGenerator.generateKeyPair();
+
+		RSAPublicKey rsaPublic = (RSAPublicKey) rsaKeys.getPublic();
+		ECPublicKey ecPublic = (ECPublicKey) ecKeys.getPublic();
+
+		String sKeySet = "{\"keys\":["
+						 + "{\"kty\":\"RSA\",\"kid\":\"rsa\",\"use\":\"sig\""
+						 + ",\"n\":\"" + encode(unsigned(rsaPublic.getModulus(), 0)) + "\""
+						 + ",\"e\":\"" + encode(unsigned(rsaPublic.getPublicExponent(), 0)) + "\"},"
+						 + "{\"kty\":\"EC\",\"kid\":\"ec\",\"use\":\"sig\",\"crv\":\"P-256\""
+						 + ",\"x\":\"" + encode(unsigned(ecPublic.getW().getAffineX(), 32)) + "\""
+						 + ",\"y\":\"" + encode(unsigned(ecPublic.getW().getAffineY(), 32)) + "\"}]}";
+
+		JwkSet jwkSet = new JwkSet(new StaticJwkSetSource(sKeySet));
+
+		try
+		{
+			JwtValidator validator = new JwtValidator(jwkSet);
+			validator.setIssuer(ISSUER);
+			validator.setAudience(AUDIENCE);
+
+			long lNow = System.currentTimeMillis() / 1000;
+
+			String sValid = claims(ISSUER, AUDIENCE, lNow + 300, lNow - 10);
+
+			check(validator, "RS256", sign("RS256", "rsa", sValid, rsaKeys.getPrivate()), null);
+			check(validator, "ES256", sign("ES256", "ec", sValid, ecKeys.getPrivate()), null);
+
+			check(validator, "expired", sign("RS256", "rsa", claims(ISSUER, AUDIENCE, lNow - 3600, lNow - 7200), rsaKeys.getPrivate()),
+				  CredentialsExpiredException.class);
+			check(validator, "nbf", sign("ES256", "ec", claims(ISSUER, AUDIENCE, lNow + 7200, lNow + 3600), ecKeys.getPrivate()),
+				  BadCredentialsException.class);
+			check(validator, "wrong iss", sign("RS256", "rsa", claims("https://evil.example.com", AUDIENCE, lNow + 300, lNow - 10), rsaKeys.getPrivate()),
+				  BadCredentialsException.class);
+			check(validator, "wrong aud", sign("ES256", "ec", claims(ISSUER, "otherapp", lNow + 300, lNow - 10), ecKeys.getPrivate()),
+				  BadCredentialsException.class);
+			check(validator, "alg=none", encode("{\"alg\":\"none\",\"kid\":\"rsa\"}".getBytes(UTF8)) + "." + encode(sValid.getBytes(UTF8)) + ".",
+				  BadCredentialsException.class);
+			check(validator, "unknown kid", sign("RS256", "unknown", sValid, rsaKeys.getPrivate()),
+				  BadCredentialsException.class);
+			check(validator, "wrong key", sign("ES256", "ec", sValid, ecGenerator.generateKeyPair().getPrivate()),
+				  BadCredentialsException.class);
+
+			// malformed, unauthenticated headers must not escape as server error
+			char[] chNested = new char[4000];
+			Arrays.fill(chNested, '[');
+
+			check(validator, "nested header", encode(new String(chNested).getBytes(UTF8)) + "." + encode(sValid.getBytes(UTF8)) + ".AA",
+				  BadCredentialsException.class);
+			check(validator, "invalid base64", "%%%." + encode(sValid.getBytes(UTF8)) + ".AA",
+				  BadCredentialsException.class);
+		}
+		finally
+		{
+			jwkSet.destroy();
+		}
+
+		if (failures > 0)
+		{
+			System.out.println(failures + " check(s) failed");
+
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Validates a token and compares the result with the expected one.
+	 * 
+	 * @param pValidator the validator
+	 * @param pName the name of the check
+	 * @param pToken the token
+	 * @param pExpected the expected exception or <code>null</code> if the token is valid
+	 */
+	private static void check(JwtValidator pValidator, String pName, String pToken, Class<? extends AuthenticationException> pExpected)
+	{
+		String sResult;
+
+		try
+		{
+			JwtClaims claims = pValidator.validate(pToken);
+
+			sResult = "accepted " + claims.getName();
+		}
+		catch (Throwable th)
+		{
+			sResult = th.getClass().getName();
+		}
+
+		String sExpected = pExpected == null ? "accepted user" : pExpected.getName();
+
+		if (sExpected.equals(sResult))
+		{
+			System.out.println("ok      " + pName + ": " + sResult);
+		}
+		else
+		{
+			System.out.println("FAILED  " + pName + ": " + sResult + ", expected " + sExpected);
+
+			failures++;
+		}
+	}
+
+	/**
+	 * Creates the claims of a token for the user <code>user</code>.
+	 * 
+	 * @param pIssuer the issuer
+	 * @param pAudience the audience
+	 * @param pExpires the expiry time in seconds
+	 * @param pNotBefore the not-before time in seconds
+	 * @return the claims as JSON
+	 */
+	private static String claims(String pIssuer, String pAudience, long pExpires, long pNotBefore)
+	{
+		return "{\"sub\":\"user\",\"iss\":\"" + pIssuer + "\",\"aud\":[\"" + pAudience + "\"],\"exp\":" + pExpires + ",\"nbf\":" + pNotBefore + "}";
+	}
+
+	/**
+	 * Creates a signed token.
+	 * 
+	 * @param pAlgorithm the JWS algorithm, RS256 or ES256
+	 * @param pKeyId the key id
+	 * @param pClaims the claims as JSON
+	 * @param pKey the private key
+	 * @return the compact serialized token
+	 * @throws Exception if the token can't be signed
+	 */
+	private static String sign(String pAlgorithm, String pKeyId, String pClaims, PrivateKey pKey) throws Exception
+	{
+		String sContent = encode(("{\"alg\":\"" + pAlgorithm + "\",\"typ\":\"JWT\",\"kid\":\"" + pKeyId + "\"}").getBytes(UTF8))
+						  + "." + encode(pClaims.getBytes(UTF8));
+
+		boolean bEc = pAlgorithm.startsWith("ES");
+
+		Signature signature = Signature.getInstance(bEc ? "SHA256withECDSA" : "SHA256withRSA");
+		signature.initSign(pKey);
+		signature.update(sContent.getBytes(UTF8));
+
+		byte[] bySignature = signature.sign();
+
+		if (bEc)
+		{
+			bySignature = fromDer(bySignature, 32);
+		}
+
+		return sContent + "." + encode(bySignature);
+	}
+
+	/**
+	 * Converts a DER ECDSA signature of the JCA to the JWS format (R and S concatenated).
+	 * 
+	 * @param pDer the DER signature
+	 * @param pLength the length of R and S
+	 * @return the JWS signature
+	 */
+	private static byte[] fromDer(byte[] pDer, int pLength)
+	{
+		// SEQUENCE, length, INTEGER R, INTEGER S (the length is below 128 for P-256)
+		int iPos = 2;
+
+		int iLenR = pDer[iPos + 1];
+		BigInteger biR = new BigInteger(1, Arrays.copyOfRange(pDer, iPos + 2, iPos + 2 + iLenR));
+
+		iPos += 2 + iLenR;
+
+		int iLenS = pDer[iPos + 1];
+		BigInteger biS = new BigInteger(1, Arrays.copyOfRange(pDer, iPos + 2, iPos + 2 + iLenS));
+
+		byte[] bySignature = new byte[pLength * 2];
+
+		byte[] byR = unsigned(biR, pLength);
+		byte[] byS = unsigned(biS, pLength);
+
+		System.arraycopy(byR, 0, bySignature, 0, pLength);
+		System.arraycopy(byS, 0, bySignature, pLength, pLength);
+
+		return bySignature;
+	}
+
+	/**
+	 * Gets the unsigned big-endian bytes of a number.
+	 * 
+	 * @param pValue the number
+	 * @param pLength the fixed length or <code>0</code> for the minimal length
+	 * @return the bytes
+	 */
+	private static byte[] unsigned(BigInteger pValue, int pLength)
+	{
+		byte[] byValue = pValue.toByteArray();
+
+		if (byValue.length > 1
+			&& byValue[0] == 0)
+		{
+			byValue = Arrays.copyOfRange(byValue, 1, byValue.length);
+		}
+
+		if (pLength > byValue.length)
+		{
+			byte[] byPadded = new byte[pLength];
+
+			System.arraycopy(byValue, 0, byPadded, pLength - byValue.length, byValue.length);
+
+			return byPadded;
+		}
+
+		return byValue;
+	}
+
+	/**
+	 * Encodes bytes with base64url without padding.
+	 * 
+	 * @param pBytes the bytes
+	 * @return the encoded bytes
+	 */
+	private static String encode(byte[] pBytes)
+	{
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(pBytes);
+	}
+
+} // JwtCheck
@@ -0,0 +1,291 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.loadtest;
+
+import java.util.EnumSet;
+import java.util.Hashtable;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.jetty.server.NetworkConnector;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.servlet.FilterHolder;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.springframework.web.context.ContextLoaderListener;
+import org.springframework.web.filter.DelegatingFilterProxy;
+
+/**
+ * The <code>LoadTest</code> starts an embedded servlet container with the spring security wiring of
+ * <code>jvx-security-loadtest.xml</code> and a {@link StubServerServlet}, drives virtual users through
+ * form login, JVx server calls and logout, and prints throughput, latency percentiles, heap per session
+ * and error counts.
+ * 
+ * Usage: <code>LoadTest [users=10] [iterations=10] [calls=20] [username=admin] [password=admin]</code>
+ * 
+ * @author Thomas Krautinger
+ */
+public final class LoadTest
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Initialization
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/**
+	 * Invisible constructor, because the <code>LoadTest</code> is a utility class.
+	 */
+	private LoadTest()
+	{
+	}
+	
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // User-defined methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/**
+	 * Starts the load test.
+	 * 
+	 * @param pArgs the arguments in the form <code>name=value</code>
+	 * @throws Exception if the load test fails
+	 */
+	public static void main(String[] pArgs) throws Exception
+	{
+		Hashtable<String, String> htArgs = new Hashtable<String, String>();
+		
+		for (int i = 0; i < pArgs.length; i++)
+		{
+			int iPos = pArgs[i].indexOf('=');
+			
+			if (iPos > 0)
+			{
+				htArgs.put(pArgs[i].substring(0, iPos), pArgs[i].substring(iPos + 1));
+			}
+		}
+		
+		int iUsers = getInt(htArgs, "users", 10);
+		int iIterations = getInt(htArgs, "iterations", 10);
+		int iCalls = getInt(htArgs, "calls", 20);
+		String sUserName = getString(htArgs, "username", "admin");
+		String sPassword = getString(htArgs, "password", "admin");
+		
+		Server server = createServer();
+		server.start();
+		
+		int iErrors;
+		
+		try
+		{
+			String sBaseUrl = "http://localhost:" + ((NetworkConnector) server.getConnectors()[0]).getLocalPort();
+			
+			// warm-up, not measured
+			run(sBaseUrl, sUserName, sPassword, iUsers, 1, iCalls, new Statistics());
+			
+			long lHeapPerSession = measureHeapPerSession(sBaseUrl, sUserName, sPassword, iUsers);
+			
+			Statistics statistics = new Statistics();
+			
+			long lElapsed = run(sBaseUrl, sUserName, sPassword, iUsers, iIterations, iCalls, statistics);
+			
+			System.out.println("users=" + iUsers + ", iterations=" + iIterations + ", calls=" + iCalls 
+					           + ", elapsed=" + (lElapsed / 1000000) + " ms");
+			
+			statistics.print(System.out, lElapsed);
+			
+			System.out.println("heap per session: " + lHeapPerSession + " bytes");
+			System.out.println("open stub sessions: " + StubServerServlet.getSessionCount());
+			
+			iErrors = statistics.getErrors();
+		}
+		finally
+		{
+			server.stop();
+		}
+		
+		System.exit(iErrors == 0 ? 0 : 1);
+	}
+	
+	/**
+	 * Creates the embedded servlet container.
+	 * 
+	 * @return the server
+	 */
+	private static Server createServer()
+	{
+		Server server = new Server(0);
+		
+		ServletContextHandler context = new ServletContextHandler(ServletContextHandler.SESSIONS);
+		context.setContextPath("/");
+		context.setInitParameter("contextConfigLocation", "classpath:jvx-security-loadtest.xml");
+		context.addEventListener(new ContextLoaderListener());
+		context.addFilter(new FilterHolder(new DelegatingFilterProxy("springSecurityFilterChain")), "/*", EnumSet.of(DispatcherType.REQUEST));
+		context.addServlet(new ServletHolder(new StubServerServlet()), "/services/Server");
+		context.addServlet(new ServletHolder(new HttpServlet()
+		{
+			private static final long serialVersionUID = 1L;
+			
+			@Override
+			protected void doGet(HttpServletRequest pRequest, HttpServletResponse pResponse)
+			{
+				pResponse.setStatus(HttpServletResponse.SC_OK);
+			}
+		}), "/web/ui");
+		
+		server.setHandler(context);
+		
+		return server;
+	}
+	
+	/**
+	 * Runs the virtual users and waits until all are finished.
+	 * 
+	 * @param pBaseUrl the base URL
+	 * @param pUserName the user name
+	 * @param pPassword the password
+	 * @param pUsers the number of virtual users
+	 * @param pIterations the login/logout cycles per user
+	 * @param pCalls the server calls per cycle
+	 * @param pStatistics the statistics
+	 * @return the elapsed time in nanoseconds
+	 * @throws InterruptedException if waiting was interrupted
+	 */
+	private static long run(String pBaseUrl, String pUserName, String pPassword, int pUsers, int pIterations, int pCalls, 
+			                Statistics pStatistics) throws InterruptedException
+	{
+		Thread[] threads = new Thread[pUsers];
+		
+		for (int i = 0; i < pUsers; i++)
+		{
+			threads[i] = new Thread(new VirtualUser(pBaseUrl, pUserName, pPassword, pIterations, pCalls, pStatistics), "VirtualUser-" + i);
+		}
+		
+		long lStart = System.nanoTime();
+		
+		for (int i = 0; i < pUsers; i++)
+		{
+			threads[i].start();
+		}
+		
+		for (int i = 0; i < pUsers; i++)
+		{
+			threads[i].join();
+		}
+		
+		return System.nanoTime() - lStart;
+	}
+	
+	/**
+	 * Measures the retained heap per logged in and validated session (HTTP and JVx session).
+	 * 
+	 * @param pBaseUrl the base URL
+	 * @param pUserName the user name
+	 * @param pPassword the password
+	 * @param pUsers the number of sessions
+	 * @return the heap per session in bytes
+	 */
+	private static long measureHeapPerSession(String pBaseUrl, String pUserName, String pPassword, int pUsers)
+	{
+		Statistics statistics = new Statistics();
+		
+		VirtualUser[] users = new VirtualUser[pUsers];
+		
+		for (int i = 0; i < pUsers; i++)
+		{
+			users[i] = new VirtualUser(pBaseUrl, pUserName, pPassword, 1, 1, statistics);
+			
+			if (users[i].login())
+			{
+				users[i].call();
+			}
+		}
+		
+		long lWithSessions = usedHeap();
+		
+		for (int i = 0; i < pUsers; i++)
+		{
+			users[i].logout();
+		}
+		
+		// the logged out sessions are invalidated, so the difference is the retained size of the sessions
+		long lWithoutSessions = usedHeap();
+		
+		return Math.max(0, (lWithSessions - lWithoutSessions) / pUsers);
+	}
+	
+	/**
+	 * Gets the used heap after garbage collection.
+	 * 
+	 * @return the used heap in bytes
+	 */
+	private static long usedHeap()
+	{
+		Runtime runtime = Runtime.getRuntime();
+		
+		for (int i = 0; i < 3; i++)
+		{
+			System.gc();
+			
+			try
+			{
+				Thread.sleep(100);
+			}
+			catch (InterruptedException ie)
+			{
+				Thread.currentThread().interrupt();
+			}
+		}
+		
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+	
+	/**
+	 * Gets an int argument.
+	 * 
+	 * @param pArgs the arguments
+	 * @param pName the argument name
+	 * @param pDefault the default value
+	 * @return the value
+	 */
+	private static int getInt(Hashtable<String, String> pArgs, String pName, int pDefault)
+	{
+		String sValue = pArgs.get(pName);
+		
+		return sValue != null ? Integer.parseInt(sValue) : pDefault;
+	}
+	
+	/**
+	 * Gets a string argument.
+	 * 
+	 * @param pArgs the arguments
+	 * @param pName the argument name
+	 * @param pDefault the default value
+	 * @return the value
+	 */
+	private static String getString(Hashtable<String, String> pArgs, String pName, String pDefault)
+	{
+		String sValue = pArgs.get(pName);
+		
+		return sValue != null ? sValue : pDefault;
+	}
+	
+} // LoadTest
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.loadtest;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The <code>Statistics</code> collects latencies and errors per operation and prints the load test report.
+ * 
+ * @author Thomas Krautinger
+ */
+public class Statistics
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Class members
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/** the recorded operations. */
+	private Map<String, Operation> operations = new TreeMap<String, Operation>();
+	
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // User-defined methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/**
+	 * Records the latency of a successful operation.
+	 * 
+	 * @param pOperation the operation name
+	 * @param pNanos the latency in nanoseconds
+	 */
+	public void record(String pOperation, long pNanos)
+	{
+		getOperation(pOperation).record(pNanos);
+	}
+	
+	/**
+	 * Records a failed operation.
+	 * 
+	 * @param pOperation the operation name
+	 */
+	public void error(String pOperation)
+	{
+		getOperation(pOperation).error();
+	}
+	
+	/**
+	 * Prints the report.
+	 * 
+	 * @param pOut the output stream
+	 * @param pElapsedNanos the elapsed time of the load test in nanoseconds
+	 */
+	public synchronized void print(PrintStream pOut, long pElapsedNanos)
+	{
+		double dSeconds = pElapsedNanos / 1e9;
+		
+		pOut.println(String.format("%-10s %10s %8s %12s %10s %10s %10s %10s", 
+				                   "operation", "count", "errors", "ops/s", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+		
+		for (Map.Entry<String, Operation> entry : operations.entrySet())
+		{
+			Operation op = entry.getValue();
+			
+			long[] lSorted = op.getSorted();
+			
+			pOut.println(String.format("%-10s %10d %8d %12.1f %10.2f %10.2f %10.2f %10.2f",
+					                   entry.getKey(), 
+					                   Integer.valueOf(lSorted.length), 
+					                   Integer.valueOf(op.getErrors()),
+					                   Double.valueOf(lSorted.length / dSeconds),
+					                   Double.valueOf(percentile(lSorted, 50) / 1e6),
+					                   Double.valueOf(percentile(lSorted, 90) / 1e6),
+					                   Double.valueOf(percentile(lSorted, 99) / 1e6),
+					                   Double.valueOf(percentile(lSorted, 100) / 1e6)));
+		}
+	}
+	
+	/**
+	 * Gets the total number of errors.
+	 * 
+	 * @return the number of errors
+	 */
+	public synchronized int getErrors()
+	{
+		int iErrors = 0;
+		
+		for (Operation op : operations.values())
+		{
+			iErrors += op.getErrors();
+		}
+		
+		return iErrors;
+	}
+	
+	/**
+	 * Gets or creates the recorder for an operation.
+	 * 
+	 * @param pOperation the operation name
+	 * @return the recorder
+	 */
+	private synchronized Operation getOperation(String pOperation)
+	{
+		Operation op = operations.get(pOperation);
+		
+		if (op == null)
+		{
+			op = new Operation();
+			
+			operations.put(pOperation, op);
+		}
+		
+		return op;
+	}
+	
+	/**
+	 * Gets the percentile of sorted values (nearest rank).
+	 * 
+	 * @param pSorted the sorted values
+	 * @param pPercentile the percentile (0 - 100)
+	 * @return the value
+	 */
+	private static long percentile(long[] pSorted, int pPercentile)
+	{
+		if (pSorted.length == 0)
+		{
+			return 0;
+		}
+		
+		int iRank = (int) Math.ceil(pPercentile / 100.0 * pSorted.length);
+		
+		return pSorted[Math.max(0, Math.min(pSorted.length - 1, iRank - 1))];
+	}
+	
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+	
+	/**
+	 * The <code>Operation</code> records the latencies of one operation.
+	 * 
+	 * @author Thomas Krautinger
+	 */
+	private static final class Operation
+	{
+		/** the latencies. */
+		private long[] latencies = new long[1024];
+		
+		/** the number of recorded latencies. */
+		private int count;
+		
+		/** the number of errors. */
+		private int errors;
+		
+		/**
+		 * Records a latency.
+		 * 
+		 * @param pNanos the latency in nanoseconds
+		 */
+		private synchronized void record(long pNanos)
+		{
+			if (count == latencies.length)
+			{
+				latencies = Arrays.copyOf(latencies, count * 2);
+			}
+			
+			latencies[count++] = pNanos;
+		}
+		
+		/**
+		 * Records an error.
+		 */
+		private synchronized void error()
+		{
+			errors++;
+		}
+		
+		/**
+		 * Gets the number of errors.
+		 * 
+		 * @return the number of errors
+		 */
+		private synchronized int getErrors()
+		{
+			return errors;
+		}
+		
+		/**
+		 * Gets the sorted latencies.
+		 * 
+		 * @return the sorted latencies
+		 */
+		private synchronized long[] getSorted()
+		{
+			long[] lSorted = Arrays.copyOf(latencies, count);
+			Arrays.sort(lSorted);
+			
+			return lSorted;
+		}
+		
+	}	// Operation
+	
+} // Statistics
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.loadtest;
+
+import jvx.rad.remote.SessionExpiredException;
+
+import com.sibvisions.rad.server.security.spring.logout.DestroySessionLogoutSuccessHandler;
+
+/**
+ * The <code>StubDestroySessionLogoutSuccessHandler</code> destroys the sessions of the {@link StubServerServlet}
+ * instead of the JVx server sessions.
+ * 
+ * @author Thomas Krautinger
+ */
+public class StubDestroySessionLogoutSuccessHandler extends DestroySessionLogoutSuccessHandler
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Overwritten methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void destroyServerSession(Object pSessionId) throws SessionExpiredException
+	{
+		if (StubServerServlet.removeSession(pSessionId) == null)
+		{
+			throw new SessionExpiredException();
+		}
+	}
+	
+} // StubDestroySessionLogoutSuccessHandler
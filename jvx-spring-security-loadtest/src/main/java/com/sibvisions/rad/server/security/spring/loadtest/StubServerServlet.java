@@ -0,0 +1,153 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.loadtest;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+
+import jvx.rad.remote.IConnectionConstants;
+
+import com.sibvisions.rad.server.security.spring.SpringSecurityManager;
+import com.sibvisions.rad.server.security.spring.handler.ISpringMetaDataHandler;
+
+/**
+ * The <code>StubServerServlet</code> replaces the JVx server servlet for the load test. The first call 
+ * of an HTTP session creates a {@link StubSession} and validates it with the {@link SpringSecurityManager}.
+ * All further calls reuse the session and read the roles from the metadata handler.
+ * 
+ * @author Thomas Krautinger
+ */
+public class StubServerServlet extends HttpServlet
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Constants
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/** the serial version UID. */
+	private static final long serialVersionUID = 1L;
+	
+	/** the HTTP session attribute for the stub session id. */
+	private static final String SESSIONID_ATTRIBUTE = "loadtest.sessionid";
+	
+	/** the key for the metadata handler. */
+	private static final String METADATA_HANDLER_PROPERTY = IConnectionConstants.PREFIX_SERVER + "preauthentication.metadatahandler";
+	
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Class members
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/** the live stub sessions. */
+	private static final Map<Object, StubSession> SESSIONS = new ConcurrentHashMap<Object, StubSession>();
+	
+	/** the security manager. */
+	private transient SpringSecurityManager securityManager = new SpringSecurityManager();
+	
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Overwritten methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void doPost(HttpServletRequest pRequest, HttpServletResponse pResponse) throws ServletException, IOException
+	{
+		HttpSession httpSession = pRequest.getSession(false);
+		
+		if (httpSession == null)
+		{
+			pResponse.sendError(HttpServletResponse.SC_FORBIDDEN);
+			
+			return;
+		}
+		
+		Object sessionId = httpSession.getAttribute(SESSIONID_ATTRIBUTE);
+		
+		StubSession session = sessionId != null ? SESSIONS.get(sessionId) : null;
+		
+		try
+		{
+			if (session == null)
+			{
+				session = new StubSession(UUID.randomUUID().toString());
+				
+				securityManager.validateAuthentication(session);
+				
+				SESSIONS.put(session.getId(), session);
+				
+				httpSession.setAttribute(SESSIONID_ATTRIBUTE, session.getId());
+			}
+			else
+			{
+				session.call("loadtest", "touch");
+			}
+			
+			((ISpringMetaDataHandler) session.getProperty(METADATA_HANDLER_PROPERTY)).getRoles();
+		}
+		catch (SecurityException se)
+		{
+			pResponse.sendError(HttpServletResponse.SC_FORBIDDEN);
+			
+			return;
+		}
+		catch (Throwable th)
+		{
+			throw new ServletException(th);
+		}
+		
+		pResponse.setContentType("text/plain");
+		pResponse.getWriter().write(session.getId().toString());
+	}
+	
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // User-defined methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/**
+	 * Removes a stub session.
+	 * 
+	 * @param pSessionId the session id
+	 * @return the removed session or <code>null</code> if the session was not found
+	 */
+	public static StubSession removeSession(Object pSessionId)
+	{
+		return SESSIONS.remove(pSessionId);
+	}
+	
+	/**
+	 * Gets the number of live stub sessions.
+	 * 
+	 * @return the number of sessions
+	 */
+	public static int getSessionCount()
+	{
+		return SESSIONS.size();
+	}
+	
+} // StubServerServlet
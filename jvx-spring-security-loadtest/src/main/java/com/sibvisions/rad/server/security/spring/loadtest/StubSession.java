@@ -0,0 +1,289 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.loadtest;
+
+import java.util.Hashtable;
+import java.util.List;
+
+import jvx.rad.server.IConfiguration;
+import jvx.rad.server.ISession;
+
+import com.sibvisions.util.xml.XmlNode;
+
+/**
+ * The <code>StubSession</code> is a minimal JVx {@link ISession} for the load test. It has an empty
+ * configuration, so the default metadata handler will be used.
+ * 
+ * @author Thomas Krautinger
+ */
+public class StubSession implements ISession
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Class members
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/** the empty configuration. */
+	private static final IConfiguration EMPTY_CONFIG = new IConfiguration()
+	{
+		public String getProperty(String pName)
+		{
+			return null;
+		}
+		
+		public String getProperty(String pName, String pDefault)
+		{
+			return pDefault;
+		}
+		
+		public List<String> getProperties(String pName)
+		{
+			return null;
+		}
+		
+		public XmlNode getNode(String pName)
+		{
+			return null;
+		}
+		
+		public List<XmlNode> getNodes(String pName)
+		{
+			return null;
+		}
+	};
+	
+	/** the session id. */
+	private Object id;
+	
+	/** the properties. */
+	private Hashtable<String, Object> properties = new Hashtable<String, Object>();
+	
+	/** the start time. */
+	private long startTime = System.currentTimeMillis();
+	
+	/** the last access time. */
+	private volatile long lastAccessTime = startTime;
+	
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Initialization
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/**
+	 * Creates a new instance of <code>StubSession</code>.
+	 * 
+	 * @param pId the session id
+	 */
+	public StubSession(Object pId)
+	{
+		id = pId;
+	}
+	
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Interface implementation
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public Object getId()
+	{
+		return id;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public String getLifeCycleName()
+	{
+		return "loadtest.Session";
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public String getApplicationName()
+	{
+		return "loadtest";
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public String getUserName()
+	{
+		return null;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public String getPassword()
+	{
+		return null;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public Object getProperty(String pName)
+	{
+		return properties.get(pName);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public Hashtable<String, Object> getProperties()
+	{
+		return properties;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public void setProperty(String pName, Object pValue)
+	{
+		if (pValue == null)
+		{
+			properties.remove(pName);
+		}
+		else
+		{
+			properties.put(pName, pValue);
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getStartTime()
+	{
+		return startTime;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getLastAccessTime()
+	{
+		return lastAccessTime;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public void setMaxInactiveInterval(int pMaxInactiveInterval)
+	{
+		// Do nothing
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public int getMaxInactiveInterval()
+	{
+		return 0;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public boolean isInactive(long pAccessTime)
+	{
+		return false;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getLastAliveTime()
+	{
+		return lastAccessTime;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public void setAliveInterval(long pAliveInterval)
+	{
+		// Do nothing
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getAliveInterval()
+	{
+		return 0;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public boolean isAlive(long pAliveTime)
+	{
+		return true;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public Object call(String pObjectName, String pMethod, Object... pParams) throws Throwable
+	{
+		lastAccessTime = System.currentTimeMillis();
+		
+		return null;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public Object callAction(String pAction, Object... pParams) throws Throwable
+	{
+		lastAccessTime = System.currentTimeMillis();
+		
+		return null;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public Object get(String pObjectName) throws Throwable
+	{
+		return null;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public Object put(String pObjectName, Object pObject) throws Throwable
+	{
+		return null;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public IConfiguration getConfig()
+	{
+		return EMPTY_CONFIG;
+	}
+	
+} // StubSession
@@ -0,0 +1,350 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jvx.rad.server.ICallBackBroker;
+import jvx.rad.server.ISession;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.sibvisions.rad.server.IMasterSession;
+import com.sibvisions.rad.server.ISubSession;
+import com.sibvisions.rad.server.security.spring.SessionSecurityState;
+import com.sibvisions.rad.server.security.spring.SpringSecurityManager;
+import com.sibvisions.rad.server.security.spring.WrappedAuthentication;
+
+/**
+ * The <code>ValidationStress</code> validates a master session and its sub sessions from many threads at
+ * the same time, with one security context like parallel calls of a client during startup. After every
+ * round, the following invariants will be checked:
+ * 
+ * <ul>
+ *   <li>all threads see the same {@link WrappedAuthentication} in the security context</li>
+ *   <li>the authentication contains the session id of the master session</li>
+ *   <li>all validations of a session see the same published {@link SessionSecurityState}</li>
+ *   <li>the session properties match the published state</li>
+ *   <li>a sub session, opened after the master session, shares the state of the master session</li>
+ * </ul>
+ * 
+ * Usage: <code>ValidationStress [threads=16] [rounds=2000]</code>
+ * 
+ * The tool exits with status 1 if an invariant is violated.
+ * 
+ * @author Thomas Krautinger
+ */
+public final class ValidationStress
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Constants
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the number of sub sessions per master session. */
+	private static final int SUB_SESSIONS = 3;
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Initialization
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Invisible constructor, because the <code>ValidationStress</code> is a utility class.
+	 */
+	private ValidationStress()
+	{
+	}
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // User-defined methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Starts the stress test.
+	 * 
+	 * @param pArgs the arguments in the form <code>name=value</code>
+	 * @throws Exception if the test fails
+	 */
+	public static void main(String[] pArgs) throws Exception
+	{
+		int iThreads = 16;
+		int iRounds = 2000;
+
+		for (int i = 0; i < pArgs.length; i++)
+		{
+			if (pArgs[i].startsWith("threads="))
+			{
+				iThreads = Integer.parseInt(pArgs[i].substring(8));
+			}
+			else if (pArgs[i].startsWith("rounds="))
+			{
+				iRounds = Integer.parseInt(pArgs[i].substring(7));
+			}
+		}
+
+		final SpringSecurityManager manager = new SpringSecurityManager();
+
+		final AtomicInteger aiViolations = new AtomicInteger();
+
+		for (int iRound = 0; iRound < iRounds; iRound++)
+		{
+			final SecurityContext context = SecurityContextHolder.createEmptyContext();
+			context.setAuthentication(createAuthentication(iRound));
+
+			final StubMasterSession master = new StubMasterSession("master" + iRound);
+
+			final ISession[] sessions = new ISession[SUB_SESSIONS + 1];
+			sessions[0] = master;
+
+			for (int i = 1; i < sessions.length; i++)
+			{
+				sessions[i] = new StubSubSession(master, "sub" + iRound + "." + i);
+			}
+
+			final Object[] oObserved = new Object[iThreads * 2];
+
+			final CyclicBarrier barrier = new CyclicBarrier(iThreads);
+			final CountDownLatch cdlDone = new CountDownLatch(iThreads);
+
+			for (int i = 0; i < iThreads; i++)
+			{
+				final int iThread = i;
+
+				Thread thread = new Thread(new Runnable()
+				{
+					public void run()
+					{
+						SecurityContextHolder.setContext(context);
+
+						try
+						{
+							barrier.await();
+
+							ISession session = sessions[iThread % sessions.length];
+
+							manager.validateAuthentication(session);
+
+							oObserved[iThread * 2] = SecurityContextHolder.getContext().getAuthentication();
+							oObserved[iThread * 2 + 1] = SessionSecurityState.get(session);
+						}
+						catch (Throwable th)
+						{
+							th.printStackTrace();
+
+							aiViolations.incrementAndGet();
+						}
+						finally
+						{
+							SecurityContextHolder.clearContext();
+
+							cdlDone.countDown();
+						}
+					}
+				});
+				thread.start();
+			}
+
+			cdlDone.await();
+
+			aiViolations.addAndGet(check(context, sessions, oObserved));
+
+			// a work-screen opened later shares the state of the master session
+			StubSubSession screen = new StubSubSession(master, "screen" + iRound);
+
+			SecurityContextHolder.setContext(context);
+
+			try
+			{
+				manager.validateAuthentication(screen);
+			}
+			finally
+			{
+				SecurityContextHolder.clearContext();
+			}
+
+			if (SessionSecurityState.get(screen) != SessionSecurityState.get(master))
+			{
+				System.out.println("sub session " + screen.getId() + " doesn't share the master state");
+
+				aiViolations.incrementAndGet();
+			}
+		}
+
+		System.out.println("threads:    " + iThreads);
+		System.out.println("rounds:     " + iRounds);
+		System.out.println("violations: " + aiViolations.get());
+
+		if (aiViolations.get() > 0)
+		{
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Checks the invariants of a round.
+	 * 
+	 * @param pContext the shared security context
+	 * @param pSessions the master session and its sub sessions
+	 * @param pObserved the authentication and the state, observed by every thread after its validation
+	 * @return the number of violations
+	 */
+	private static int check(SecurityContext pContext, ISession[] pSessions, Object[] pObserved)
+	{
+		int iViolations = 0;
+
+		Authentication authentication = pContext.getAuthentication();
+
+		if (!(authentication instanceof WrappedAuthentication))
+		{
+			System.out.println("authentication not wrapped");
+
+			return 1;
+		}
+
+		if (!pSessions[0].getId().equals(((WrappedAuthentication) authentication).getProperty("client.sessionid")))
+		{
+			System.out.println("lost session id: " + ((WrappedAuthentication) authentication).getProperty("client.sessionid"));
+
+			iViolations++;
+		}
+
+		for (int i = 0; i < pObserved.length; i += 2)
+		{
+			if (pObserved[i] != authentication)
+			{
+				System.out.println("racing wrapper");
+
+				iViolations++;
+			}
+
+			ISession session = pSessions[(i / 2) % pSessions.length];
+
+			SessionSecurityState state = SessionSecurityState.get(session);
+
+			if (pObserved[i + 1] != state
+				|| state.getMetaDataHandler() != session.getProperty("server.preauthentication.metadatahandler")
+				|| state.getProfile() != session.getProperty("server.spring.profile"))
+			{
+				System.out.println("inconsistent state of session " + session.getId());
+
+				iViolations++;
+			}
+		}
+
+		return iViolations;
+	}
+
+	/**
+	 * Creates the authentication of a form login.
+	 * 
+	 * @param pUser the user number
+	 * @return the authentication
+	 */
+	private static Authentication createAuthentication(int pUser)
+	{
+		GrantedAuthority[] authorities = new GrantedAuthority[] {new SimpleGrantedAuthority("ROLE_USER"),
+																 new SimpleGrantedAuthority("ROLE_EMPLOYEE")};
+
+		return new UsernamePasswordAuthenticationToken("user" + pUser, "password" + pUser, Arrays.asList(authorities));
+	}
+
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+
+	/**
+	 * The <code>StubMasterSession</code> is a master session without server.
+	 * 
+	 * @author Thomas Krautinger
+	 */
+	private static class StubMasterSession extends StubSession
+											implements IMasterSession
+	{
+		/**
+		 * Creates a new instance of <code>StubMasterSession</code>.
+		 * 
+		 * @param pId the session id
+		 */
+		StubMasterSession(Object pId)
+		{
+			super(pId);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public ICallBackBroker getCallBackBroker()
+		{
+			return null;
+		}
+
+	}	// StubMasterSession
+
+	/**
+	 * The <code>StubSubSession</code> is a sub session without server.
+	 * 
+	 * @author Thomas Krautinger
+	 */
+	private static final class StubSubSession extends StubSession
+											  implements ISubSession
+	{
+		/** the master session. */
+		private IMasterSession master;
+
+		/**
+		 * Creates a new instance of <code>StubSubSession</code>.
+		 * 
+		 * @param pMaster the master session
+		 * @param pId the session id
+		 */
+		StubSubSession(IMasterSession pMaster, Object pId)
+		{
+			super(pId);
+
+			master = pMaster;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public IMasterSession getMasterSession()
+		{
+			return master;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public ICallBackBroker getCallBackBroker()
+		{
+			return null;
+		}
+
+	}	// StubSubSession
+
+} // ValidationStress
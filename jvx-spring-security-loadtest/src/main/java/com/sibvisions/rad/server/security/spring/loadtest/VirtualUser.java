@@ -0,0 +1,290 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.util.List;
+
+/**
+ * The <code>VirtualUser</code> drives form login, JVx server calls and logout against the load test server.
+ * 
+ * @author Thomas Krautinger
+ */
+public class VirtualUser implements Runnable
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Class members
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/** the base URL. */
+	private String baseUrl;
+	
+	/** the user name. */
+	private String userName;
+	
+	/** the password. */
+	private String password;
+	
+	/** the number of login/logout cycles. */
+	private int iterations;
+	
+	/** the number of server calls per cycle. */
+	private int calls;
+	
+	/** the statistics. */
+	private Statistics statistics;
+	
+	/** the current session cookie. */
+	private String sessionCookie;
+	
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Initialization
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/**
+	 * Creates a new instance of <code>VirtualUser</code>.
+	 * 
+	 * @param pBaseUrl the base URL
+	 * @param pUserName the user name
+	 * @param pPassword the password
+	 * @param pIterations the number of login/logout cycles
+	 * @param pCalls the number of server calls per cycle
+	 * @param pStatistics the statistics
+	 */
+	public VirtualUser(String pBaseUrl, String pUserName, String pPassword, int pIterations, int pCalls, Statistics pStatistics)
+	{
+		baseUrl = pBaseUrl;
+		userName = pUserName;
+		password = pPassword;
+		iterations = pIterations;
+		calls = pCalls;
+		statistics = pStatistics;
+	}
+	
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Interface implementation
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public void run()
+	{
+		for (int i = 0; i < iterations; i++)
+		{
+			if (login())
+			{
+				for (int j = 0; j < calls; j++)
+				{
+					call();
+				}
+				
+				logout();
+			}
+		}
+	}
+	
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // User-defined methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/**
+	 * Executes the form login.
+	 * 
+	 * @return <code>true</code> if the login was successful
+	 */
+	public boolean login()
+	{
+		sessionCookie = null;
+		
+		try
+		{
+			String sBody = "j_username=" + URLEncoder.encode(userName, "UTF-8") + "&j_password=" + URLEncoder.encode(password, "UTF-8");
+			
+			long lStart = System.nanoTime();
+			
+			HttpURLConnection con = request("/j_spring_security_check", "POST", sBody);
+			
+			String sLocation = con.getHeaderField("Location");
+			
+			if (con.getResponseCode() == HttpURLConnection.HTTP_MOVED_TEMP
+				&& sLocation != null
+				&& sLocation.endsWith("/web/ui"))
+			{
+				statistics.record("login", System.nanoTime() - lStart);
+				
+				return true;
+			}
+		}
+		catch (IOException ioe)
+		{
+			// error
+		}
+		
+		statistics.error("login");
+		
+		return false;
+	}
+	
+	/**
+	 * Executes a JVx server call.
+	 * 
+	 * @return <code>true</code> if the call was successful
+	 */
+	public boolean call()
+	{
+		try
+		{
+			long lStart = System.nanoTime();
+			
+			HttpURLConnection con = request("/services/Server", "POST", "");
+			
+			if (con.getResponseCode() == HttpURLConnection.HTTP_OK)
+			{
+				statistics.record("call", System.nanoTime() - lStart);
+				
+				return true;
+			}
+		}
+		catch (IOException ioe)
+		{
+			// error
+		}
+		
+		statistics.error("call");
+		
+		return false;
+	}
+	
+	/**
+	 * Executes the logout.
+	 * 
+	 * @return <code>true</code> if the logout was successful
+	 */
+	public boolean logout()
+	{
+		try
+		{
+			long lStart = System.nanoTime();
+			
+			HttpURLConnection con = request("/logout", "GET", null);
+			
+			if (con.getResponseCode() == HttpURLConnection.HTTP_MOVED_TEMP)
+			{
+				statistics.record("logout", System.nanoTime() - lStart);
+				
+				sessionCookie = null;
+				
+				return true;
+			}
+		}
+		catch (IOException ioe)
+		{
+			// error
+		}
+		
+		statistics.error("logout");
+		
+		return false;
+	}
+	
+	/**
+	 * Sends a request and reads the response completely.
+	 * 
+	 * @param pPath the path
+	 * @param pMethod the HTTP method
+	 * @param pBody the form body or <code>null</code>
+	 * @return the connection
+	 * @throws IOException if the request fails
+	 */
+	private HttpURLConnection request(String pPath, String pMethod, String pBody) throws IOException
+	{
+		HttpURLConnection con = (HttpURLConnection) new URL(baseUrl + pPath).openConnection();
+		con.setInstanceFollowRedirects(false);
+		con.setRequestMethod(pMethod);
+		
+		if (sessionCookie != null)
+		{
+			con.setRequestProperty("Cookie", sessionCookie);
+		}
+		
+		if (pBody != null)
+		{
+			con.setDoOutput(true);
+			con.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+			
+			OutputStream out = con.getOutputStream();
+			
+			try
+			{
+				out.write(pBody.getBytes("UTF-8"));
+			}
+			finally
+			{
+				out.close();
+			}
+		}
+		
+		int iCode = con.getResponseCode();
+		
+		InputStream in = iCode >= 400 ? con.getErrorStream() : con.getInputStream();
+		
+		if (in != null)
+		{
+			try
+			{
+				byte[] byBuffer = new byte[4096];
+				
+				while (in.read(byBuffer) >= 0)
+				{
+					// consume
+				}
+			}
+			finally
+			{
+				in.close();
+			}
+		}
+		
+		List<String> liCookies = con.getHeaderFields().get("Set-Cookie");
+		
+		if (liCookies != null)
+		{
+			for (String sCookie : liCookies)
+			{
+				if (sCookie.startsWith("JSESSIONID="))
+				{
+					int iPos = sCookie.indexOf(';');
+					
+					sessionCookie = iPos > 0 ? sCookie.substring(0, iPos) : sCookie;
+				}
+			}
+		}
+		
+		return con;
+	}
+	
+} // VirtualUser
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.reactive;
+
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import com.sibvisions.rad.server.security.spring.SpringSecurityManager;
+
+/**
+ * The <code>ReactiveSecurityContextBridge</code> bridges the {@link ReactiveSecurityContextHolder} to the
+ * thread-bound {@link SecurityContextHolder} which is used by {@link SpringSecurityManager}. The blocking
+ * JVx call runs on a separate scheduler, with the reactive security context bound to the worker thread.
+ * 
+ * @author Thomas Krautinger
+ */
+public class ReactiveSecurityContextBridge
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Class members
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/** The scheduler for blocking calls. */
+	private Scheduler scheduler;
+	
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Initialization
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+    /**
+     * Creates a new instance of <code>ReactiveSecurityContextBridge</code>.
+     */
+	public ReactiveSecurityContextBridge()
+	{
+		this(Schedulers.boundedElastic());
+	}
+	
+	/**
+	 * Creates a new instance of <code>ReactiveSecurityContextBridge</code>.
+	 * 
+	 * @param pScheduler the scheduler for blocking calls
+	 */
+	public ReactiveSecurityContextBridge(Scheduler pScheduler)
+	{
+		scheduler = pScheduler;
+	}
+	
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // User-defined methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/**
+	 * Executes a blocking call with the current reactive security context bound to the 
+	 * {@link SecurityContextHolder}.
+	 * 
+	 * @param <T> the result type
+	 * @param pCallable the blocking call
+	 * @return the result of the call
+	 */
+	public <T> Mono<T> execute(final Callable<T> pCallable)
+	{
+		return ReactiveSecurityContextHolder.getContext()
+			   .defaultIfEmpty(SecurityContextHolder.createEmptyContext())
+			   .flatMap(new Function<SecurityContext, Mono<T>>()
+		{
+			public Mono<T> apply(final SecurityContext pContext)
+			{
+				Mono<T> call = Mono.fromCallable(new Callable<T>()
+				{
+					public T call() throws Exception
+					{
+						SecurityContext previousContext = SecurityContextHolder.getContext();
+						
+						SecurityContextHolder.setContext(pContext);
+						
+						try
+						{
+							return pCallable.call();
+						}
+						finally
+						{
+							SecurityContextHolder.setContext(previousContext);
+						}
+					}
+				});
+				
+				if (scheduler != null)
+				{
+					call = call.subscribeOn(scheduler);
+				}
+				
+				return call;
+			}
+		});
+	}
+	
+	/**
+	 * Gets the scheduler for blocking calls.
+	 * 
+	 * @return the scheduler
+	 */
+	public Scheduler getScheduler()
+	{
+		return scheduler;
+	}
+	
+	/**
+	 * Sets the scheduler for blocking calls.
+	 * 
+	 * @param pScheduler the scheduler or <code>null</code> to execute on the subscribing thread
+	 */
+	public void setScheduler(Scheduler pScheduler)
+	{
+		scheduler = pScheduler;
+	}
+	
+} // ReactiveSecurityContextBridge
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.reactive;
+
+import java.util.function.Function;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.server.ServerAuthenticationEntryPoint;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebSession;
+
+import reactor.core.publisher.Mono;
+
+import com.sibvisions.rad.server.security.spring.SecurityManagerEntryPoint;
+
+/**
+ * The <code>ReactiveSecurityManagerEntryPoint</code> is the reactive variant of {@link SecurityManagerEntryPoint}.
+ * 
+ * @author Thomas Krautinger
+ */
+public class ReactiveSecurityManagerEntryPoint implements ServerAuthenticationEntryPoint
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Class members
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/** The delegate entry point. */
+	private ServerAuthenticationEntryPoint delegateEntryPoint;
+	
+	/** The forbidden entry point. */
+	private ServerAuthenticationEntryPoint delegateForbiddenEntryPoint;
+	
+	/** The secured paths. */
+	private String[] securedPaths = new String[]{"/services/Server",
+												 "/services/Download",
+												 "/services/Upload",
+												 "/services/mobile/*",
+											     "/services/rest/*"};
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Initialization
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/**
+	 * Creates a new instance of <code>ReactiveSecurityManagerEntryPoint</code>.
+	 * 
+	 * @param pDelegateEntryPoint the delegate entry point
+	 */
+	public ReactiveSecurityManagerEntryPoint(ServerAuthenticationEntryPoint pDelegateEntryPoint)
+	{
+		this(pDelegateEntryPoint, new HttpStatusServerEntryPoint(HttpStatus.FORBIDDEN));
+	}
+	
+	/**
+	 * Creates a new instance of <code>ReactiveSecurityManagerEntryPoint</code>.
+	 * 
+	 * @param pDelegateEntryPoint the delegate entry point
+	 * @param pDelegateForbiddenEntryPoint the delegate forbidden entry point
+	 */
+	public ReactiveSecurityManagerEntryPoint(ServerAuthenticationEntryPoint pDelegateEntryPoint, ServerAuthenticationEntryPoint pDelegateForbiddenEntryPoint)
+	{
+		delegateEntryPoint = pDelegateEntryPoint;
+		delegateForbiddenEntryPoint = pDelegateForbiddenEntryPoint;
+	}
+	
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Interface implementation
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public Mono<Void> commence(final ServerWebExchange pExchange, final AuthenticationException pAuthException)
+	{
+		if (pAuthException == null)
+		{
+			return delegate(delegateEntryPoint, pExchange, pAuthException);
+		}
+		
+		return pExchange.getSession().flatMap(new Function<WebSession, Mono<Void>>()
+		{
+			public Mono<Void> apply(WebSession pSession)
+			{
+				if (pSession.isStarted()
+					&& isSecuredPath(pExchange.getRequest().getPath().pathWithinApplication().value()))
+				{
+					return delegate(delegateForbiddenEntryPoint, pExchange, pAuthException);
+				}
+				
+				return delegate(delegateEntryPoint, pExchange, pAuthException);
+			}
+		});
+	}
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // User-defined methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/**
+	 * Checks whether the given path is a secured path.
+	 * 
+	 * @param pPath the request path
+	 * @return <code>true</code> if the path is secured, <code>false</code> otherwise
+	 */
+	protected boolean isSecuredPath(String pPath)
+	{
+		if (pPath != null
+			&& securedPaths != null)
+		{
+			for (int i = 0; i < securedPaths.length; i++)
+			{
+				if (pPath.equals(securedPaths[i])
+					|| (securedPaths[i].endsWith("*")
+					&& pPath.startsWith(securedPaths[i].substring(0, securedPaths[i].length() - 1))))
+				{
+					return true;
+				}
+			}
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Delegates the commence to the given entry point.
+	 * 
+	 * @param pEntryPoint the entry point
+	 * @param pExchange the exchange
+	 * @param pAuthException the authentication exception
+	 * @return the result of the entry point or an empty result if no entry point is set
+	 */
+	private static Mono<Void> delegate(ServerAuthenticationEntryPoint pEntryPoint, ServerWebExchange pExchange, AuthenticationException pAuthException)
+	{
+		if (pEntryPoint != null)
+		{
+			return pEntryPoint.commence(pExchange, pAuthException);
+		}
+		
+		return Mono.empty();
+	}
+	
+	/**
+	 * Gets the delegate entry point.
+	 * 
+	 * @return the delegate entry point
+	 */
+	public ServerAuthenticationEntryPoint getDelegateEntryPoint()
+	{
+		return delegateEntryPoint;
+	}
+
+	/**
+	 * Sets the delegate entry point.
+	 * 
+	 * @param pDelegateEntryPoint the delegate entry point
+	 */
+	public void setDelegateEntryPoint(ServerAuthenticationEntryPoint pDelegateEntryPoint)
+	{
+		delegateEntryPoint = pDelegateEntryPoint;
+	}
+
+	/**
+	 * Gets the delegate forbidden entry point.
+	 * 
+	 * @return the delegate forbidden entry point 
+	 */
+	public ServerAuthenticationEntryPoint getForbiddenEntryPoint()
+	{
+		return delegateForbiddenEntryPoint;
+	}
+
+	/**
+	 * Sets the delegate forbidden entry point.
+	 * 
+	 * @param pDelegateForbiddenEntryPoint the delegate forbidden entry point
+	 */
+	public void setForbiddenEntryPoint(ServerAuthenticationEntryPoint pDelegateForbiddenEntryPoint)
+	{
+		delegateForbiddenEntryPoint = pDelegateForbiddenEntryPoint;
+	}
+
+	/**
+	 * Gets the secured paths.
+	 * 
+	 * @return the secured paths
+	 */
+	public String[] getSecuredPaths()
+	{
+		return securedPaths;
+	}
+
+	/**
+	 * Sets the secured paths.
+	 * 
+	 * @param pSecuredPaths the secured paths
+	 */
+	public void setSecuredPaths(String[] pSecuredPaths)
+	{
+		securedPaths = pSecuredPaths;
+	}
+	
+} // ReactiveSecurityManagerEntryPoint
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.reactive.authentication;
+
+import java.net.URI;
+import java.util.function.Function;
+
+import jvx.rad.remote.IConnectionConstants;
+
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.server.WebFilterExchange;
+import org.springframework.security.web.server.authentication.RedirectServerAuthenticationSuccessHandler;
+import org.springframework.security.web.server.authentication.ServerAuthenticationSuccessHandler;
+import org.springframework.security.web.server.context.ServerSecurityContextRepository;
+import org.springframework.security.web.server.context.WebSessionServerSecurityContextRepository;
+import org.springframework.web.server.WebSession;
+
+import reactor.core.publisher.Mono;
+
+import com.sibvisions.rad.server.security.spring.WrappedAuthentication;
+import com.sibvisions.rad.server.security.spring.authentication.SecurityManagerPreparerAuthenticationSuccessHandler;
+
+/**
+ * The <code>ReactiveSecurityManagerPreparerAuthenticationSuccessHandler</code> is the reactive variant of
+ * {@link SecurityManagerPreparerAuthenticationSuccessHandler}. It sets additional parameters into the
+ * web session and authentication object which are needed by the security manager.
+ * 
+ * @author Thomas Krautinger
+ */
+public class ReactiveSecurityManagerPreparerAuthenticationSuccessHandler implements ServerAuthenticationSuccessHandler
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Constants
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/** the key for the logout process URL. */
+	private static final String LOGOUT_PROCESS_URL = IConnectionConstants.PREFIX_CLIENT + "logout.process.url";
+	
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Class members
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/** The delegate authentication success handler. */
+	private ServerAuthenticationSuccessHandler delegateAuthenticationSuccessHandler;
+	
+	/** The security context repository. */
+	private ServerSecurityContextRepository securityContextRepository = new WebSessionServerSecurityContextRepository();
+	
+	/** The logout process URL. */
+	private String logoutProcessUrl;
+	
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Initialization
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/**
+	 * Creates a new instance of <code>ReactiveSecurityManagerPreparerAuthenticationSuccessHandler</code>.
+	 * As delegate authentication success handler will be an <code>RedirectServerAuthenticationSuccessHandler</code> 
+	 * with the default target URL <code>pDefaultTargetUrl</code> created.
+	 * 
+	 * @param pDefaultTargetUrl the default target URL
+	 * @param pLogoutProcessUrl the logout process URL
+	 */
+	public ReactiveSecurityManagerPreparerAuthenticationSuccessHandler(String pDefaultTargetUrl, String pLogoutProcessUrl)
+	{
+		this(new RedirectServerAuthenticationSuccessHandler(pDefaultTargetUrl), pLogoutProcessUrl);
+	}
+	
+	/**
+	 * Creates a new instance of <code>ReactiveSecurityManagerPreparerAuthenticationSuccessHandler</code>.
+	 * 
+	 * @param pDelegateAuthenticationSuccessHandler the delegate authentication success handler 
+	 * @param pLogoutProcessUrl the logout process URL 
+	 */
+	public ReactiveSecurityManagerPreparerAuthenticationSuccessHandler(ServerAuthenticationSuccessHandler pDelegateAuthenticationSuccessHandler, 
+                                                                       String pLogoutProcessUrl)
+	{
+		if (pLogoutProcessUrl == null)
+		{
+			throw new IllegalArgumentException("'logoutProcessUrl' is required");
+		}
+		
+		delegateAuthenticationSuccessHandler = pDelegateAuthenticationSuccessHandler;
+		logoutProcessUrl = pLogoutProcessUrl;
+	}
+	
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Interface implementation
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public Mono<Void> onAuthenticationSuccess(final WebFilterExchange pExchange, Authentication pAuthentication)
+	{
+		final String absoluteLogoutProcessUrl = buildAbsoluteLogoutProcessUrl(pExchange.getExchange().getRequest());
+		
+		final WrappedAuthentication authentication;
+		
+		if (pAuthentication instanceof WrappedAuthentication)
+		{
+			authentication = (WrappedAuthentication) pAuthentication;
+		}
+		else
+		{
+			authentication = new WrappedAuthentication(pAuthentication);
+		}
+		
+		authentication.setProperty(LOGOUT_PROCESS_URL, absoluteLogoutProcessUrl);
+		
+		Mono<Void> prepare = pExchange.getExchange().getSession().flatMap(new Function<WebSession, Mono<Void>>()
+		{
+			public Mono<Void> apply(WebSession pSession)
+			{
+				pSession.getAttributes().put(LOGOUT_PROCESS_URL, absoluteLogoutProcessUrl);
+				
+				if (securityContextRepository != null)
+				{
+					return securityContextRepository.save(pExchange.getExchange(), new SecurityContextImpl(authentication));
+				}
+				
+				return Mono.empty();
+			}
+		});
+		
+		if (delegateAuthenticationSuccessHandler != null)
+		{
+			return prepare.then(delegateAuthenticationSuccessHandler.onAuthenticationSuccess(pExchange, authentication));
+		}
+		
+		return prepare;
+	}
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // User-defined methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/**
+	 * Builds the absolute logout process URL based on the request <code>pRequest</code> and <code>logoutProcessUrl</code>.
+	 * 
+	 * @param pRequest the request to build the logout process URL
+	 * 
+	 * @return the absolute logout process URL
+	 */
+	protected String buildAbsoluteLogoutProcessUrl(ServerHttpRequest pRequest)
+	{
+		if (logoutProcessUrl.startsWith("http://")
+			|| logoutProcessUrl.startsWith("https://"))
+		{
+			return logoutProcessUrl;
+		}
+		
+		URI uri = pRequest.getURI();
+		
+		StringBuilder sbUrl = new StringBuilder();
+		sbUrl.append(uri.getScheme());
+		sbUrl.append("://");
+		sbUrl.append(uri.getHost());
+		
+		if (uri.getPort() >= 0)
+		{
+			sbUrl.append(':');
+			sbUrl.append(uri.getPort());
+		}
+		
+		sbUrl.append(pRequest.getPath().contextPath().value());
+		sbUrl.append(logoutProcessUrl);
+		
+		return sbUrl.toString();
+	}
+	
+	/**
+	 * Gets the delegate authentication success handler.
+	 * 
+	 * @return the delegate authentication success handler
+	 */
+	public ServerAuthenticationSuccessHandler getDelegateAuthenticationSuccessHandler()
+	{
+		return delegateAuthenticationSuccessHandler;
+	}
+
+	/**
+	 * Sets the delegate authentication success handler.
+	 * 
+	 * @param pDelegateAuthenticationSuccessHandler the delegate authentication success handler
+	 */
+	public void setDelegateAuthenticationSuccessHandler(ServerAuthenticationSuccessHandler pDelegateAuthenticationSuccessHandler)
+	{
+		delegateAuthenticationSuccessHandler = pDelegateAuthenticationSuccessHandler;
+	}
+	
+	/**
+	 * Gets the security context repository which stores the wrapped authentication.
+	 * 
+	 * @return the security context repository
+	 */
+	public ServerSecurityContextRepository getSecurityContextRepository()
+	{
+		return securityContextRepository;
+	}
+	
+	/**
+	 * Sets the security context repository which stores the wrapped authentication. It should be the same
+	 * repository as configured for the authentication web filter.
+	 * 
+	 * @param pSecurityContextRepository the security context repository
+	 */
+	public void setSecurityContextRepository(ServerSecurityContextRepository pSecurityContextRepository)
+	{
+		securityContextRepository = pSecurityContextRepository;
+	}
+	
+	/**
+	 * Gets the logout process URL.
+	 * 
+	 * @return the logout process URL
+	 */
+	public String getLogoutProcessUrl()
+	{
+		return logoutProcessUrl;
+	}
+
+	/**
+	 * Sets the logout process URL.
+	 * 
+	 * @param pLogoutProcessUrl the logout process URL
+	 */
+	public void setLogoutProcessUrl(String pLogoutProcessUrl)
+	{
+		logoutProcessUrl = pLogoutProcessUrl;
+	}
+	
+} // ReactiveSecurityManagerPreparerAuthenticationSuccessHandler
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.reactive.logout;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.server.WebFilterExchange;
+import org.springframework.security.web.server.authentication.logout.ServerLogoutHandler;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import com.sibvisions.rad.server.security.spring.logout.DestroySessionHandler;
+
+/**
+ * Handles the destroy of the server session in a reactive environment. The destroy is blocking and
+ * runs on a separate scheduler, not on the event loop.
+ * 
+ * @author Thomas Krautinger
+ */
+public class ReactiveDestroySessionLogoutHandler implements ServerLogoutHandler
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Class members
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/** The destroy session handler. */
+	private DestroySessionHandler destroySessionHandler;
+	
+	/** The scheduler for the blocking destroy. */
+	private Scheduler scheduler;
+	
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Initialization
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+    /**
+     * Creates a new instance of <code>ReactiveDestroySessionLogoutHandler</code>.
+     */
+	public ReactiveDestroySessionLogoutHandler()
+	{
+		this(new DestroySessionHandler(), Schedulers.boundedElastic());
+	}
+	
+	/**
+	 * Creates a new instance of <code>ReactiveDestroySessionLogoutHandler</code>.
+	 * 
+	 * @param pDestroySessionHandler the destroy session handler
+	 * @param pScheduler the scheduler for the blocking destroy
+	 */
+	public ReactiveDestroySessionLogoutHandler(DestroySessionHandler pDestroySessionHandler, Scheduler pScheduler)
+	{
+		destroySessionHandler = pDestroySessionHandler;
+		scheduler = pScheduler;
+	}
+	
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Interface implementation
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public Mono<Void> logout(WebFilterExchange pExchange, final Authentication pAuthentication)
+	{
+		if (destroySessionHandler == null
+			|| pAuthentication == null)
+		{
+			return Mono.empty();
+		}
+		
+		Mono<Void> destroy = Mono.fromRunnable(new Runnable()
+		{
+			public void run()
+			{
+				destroySessionHandler.doLogout(pAuthentication);
+			}
+		});
+		
+		if (scheduler != null)
+		{
+			destroy = destroy.subscribeOn(scheduler);
+		}
+		
+		return destroy;
+	}
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // User-defined methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/**
+	 * Gets the destroy session handler.
+	 * 
+	 * @return the destroy session handler
+	 */
+	public DestroySessionHandler getDestroySessionHandler()
+	{
+		return destroySessionHandler;
+	}
+	
+	/**
+	 * Sets the destroy session handler.
+	 * 
+	 * @param pDestroySessionHandler the destroy session handler
+	 */
+	public void setDestroySessionHandler(DestroySessionHandler pDestroySessionHandler)
+	{
+		destroySessionHandler = pDestroySessionHandler;
+	}
+	
+	/**
+	 * Gets the scheduler for the blocking destroy.
+	 * 
+	 * @return the scheduler
+	 */
+	public Scheduler getScheduler()
+	{
+		return scheduler;
+	}
+	
+	/**
+	 * Sets the scheduler for the blocking destroy.
+	 * 
+	 * @param pScheduler the scheduler or <code>null</code> to destroy on the calling thread
+	 */
+	public void setScheduler(Scheduler pScheduler)
+	{
+		scheduler = pScheduler;
+	}
+	
+} // ReactiveDestroySessionLogoutHandler
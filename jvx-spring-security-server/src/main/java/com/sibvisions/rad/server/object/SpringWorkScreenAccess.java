@@ -17,6 +17,7 @@
  * History
  * 
  * 04.02.2015 - [TK] - creation
+ * 19.10.2026 - [TK] - shared security state of the session
  */
 package com.sibvisions.rad.server.object;
 
@@ -29,8 +30,10 @@ import jvx.rad.server.SessionContext;
 
 import com.sibvisions.apps.server.object.IWorkScreenAccess;
 import com.sibvisions.rad.persist.jdbc.DBStorage;
+import com.sibvisions.rad.server.security.spring.SessionSecurityState;
 import com.sibvisions.rad.server.security.spring.handler.ISpringMetaDataHandler;
-import com.sibvisions.util.ArrayUtil;
+import com.sibvisions.rad.server.security.spring.jfr.GetRolesEvent;
+import com.sibvisions.rad.server.security.spring.jfr.GetWorkScreensEvent;
 
 /**
  * The <code>SpringWorkScreenAccess</code> reads the available work screens from the spring meta data handler.
@@ -55,27 +58,48 @@ public class SpringWorkScreenAccess implements IWorkScreenAccess
 	 */
 	public String[] getAvailableRoles() throws Exception
 	{
-		ArrayUtil<String> auRoles = new ArrayUtil<String>();
-	   
+		GetRolesEvent event = new GetRolesEvent();
+		event.begin();
+		
 		ISession session = SessionContext.getCurrentSession();
 		
+		String[] sResult = null;
+		
 		if (session != null)
 		{
-			ISpringMetaDataHandler metaDataHandler = (ISpringMetaDataHandler) session.getProperty(METADATA_HANDLER_PROPERTY);
+			SessionSecurityState state = SessionSecurityState.get(session);
 			
-			if (metaDataHandler != null)
+			if (state != null)
+			{
+				sResult = state.getRoles();
+			}
+			else
 			{
-				String[] sRoles = metaDataHandler.getRoles();
+				ISpringMetaDataHandler metaDataHandler = (ISpringMetaDataHandler) session.getProperty(METADATA_HANDLER_PROPERTY);
 				
-				if (sRoles != null)
+				if (metaDataHandler != null)
 				{
-					auRoles.addAll(sRoles);
+					sResult = metaDataHandler.getRoles();
 				}
 			}
 		}
 		
-		String[] sResult = new String[auRoles.size()];
-		auRoles.toArray(sResult);
+		if (sResult == null)
+		{
+			sResult = new String[0];
+		}
+		
+		if (event.shouldCommit())
+		{
+			if (session != null)
+			{
+				event.principalHash = session.getUserName() == null ? 0 : session.getUserName().hashCode();
+				event.lifeCycleName = session.getLifeCycleName();
+			}
+			
+			event.roleCount = sResult.length;
+			event.commit();
+		}
 		
 		return sResult;
 	}
@@ -85,27 +109,48 @@ public class SpringWorkScreenAccess implements IWorkScreenAccess
 	 */
 	public String[][] getAvailableWorkScreens() throws Exception
 	{
-		ArrayUtil<String[]> auScreens = new ArrayUtil<String[]>();
-	    
+		GetWorkScreensEvent event = new GetWorkScreensEvent();
+		event.begin();
+		
 		ISession session = SessionContext.getCurrentSession();
 		
+		String[][] sResult = null;
+		
 		if (session != null)
 		{
-			ISpringMetaDataHandler metaDataHandler = (ISpringMetaDataHandler) session.getProperty(METADATA_HANDLER_PROPERTY);
+			SessionSecurityState state = SessionSecurityState.get(session);
 			
-			if (metaDataHandler != null)
+			if (state != null)
+			{
+				sResult = state.getWorkScreens();
+			}
+			else
 			{
-				String[][] workScreens = metaDataHandler.getWorkScreens();
+				ISpringMetaDataHandler metaDataHandler = (ISpringMetaDataHandler) session.getProperty(METADATA_HANDLER_PROPERTY);
 				
-				if (workScreens != null)
+				if (metaDataHandler != null)
 				{
-					auScreens.addAll(workScreens);
+					sResult = metaDataHandler.getWorkScreens();
 				}
 			}
 		}
 		
-		String[][] sResult = new String[auScreens.size()][];
-		auScreens.toArray(sResult);
+		if (sResult == null)
+		{
+			sResult = new String[0][];
+		}
+		
+		if (event.shouldCommit())
+		{
+			if (session != null)
+			{
+				event.principalHash = session.getUserName() == null ? 0 : session.getUserName().hashCode();
+				event.lifeCycleName = session.getLifeCycleName();
+			}
+			
+			event.screenCount = sResult.length;
+			event.commit();
+		}
 		
 		return sResult;
 	}
@@ -128,17 +173,28 @@ public class SpringWorkScreenAccess implements IWorkScreenAccess
 				htMetaData.putAll(htCache);
 			}
 			
-			ISpringMetaDataHandler metaDataHandler = (ISpringMetaDataHandler) session.getProperty(METADATA_HANDLER_PROPERTY);
+			Hashtable<String, MetaData> metaData = null;
+			
+			SessionSecurityState state = SessionSecurityState.get(session);
 			
-			if (metaDataHandler != null)
+			if (state != null)
+			{
+				metaData = state.getMetaData();
+			}
+			else
 			{
-				Hashtable<String, MetaData> metaData = metaDataHandler.getMetaData();
+				ISpringMetaDataHandler metaDataHandler = (ISpringMetaDataHandler) session.getProperty(METADATA_HANDLER_PROPERTY);
 				
-				if (metaData != null)
+				if (metaDataHandler != null)
 				{
-					htMetaData.putAll(metaData);
+					metaData = metaDataHandler.getMetaData();
 				}
 			}
+			
+			if (metaData != null)
+			{
+				htMetaData.putAll(metaData);
+			}
 		}
 		
 		return htMetaData;
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring;
+
+import java.util.Hashtable;
+
+import jvx.rad.remote.IConnectionConstants;
+import jvx.rad.server.ISession;
+
+/**
+ * The <code>ClientProfile</code> describes which security data a client uses. A client declares its profile
+ * with the connection property <code>client.spring.profile</code>, as comma separated list of capabilities:
+ * 
+ * <ul>
+ *   <li><code>roles</code>: the roles of the user</li>
+ *   <li><code>workscreens</code>: the work-screens and their life-cycle objects</li>
+ *   <li><code>metadata</code>: the metadata of the work-screens</li>
+ * </ul>
+ * 
+ * The profiles <code>full</code> (all capabilities) and <code>minimal</code> (roles only) are predefined.
+ * Without declaration, sessions of <code>/services/mobile/*</code> and <code>/services/rest/*</code> use
+ * the minimal profile and all other sessions the full profile. Data which is not part of the profile
+ * will not be prepared for the session, but it's still available on first access.
+ * 
+ * @author Thomas Krautinger
+ */
+public final class ClientProfile
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Constants
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the connection property of the profile. */
+	public static final String PROPERTY_PROFILE = IConnectionConstants.PREFIX_CLIENT + "spring.profile";
+
+	/** the profile with all capabilities. */
+	public static final ClientProfile FULL = new ClientProfile(true, true, true);
+
+	/** the profile with roles only. */
+	public static final ClientProfile MINIMAL = new ClientProfile(true, false, false);
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the parsed profiles per declaration. */
+	private static final Hashtable<String, ClientProfile> PROFILES = new Hashtable<String, ClientProfile>();
+
+	/** whether the client uses roles. */
+	private boolean roles;
+
+	/** whether the client uses work-screens. */
+	private boolean workScreens;
+
+	/** whether the client uses metadata. */
+	private boolean metaData;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates a new instance of <code>ClientProfile</code>.
+	 * 
+	 * @param pRoles whether the client uses roles
+	 * @param pWorkScreens whether the client uses work-screens
+	 * @param pMetaData whether the client uses metadata
+	 */
+	private ClientProfile(boolean pRoles, boolean pWorkScreens, boolean pMetaData)
+	{
+		roles = pRoles;
+		workScreens = pWorkScreens;
+		metaData = pMetaData;
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Overwritten methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		StringBuilder sbProfile = new StringBuilder();
+
+		if (roles)
+		{
+			sbProfile.append("roles");
+		}
+
+		if (workScreens)
+		{
+			sbProfile.append(sbProfile.length() > 0 ? "," : "").append("workscreens");
+		}
+
+		if (metaData)
+		{
+			sbProfile.append(sbProfile.length() > 0 ? "," : "").append("metadata");
+		}
+
+		return sbProfile.toString();
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Gets the profile of a session.
+	 * 
+	 * @param pSession the session
+	 * @param pServicePath the servlet path of the connect request or <code>null</code>
+	 * @return the declared profile or the default profile for the service path
+	 */
+	public static ClientProfile getProfile(ISession pSession, String pServicePath)
+	{
+		Object oProfile = pSession.getProperty(PROPERTY_PROFILE);
+
+		if (oProfile instanceof String)
+		{
+			return parse((String) oProfile);
+		}
+
+		if (pServicePath != null
+			&& (pServicePath.startsWith("/services/mobile/")
+				|| pServicePath.startsWith("/services/rest/")))
+		{
+			return MINIMAL;
+		}
+
+		return FULL;
+	}
+
+	/**
+	 * Parses a profile declaration.
+	 * 
+	 * @param pProfile the comma separated capabilities or a predefined profile name
+	 * @return the profile
+	 */
+	public static ClientProfile parse(String pProfile)
+	{
+		if (pProfile == null)
+		{
+			return FULL;
+		}
+
+		ClientProfile profile = PROFILES.get(pProfile);
+
+		if (profile != null)
+		{
+			return profile;
+		}
+
+		boolean bRoles = false;
+		boolean bWorkScreens = false;
+		boolean bMetaData = false;
+
+		String[] sCapabilities = pProfile.split(",");
+
+		for (int i = 0; i < sCapabilities.length; i++)
+		{
+			String sCapability = sCapabilities[i].trim().toLowerCase();
+
+			if ("full".equals(sCapability))
+			{
+				bRoles = true;
+				bWorkScreens = true;
+				bMetaData = true;
+			}
+			else if ("minimal".equals(sCapability)
+					 || "roles".equals(sCapability))
+			{
+				bRoles = true;
+			}
+			else if ("workscreens".equals(sCapability))
+			{
+				bWorkScreens = true;
+			}
+			else if ("metadata".equals(sCapability))
+			{
+				bMetaData = true;
+			}
+		}
+
+		if (bRoles && bWorkScreens && bMetaData)
+		{
+			profile = FULL;
+		}
+		else if (bRoles && !bWorkScreens && !bMetaData)
+		{
+			profile = MINIMAL;
+		}
+		else
+		{
+			profile = new ClientProfile(bRoles, bWorkScreens, bMetaData);
+		}
+
+		// only few different declarations are expected
+		if (PROFILES.size() < 100)
+		{
+			PROFILES.put(pProfile, profile);
+		}
+
+		return profile;
+	}
+
+	/**
+	 * Gets whether the client uses roles.
+	 * 
+	 * @return <code>true</code> if roles are used
+	 */
+	public boolean isRoles()
+	{
+		return roles;
+	}
+
+	/**
+	 * Gets whether the client uses work-screens.
+	 * 
+	 * @return <code>true</code> if work-screens are used
+	 */
+	public boolean isWorkScreens()
+	{
+		return workScreens;
+	}
+
+	/**
+	 * Gets whether the client uses metadata.
+	 * 
+	 * @return <code>true</code> if metadata is used
+	 */
+	public boolean isMetaData()
+	{
+		return metaData;
+	}
+
+} // ClientProfile
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring;
+
+import java.nio.charset.Charset;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.sibvisions.util.type.CodecUtil;
+import com.sibvisions.util.xml.XmlNode;
+
+/**
+ * The <code>ResumeTokenManager</code> issues and verifies signed resume tokens for JVx sessions. A resume token
+ * references the JVx session and the principal and allows a restarted client to continue with the security
+ * state of its still alive session, if the client is pre-authenticated with the same principal. The token
+ * alone doesn't authenticate a user.
+ * 
+ * Resume tokens are opt-in:
+ * 
+ * <pre>
+ * &lt;securitymanager&gt;
+ *   &lt;resumetoken&gt;
+ *     &lt;secret&gt;a long random secret, the same on all nodes&lt;/secret&gt;
+ *     &lt;timeout&gt;28800000&lt;/timeout&gt;
+ *   &lt;/resumetoken&gt;
+ * &lt;/securitymanager&gt;
+ * </pre>
+ * 
+ * Without secret, a random key per JVM will be used. The timeout is the validity of a token in milliseconds.
+ * 
+ * @author Thomas Krautinger
+ */
+public final class ResumeTokenManager
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Constants
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the configuration path of resume tokens. */
+	public static final String CONFIG_PATH = "/application/securitymanager/resumetoken";
+
+	/** the session property with the resume token. */
+	public static final String PROPERTY_TOKEN = "client.resume.token";
+
+	/** the HMAC algorithm. */
+	private static final String ALGORITHM = "HmacSHA256";
+
+	/** the charset for tokens. */
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	/** the default validity in milliseconds. */
+	private static final long DEFAULT_TIMEOUT = 8 * 60 * 60 * 1000L;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the managers per configuration node. */
+	private static final Map<XmlNode, ResumeTokenManager> MANAGERS = new WeakHashMap<XmlNode, ResumeTokenManager>();
+
+	/** the HMAC key. */
+	private SecretKeySpec key;
+
+	/** the validity of a token in milliseconds. */
+	private long timeout;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates a new instance of <code>ResumeTokenManager</code>.
+	 * 
+	 * @param pConfig the resume token configuration node
+	 */
+	private ResumeTokenManager(XmlNode pConfig)
+	{
+		String sSecret = pConfig.getNodeValue("/secret");
+
+		byte[] byKey;
+
+		if (sSecret == null
+			|| sSecret.trim().length() == 0)
+		{
+			byKey = new byte[32];
+
+			new SecureRandom().nextBytes(byKey);
+		}
+		else
+		{
+			byKey = sSecret.trim().getBytes(UTF8);
+		}
+
+		key = new SecretKeySpec(byKey, ALGORITHM);
+
+		String sTimeout = pConfig.getNodeValue("/timeout");
+
+		timeout = sTimeout == null ? DEFAULT_TIMEOUT : Long.parseLong(sTimeout.trim());
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Gets the manager for the given configuration.
+	 * 
+	 * @param pConfig the resume token configuration node
+	 * @return the manager or <code>null</code> if resume tokens are not configured
+	 */
+	public static ResumeTokenManager getInstance(XmlNode pConfig)
+	{
+		if (pConfig == null)
+		{
+			return null;
+		}
+
+		// a changed configuration is a new node
+		synchronized (MANAGERS)
+		{
+			ResumeTokenManager manager = MANAGERS.get(pConfig);
+
+			if (manager == null)
+			{
+				manager = new ResumeTokenManager(pConfig);
+
+				MANAGERS.put(pConfig, manager);
+			}
+
+			return manager;
+		}
+	}
+
+	/**
+	 * Creates a resume token for the session.
+	 * 
+	 * @param pSessionId the JVx session id
+	 * @param pUserName the principal name
+	 * @return the signed token
+	 */
+	public String issue(Object pSessionId, String pUserName)
+	{
+		String sPayload = pSessionId + "\n" + pUserName + "\n" + (System.currentTimeMillis() + timeout);
+
+		byte[] byPayload = sPayload.getBytes(UTF8);
+
+		return CodecUtil.encodeHex(byPayload) + "." + CodecUtil.encodeHex(sign(byPayload));
+	}
+
+	/**
+	 * Verifies a resume token.
+	 * 
+	 * @param pToken the token
+	 * @param pUserName the name of the authenticated principal
+	 * @return the JVx session id of the token or <code>null</code> if the token is invalid, expired or
+	 *         was issued for another principal
+	 */
+	public String verify(String pToken, String pUserName)
+	{
+		if (pToken == null
+			|| pUserName == null)
+		{
+			return null;
+		}
+
+		int iPos = pToken.indexOf('.');
+
+		if (iPos <= 0)
+		{
+			return null;
+		}
+
+		byte[] byPayload;
+		byte[] bySignature;
+
+		try
+		{
+			byPayload = CodecUtil.decodeHexAsBytes(pToken.substring(0, iPos));
+			bySignature = CodecUtil.decodeHexAsBytes(pToken.substring(iPos + 1));
+		}
+		catch (Exception e)
+		{
+			return null;
+		}
+
+		if (byPayload == null
+			|| !MessageDigest.isEqual(sign(byPayload), bySignature))
+		{
+			return null;
+		}
+
+		String[] sParts = new String(byPayload, UTF8).split("\n");
+
+		if (sParts.length != 3
+			|| !pUserName.equals(sParts[1]))
+		{
+			return null;
+		}
+
+		try
+		{
+			if (Long.parseLong(sParts[2]) < System.currentTimeMillis())
+			{
+				return null;
+			}
+		}
+		catch (NumberFormatException nfe)
+		{
+			return null;
+		}
+
+		return sParts[0];
+	}
+
+	/**
+	 * Creates the HMAC signature.
+	 * 
+	 * @param pPayload the payload
+	 * @return the signature
+	 */
+	private byte[] sign(byte[] pPayload)
+	{
+		try
+		{
+			Mac mac = Mac.getInstance(ALGORITHM);
+			mac.init(key);
+
+			return mac.doFinal(pPayload);
+		}
+		catch (GeneralSecurityException gse)
+		{
+			throw new IllegalStateException(ALGORITHM + " is not available", gse);
+		}
+	}
+
+	/**
+	 * Gets the validity of a token.
+	 * 
+	 * @return the validity in milliseconds
+	 */
+	public long getTimeout()
+	{
+		return timeout;
+	}
+
+} // ResumeTokenManager
@@ -12,15 +12,20 @@
  * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
  * License for the specific language governing permissions and limitations under
  * the License.
- *
- *
+ * 
+ * 
  * History
  * 
  * 04.02.2015 - [TK] - creation
+ * 19.10.2026 - [TK] - compact responses for machine clients
+ * 19.10.2026 - [TK] - short-lived cache of rejected sessions
  */
 package com.sibvisions.rad.server.security.spring;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -30,14 +35,61 @@ import javax.servlet.http.HttpSession;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.authentication.Http403ForbiddenEntryPoint;
+import org.springframework.security.web.authentication.LoginUrlAuthenticationEntryPoint;
+
+import com.sibvisions.rad.server.security.spring.jfr.EntryPointEvent;
 
 /**
  * The <code>SecurityManagerEntryPoint</code> is the entry point for spring security configurations.
  * 
+ * If compact responses are enabled, machine clients get a small precomputed response instead of
+ * an HTML error or login page. JVx clients (<code>/services/Server</code>, <code>/services/Upload</code>,
+ * <code>/services/Download</code> or <code>application/octet-stream</code> requests) get the status
+ * without body and REST clients (<code>/services/rest/*</code>, <code>/services/mobile/*</code> or
+ * requests which accept JSON but not HTML) get a short JSON body. The delegate entry point will only be
+ * replaced if it is a {@link LoginUrlAuthenticationEntryPoint}, because other entry points, e.g. for
+ * basic authentication, send challenges which are needed by machine clients.
+ * 
+ * Clients of expired sessions often continue polling. The session ids of compact responses will be
+ * remembered for a short time, so that repeated requests with the same session id and path get the
+ * same precomputed response, without session lookup, path matching and delegates. The number of such
+ * requests is available with {@link #getSuppressedCount()}.
+ * 
  * @author Thomas Krautinger
  */
 public class SecurityManagerEntryPoint implements AuthenticationEntryPoint
 {
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Constants
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** Browser or unknown client. */
+	private static final int CLIENT_HTML = 0;
+	
+	/** JVx client with serialized communication. */
+	private static final int CLIENT_JVX = 1;
+	
+	/** REST client. */
+	private static final int CLIENT_JSON = 2;
+	
+	/** The content type of JVx communication. */
+	private static final String CONTENT_TYPE_JVX = "application/octet-stream";
+	
+	/** The content type of REST communication. */
+	private static final String CONTENT_TYPE_JSON = "application/json;charset=UTF-8";
+	
+	/** The empty body. */
+	private static final byte[] BODY_EMPTY = new byte[0];
+	
+	/** The JSON body for unauthorized requests. */
+	private static final byte[] BODY_JSON_UNAUTHORIZED = "{\"error\":\"unauthorized\"}".getBytes(Charset.forName("UTF-8"));
+
+	/** The JSON body for forbidden requests. */
+	private static final byte[] BODY_JSON_FORBIDDEN = "{\"error\":\"forbidden\"}".getBytes(Charset.forName("UTF-8"));
+	
+	/** The maximum number of remembered rejections. */
+	private static final int MAX_REJECTIONS = 10000;
+	
     //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
     // Class members
     //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -55,6 +107,18 @@ public class SecurityManagerEntryPoint implements AuthenticationEntryPoint
 												 "/services/mobile/*",
 											     "/services/rest/*"};
 
+	/** Whether machine clients get compact responses. */
+	private boolean compactResponses = true;
+
+	/** The recent rejections per session id and path. */
+	private ConcurrentHashMap<String, Rejection> chmRejections = new ConcurrentHashMap<String, Rejection>();
+	
+	/** The number of suppressed requests. */
+	private AtomicLong alSuppressed = new AtomicLong();
+	
+	/** The time in milliseconds a rejection will be remembered. */
+	private long rejectionTimeout = 5000;
+
     //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
     // Initialization
     //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -91,6 +155,75 @@ public class SecurityManagerEntryPoint implements AuthenticationEntryPoint
 	 */
 	public void commence(HttpServletRequest pRequest, HttpServletResponse pResponse, AuthenticationException pAuthException) throws IOException, ServletException
 	{
+		EntryPointEvent event = new EntryPointEvent();
+		event.begin();
+		
+		String outcome = "error";
+		
+		try
+		{
+			outcome = commenceIntern(pRequest, pResponse, pAuthException);
+		}
+		finally
+		{
+			if (event.shouldCommit())
+			{
+				event.path = pRequest.getServletPath();
+				event.outcome = outcome;
+				event.commit();
+			}
+		}
+	}
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // User-defined methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/**
+	 * Commences the authentication scheme.
+	 * 
+	 * @param pRequest the request
+	 * @param pResponse the response
+	 * @param pAuthException the authentication exception
+	 * @return <code>forbidden</code> if the forbidden entry point was used, <code>forbidden-compact</code> or
+	 *         <code>unauthorized-compact</code> if a compact response was sent, <code>suppressed</code> if the
+	 *         session was rejected recently, <code>delegate</code> otherwise
+	 * @throws IOException if an I/O error occurs
+	 * @throws ServletException if a servlet error occurs
+	 */
+	private String commenceIntern(HttpServletRequest pRequest, HttpServletResponse pResponse, AuthenticationException pAuthException) throws IOException, ServletException
+	{
+		String sRejectionKey = null;
+		
+		if (compactResponses
+			&& rejectionTimeout > 0)
+		{
+			String sSessionId = pRequest.getRequestedSessionId();
+			
+			if (sSessionId != null)
+			{
+				sRejectionKey = sSessionId + '\n' + pRequest.getServletPath();
+				
+				Rejection rejection = chmRejections.get(sRejectionKey);
+				
+				if (rejection != null)
+				{
+					if (rejection.expires > System.currentTimeMillis())
+					{
+						alSuppressed.incrementAndGet();
+						
+						sendCompact(pResponse, rejection.status, rejection.client);
+						
+						return "suppressed";
+					}
+					
+					chmRejections.remove(sRejectionKey, rejection);
+				}
+			}
+		}
+		
+		int iClient = compactResponses ? getClientType(pRequest) : CLIENT_HTML;
+		
 		if (pAuthException != null)
 		{
 			HttpSession session = pRequest.getSession(false);
@@ -104,31 +237,163 @@ public class SecurityManagerEntryPoint implements AuthenticationEntryPoint
 				{
 					for (int i = 0; i < securedPaths.length; i++)
 					{
-						if (path.equals(securedPaths[i])
-							|| (securedPaths[i].endsWith("*")
-							&& path.startsWith(securedPaths[i].substring(0, securedPaths[i].length() - 1))))
+						if (isMatching(path, securedPaths[i]))
 						{
+							if (iClient != CLIENT_HTML)
+							{
+								sendCompact(pResponse, HttpServletResponse.SC_FORBIDDEN, iClient);
+								
+								remember(sRejectionKey, HttpServletResponse.SC_FORBIDDEN, iClient);
+								
+								return "forbidden-compact";
+							}
+							
 							if (delegateForbiddenEntryPoint != null)
 							{
 								delegateForbiddenEntryPoint.commence(pRequest, pResponse, pAuthException);
 							}
 							
-							return;
+							return "forbidden";
 						}
 					}
 				}
 			}
 		}
 
+		if (iClient != CLIENT_HTML
+			&& (delegateEntryPoint == null || delegateEntryPoint instanceof LoginUrlAuthenticationEntryPoint))
+		{
+			sendCompact(pResponse, HttpServletResponse.SC_UNAUTHORIZED, iClient);
+			
+			remember(sRejectionKey, HttpServletResponse.SC_UNAUTHORIZED, iClient);
+			
+			return "unauthorized-compact";
+		}
+		
 		if (delegateEntryPoint != null)
 		{
 			delegateEntryPoint.commence(pRequest, pResponse, pAuthException);
 		}
+		
+		return "delegate";
+	}
+	
+	/**
+	 * Remembers a compact rejection for repeated requests.
+	 * 
+	 * @param pKey the session id and path or <code>null</code> if the request has no session id
+	 * @param pStatus the status code
+	 * @param pClient the client type
+	 */
+	private void remember(String pKey, int pStatus, int pClient)
+	{
+		if (pKey != null)
+		{
+			if (chmRejections.size() >= MAX_REJECTIONS)
+			{
+				chmRejections.clear();
+			}
+			
+			chmRejections.put(pKey, new Rejection(pStatus, pClient, System.currentTimeMillis() + rejectionTimeout));
+		}
+	}
+	
+	/**
+	 * Gets whether the path matches the pattern. A pattern which ends with <code>*</code> is a prefix.
+	 * 
+	 * @param pPath the path
+	 * @param pPattern the pattern
+	 * @return <code>true</code> if the path matches
+	 */
+	private static boolean isMatching(String pPath, String pPattern)
+	{
+		return pPath.equals(pPattern)
+			   || (pPattern.endsWith("*")
+			   && pPath.startsWith(pPattern.substring(0, pPattern.length() - 1)));
+	}
+	
+	/**
+	 * Gets the type of the client which sent the request.
+	 * 
+	 * @param pRequest the request
+	 * @return {@link #CLIENT_JVX}, {@link #CLIENT_JSON} or {@link #CLIENT_HTML}
+	 */
+	private static int getClientType(HttpServletRequest pRequest)
+	{
+		String path = pRequest.getServletPath();
+		
+		if (path != null)
+		{
+			if (path.equals("/services/Server")
+				|| path.equals("/services/Upload")
+				|| path.equals("/services/Download"))
+			{
+				return CLIENT_JVX;
+			}
+			
+			if (isMatching(path, "/services/rest/*")
+				|| isMatching(path, "/services/mobile/*"))
+			{
+				return CLIENT_JSON;
+			}
+		}
+		
+		String sContentType = pRequest.getContentType();
+		
+		if (sContentType != null
+			&& sContentType.startsWith(CONTENT_TYPE_JVX))
+		{
+			return CLIENT_JVX;
+		}
+		
+		String sAccept = pRequest.getHeader("Accept");
+		
+		if (sAccept != null
+			&& sAccept.indexOf("application/json") >= 0
+			&& sAccept.indexOf("text/html") < 0)
+		{
+			return CLIENT_JSON;
+		}
+		
+		return CLIENT_HTML;
+	}
+	
+	/**
+	 * Sends the precomputed response for a machine client.
+	 * 
+	 * @param pResponse the response
+	 * @param pStatus the status code
+	 * @param pClient the client type
+	 * @throws IOException if an I/O error occurs
+	 */
+	private static void sendCompact(HttpServletResponse pResponse, int pStatus, int pClient) throws IOException
+	{
+		byte[] byBody;
+		
+		if (pClient == CLIENT_JSON)
+		{
+			pResponse.setContentType(CONTENT_TYPE_JSON);
+			
+			byBody = pStatus == HttpServletResponse.SC_FORBIDDEN ? BODY_JSON_FORBIDDEN : BODY_JSON_UNAUTHORIZED;
+		}
+		else
+		{
+			pResponse.setContentType(CONTENT_TYPE_JVX);
+			
+			byBody = BODY_EMPTY;
+		}
+		
+		pResponse.setStatus(pStatus);
+		pResponse.setHeader("Cache-Control", "no-store");
+		pResponse.setContentLength(byBody.length);
+		
+		if (byBody.length > 0)
+		{
+			pResponse.getOutputStream().write(byBody);
+		}
+		
+		pResponse.flushBuffer();
 	}
-
-    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
-    // User-defined methods
-    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	
 	/**
 	 * Gets the delegate entry point.
@@ -190,4 +455,93 @@ public class SecurityManagerEntryPoint implements AuthenticationEntryPoint
 		securedPaths = pSecuredPaths;
 	}
 	
+	/**
+	 * Gets whether machine clients get compact responses.
+	 * 
+	 * @return <code>true</code> if compact responses are enabled
+	 */
+	public boolean isCompactResponses()
+	{
+		return compactResponses;
+	}
+	
+	/**
+	 * Sets whether machine clients get compact responses instead of the responses of the delegates.
+	 * 
+	 * @param pCompactResponses <code>true</code> to enable compact responses
+	 */
+	public void setCompactResponses(boolean pCompactResponses)
+	{
+		compactResponses = pCompactResponses;
+	}
+	
+	/**
+	 * Gets the time a rejected session will be remembered.
+	 * 
+	 * @return the time in milliseconds
+	 */
+	public long getRejectionTimeout()
+	{
+		return rejectionTimeout;
+	}
+	
+	/**
+	 * Sets the time a rejected session will be remembered. Repeated requests of the session get the same
+	 * compact response during this time.
+	 * 
+	 * @param pRejectionTimeout the time in milliseconds, <code>0</code> to disable the cache
+	 */
+	public void setRejectionTimeout(long pRejectionTimeout)
+	{
+		rejectionTimeout = pRejectionTimeout;
+		
+		chmRejections.clear();
+	}
+	
+	/**
+	 * Gets the number of requests which were answered from the cache of rejected sessions.
+	 * 
+	 * @return the number of suppressed requests
+	 */
+	public long getSuppressedCount()
+	{
+		return alSuppressed.get();
+	}
+	
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+	
+	/**
+	 * The <code>Rejection</code> is a remembered compact response.
+	 * 
+	 * @author Thomas Krautinger
+	 */
+	private static final class Rejection
+	{
+		/** the status code. */
+		private int status;
+		
+		/** the client type. */
+		private int client;
+		
+		/** the expiry time. */
+		private long expires;
+		
+		/**
+		 * Creates a new instance of <code>Rejection</code>.
+		 * 
+		 * @param pStatus the status code
+		 * @param pClient the client type
+		 * @param pExpires the expiry time
+		 */
+		private Rejection(int pStatus, int pClient, long pExpires)
+		{
+			status = pStatus;
+			client = pClient;
+			expires = pExpires;
+		}
+		
+	}	// Rejection
+	
 } // SecurityManagerEntryPoint
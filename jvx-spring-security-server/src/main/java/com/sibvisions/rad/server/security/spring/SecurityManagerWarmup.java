@@ -0,0 +1,458 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ * 19.10.2026 - [TK] - log warm-up errors
+ */
+package com.sibvisions.rad.server.security.spring;
+
+import java.util.Collections;
+import java.util.Hashtable;
+
+import jvx.rad.remote.IConnectionConstants;
+import jvx.rad.server.IConfiguration;
+import jvx.rad.server.ISession;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.sibvisions.rad.server.config.Configuration;
+import com.sibvisions.rad.server.security.spring.handler.ISpringMetaDataHandler;
+import com.sibvisions.util.log.ILogger;
+import com.sibvisions.util.log.LoggerFactory;
+
+/**
+ * The <code>SecurityManagerWarmup</code> preloads the security integration when the spring context starts.
+ * The metadata handler class will be loaded, its constructor resolved and the <code>securitymanager</code>
+ * configuration of all configured applications parsed. Optionally, a synthetic validation against a
+ * dummy session will be executed.
+ * 
+ * e.g.:
+ * 
+ * <beans:bean class="com.sibvisions.rad.server.security.spring.SecurityManagerWarmup">
+ *    <beans:constructor-arg value="myapp" />
+ * </beans:bean>
+ * 
+ * @author Thomas Krautinger
+ */
+public class SecurityManagerWarmup implements InitializingBean
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Class members
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** The logger. */
+	private ILogger log = LoggerFactory.getInstance(getClass());
+
+	/** The application names. */
+	private String[] applicationNames;
+
+	/** Whether a synthetic validation should be executed. */
+	private boolean validate = true;
+
+	/** Whether warm-up errors should stop the startup. */
+	private boolean failOnError = false;
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Initialization
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates a new instance of <code>SecurityManagerWarmup</code>.
+	 * 
+	 * @param pApplicationNames the application names
+	 */
+	public SecurityManagerWarmup(String... pApplicationNames)
+	{
+		applicationNames = pApplicationNames;
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Interface implementation
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void afterPropertiesSet() throws Exception
+	{
+		if (applicationNames == null)
+		{
+			return;
+		}
+
+		for (int i = 0; i < applicationNames.length; i++)
+		{
+			try
+			{
+				warmup(applicationNames[i]);
+			}
+			catch (Exception exc)
+			{
+				if (failOnError)
+				{
+					throw exc;
+				}
+
+				log.error("Warm-up of application '", applicationNames[i], "' failed!", exc);
+			}
+		}
+	}
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // User-defined methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Preloads the security integration for the given application.
+	 * 
+	 * @param pApplicationName the application name
+	 * @throws Exception if the warm-up fails
+	 */
+	protected void warmup(String pApplicationName) throws Exception
+	{
+		IConfiguration config = Configuration.getApplicationZone(pApplicationName).getConfig();
+
+		SpringSecurityManager manager = new SpringSecurityManager();
+
+		if (validate)
+		{
+			SecurityContext previousContext = SecurityContextHolder.getContext();
+
+			try
+			{
+				SecurityContext context = SecurityContextHolder.createEmptyContext();
+				context.setAuthentication(new UsernamePasswordAuthenticationToken("warmup", null,
+						                  Collections.<GrantedAuthority>singletonList(new SimpleGrantedAuthority("warmup"))));
+
+				SecurityContextHolder.setContext(context);
+
+				WarmupSession session = new WarmupSession(pApplicationName, config);
+
+				manager.validateAuthentication(session);
+
+				ISpringMetaDataHandler handler = (ISpringMetaDataHandler) session.getProperty(IConnectionConstants.PREFIX_SERVER + "preauthentication.metadatahandler");
+
+				if (handler != null)
+				{
+					handler.isValid();
+					handler.getRoles();
+					handler.getWorkScreens();
+					handler.getMetaData();
+				}
+			}
+			finally
+			{
+				SecurityContextHolder.setContext(previousContext);
+			}
+		}
+		else
+		{
+			Hashtable<String, Object> properties = new Hashtable<String, Object>();
+			properties.put("authentication", new UsernamePasswordAuthenticationToken("warmup", null,
+											 Collections.<GrantedAuthority>emptyList()));
+
+			manager.getAuthenticationMetaDataHandler(properties, config);
+		}
+	}
+
+	/**
+	 * Gets the application names.
+	 * 
+	 * @return the application names
+	 */
+	public String[] getApplicationNames()
+	{
+		return applicationNames;
+	}
+
+	/**
+	 * Sets the application names.
+	 * 
+	 * @param pApplicationNames the application names
+	 */
+	public void setApplicationNames(String[] pApplicationNames)
+	{
+		applicationNames = pApplicationNames;
+	}
+
+	/**
+	 * Gets whether a synthetic validation will be executed.
+	 * 
+	 * @return <code>true</code> if a synthetic validation will be executed, <code>false</code> otherwise
+	 */
+	public boolean isValidate()
+	{
+		return validate;
+	}
+
+	/**
+	 * Sets whether a synthetic validation should be executed.
+	 * 
+	 * @param pValidate <code>true</code> to execute a synthetic validation
+	 */
+	public void setValidate(boolean pValidate)
+	{
+		validate = pValidate;
+	}
+
+	/**
+	 * Gets whether warm-up errors stop the startup.
+	 * 
+	 * @return <code>true</code> if warm-up errors stop the startup
+	 */
+	public boolean isFailOnError()
+	{
+		return failOnError;
+	}
+
+	/**
+	 * Sets whether warm-up errors should stop the startup.
+	 * 
+	 * @param pFailOnError <code>true</code> if warm-up errors should stop the startup
+	 */
+	public void setFailOnError(boolean pFailOnError)
+	{
+		failOnError = pFailOnError;
+	}
+
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+
+	/**
+	 * The <code>WarmupSession</code> is a minimal {@link ISession} for the synthetic validation.
+	 * 
+	 * @author Thomas Krautinger
+	 */
+	private static final class WarmupSession implements ISession
+	{
+		/** the application name. */
+		private String applicationName;
+
+		/** the configuration. */
+		private IConfiguration config;
+
+		/** the properties. */
+		private Hashtable<String, Object> properties = new Hashtable<String, Object>();
+
+		/** the start time. */
+		private long startTime = System.currentTimeMillis();
+
+		/**
+		 * Creates a new instance of <code>WarmupSession</code>.
+		 * 
+		 * @param pApplicationName the application name
+		 * @param pConfig the configuration
+		 */
+		private WarmupSession(String pApplicationName, IConfiguration pConfig)
+		{
+			applicationName = pApplicationName;
+			config = pConfig;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Object getId()
+		{
+			return "warmup";
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public String getLifeCycleName()
+		{
+			return null;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public String getApplicationName()
+		{
+			return applicationName;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public String getUserName()
+		{
+			return null;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public String getPassword()
+		{
+			return null;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Object getProperty(String pName)
+		{
+			return properties.get(pName);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Hashtable<String, Object> getProperties()
+		{
+			return properties;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public void setProperty(String pName, Object pValue)
+		{
+			if (pValue == null)
+			{
+				properties.remove(pName);
+			}
+			else
+			{
+				properties.put(pName, pValue);
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public long getStartTime()
+		{
+			return startTime;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public long getLastAccessTime()
+		{
+			return startTime;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public void setMaxInactiveInterval(int pMaxInactiveInterval)
+		{
+			// Do nothing
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public int getMaxInactiveInterval()
+		{
+			return 0;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public boolean isInactive(long pAccessTime)
+		{
+			return false;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public long getLastAliveTime()
+		{
+			return startTime;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public void setAliveInterval(long pAliveInterval)
+		{
+			// Do nothing
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public long getAliveInterval()
+		{
+			return 0;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public boolean isAlive(long pAliveTime)
+		{
+			return true;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Object call(String pObjectName, String pMethod, Object... pParams) throws Throwable
+		{
+			throw new SecurityException("Calls are not allowed in the warm-up session of '" + applicationName + "'!");
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Object callAction(String pAction, Object... pParams) throws Throwable
+		{
+			throw new SecurityException("Actions are not allowed in the warm-up session of '" + applicationName + "'!");
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Object get(String pObjectName) throws Throwable
+		{
+			return null;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Object put(String pObjectName, Object pObject) throws Throwable
+		{
+			return null;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public IConfiguration getConfig()
+		{
+			return config;
+		}
+
+	}	// WarmupSession
+
+} // SecurityManagerWarmup
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ * 19.10.2026 - [TK] - id of the resumed session
+ */
+package com.sibvisions.rad.server.security.spring;
+
+import java.util.Hashtable;
+
+import jvx.rad.persist.MetaData;
+import jvx.rad.remote.IConnectionConstants;
+import jvx.rad.server.ISession;
+
+import com.sibvisions.rad.server.security.spring.handler.ISpringMetaDataHandler;
+
+/**
+ * The <code>SessionSecurityState</code> is the immutable security state of a JVx session, resolved by
+ * the {@link SpringSecurityManager}. The state will be published as a whole with the session property
+ * {@link #PROPERTY_STATE}, so that concurrent validations of the same session never see a mix of
+ * different handlers, profiles and tokens. A validation with the same principal and authorities reuses
+ * the published state.
+ * 
+ * Sub sessions share the state of their master session. The roles, work-screens and metadata of the
+ * handler will be resolved only once per state and the same instances will be returned to all sessions,
+ * so they must not be modified.
+ * 
+ * @author Thomas Krautinger
+ */
+public final class SessionSecurityState
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Constants
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the session property of the state. */
+	public static final String PROPERTY_STATE = IConnectionConstants.PREFIX_SERVER + "spring.securitystate";
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the name of the authenticated principal. */
+	private final String principal;
+
+	/** the key of the granted authorities. */
+	private final String authorities;
+
+	/** the metadata handler. */
+	private final ISpringMetaDataHandler metaDataHandler;
+
+	/** the client profile. */
+	private final ClientProfile profile;
+
+	/** the resume token. */
+	private final String resumeToken;
+
+	/** the logout process url. */
+	private final Object logoutProcessUrl;
+
+	/** the id of the idle session whose metadata handler was taken over. */
+	private final Object resumedSessionId;
+
+	/** the resolved roles. */
+	private volatile String[] roles;
+
+	/** the resolved work-screens. */
+	private volatile String[][] workScreens;
+
+	/** the resolved metadata. */
+	private volatile Hashtable<String, MetaData> metaData;
+
+	/** whether the roles are resolved. */
+	private volatile boolean rolesResolved;
+
+	/** whether the work-screens are resolved. */
+	private volatile boolean workScreensResolved;
+
+	/** whether the metadata is resolved. */
+	private volatile boolean metaDataResolved;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates a new instance of <code>SessionSecurityState</code>.
+	 * 
+	 * @param pPrincipal the name of the authenticated principal
+	 * @param pAuthorities the key of the granted authorities
+	 * @param pMetaDataHandler the metadata handler
+	 * @param pProfile the client profile
+	 * @param pResumeToken the resume token or <code>null</code>
+	 * @param pLogoutProcessUrl the logout process url or <code>null</code>
+	 */
+	public SessionSecurityState(String pPrincipal, String pAuthorities, ISpringMetaDataHandler pMetaDataHandler,
+								ClientProfile pProfile, String pResumeToken, Object pLogoutProcessUrl)
+	{
+		this(pPrincipal, pAuthorities, pMetaDataHandler, pProfile, pResumeToken, pLogoutProcessUrl, null);
+	}
+
+	/**
+	 * Creates a new instance of <code>SessionSecurityState</code> which takes over the metadata handler of
+	 * a resumed session.
+	 * 
+	 * @param pPrincipal the name of the authenticated principal
+	 * @param pAuthorities the key of the granted authorities
+	 * @param pMetaDataHandler the metadata handler of the resumed session
+	 * @param pProfile the client profile
+	 * @param pResumeToken the resume token or <code>null</code>
+	 * @param pLogoutProcessUrl the logout process url or <code>null</code>
+	 * @param pResumedSessionId the id of the resumed session which should be destroyed, or <code>null</code>
+	 *                          if the resumed session is still in use
+	 */
+	public SessionSecurityState(String pPrincipal, String pAuthorities, ISpringMetaDataHandler pMetaDataHandler,
+								ClientProfile pProfile, String pResumeToken, Object pLogoutProcessUrl, Object pResumedSessionId)
+	{
+		principal = pPrincipal;
+		authorities = pAuthorities;
+		metaDataHandler = pMetaDataHandler;
+		profile = pProfile;
+		resumeToken = pResumeToken;
+		logoutProcessUrl = pLogoutProcessUrl;
+		resumedSessionId = pResumedSessionId;
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Gets the published state of a session.
+	 * 
+	 * @param pSession the session
+	 * @return the state or <code>null</code> if the session was not validated
+	 */
+	public static SessionSecurityState get(ISession pSession)
+	{
+		Object oState = pSession.getProperty(PROPERTY_STATE);
+
+		if (oState instanceof SessionSecurityState)
+		{
+			return (SessionSecurityState) oState;
+		}
+
+		return null;
+	}
+
+	/**
+	 * Publishes the state into the session. The session properties of the state will be set before the
+	 * state itself. If another thread published a state for the same principal and authorities in the
+	 * meantime, the other state will be kept.
+	 * 
+	 * @param pSession the session
+	 * @param pExpected the state which was published before the state was resolved, or <code>null</code>
+	 * @return the published state, this state or the state of the other thread
+	 */
+	SessionSecurityState publish(ISession pSession, SessionSecurityState pExpected)
+	{
+		synchronized (pSession)
+		{
+			SessionSecurityState current = get(pSession);
+
+			if (current != pExpected
+				&& current != null
+				&& current.isValidFor(principal, authorities))
+			{
+				return current;
+			}
+
+			pSession.setProperty(IConnectionConstants.PREFIX_SERVER + "spring.profile", profile);
+			pSession.setProperty(IConnectionConstants.PREFIX_SERVER + "preauthentication.metadatahandler", metaDataHandler);
+			pSession.setProperty(IConnectionConstants.PREFIX_SERVER + "preauthentication.authorities", authorities);
+
+			if (resumeToken != null)
+			{
+				pSession.setProperty(ResumeTokenManager.PROPERTY_TOKEN, resumeToken);
+			}
+
+			pSession.setProperty(IConnectionConstants.PREFIX_CLIENT + "logout.process.url", logoutProcessUrl);
+
+			pSession.setProperty(PROPERTY_STATE, this);
+
+			return this;
+		}
+	}
+
+	/**
+	 * Gets whether the state belongs to the given principal and authorities.
+	 * 
+	 * @param pPrincipal the name of the authenticated principal
+	 * @param pAuthorities the key of the granted authorities
+	 * @return <code>true</code> if principal and authorities are the same
+	 */
+	public boolean isValidFor(String pPrincipal, String pAuthorities)
+	{
+		return (principal == null ? pPrincipal == null : principal.equals(pPrincipal))
+			   && authorities.equals(pAuthorities);
+	}
+
+	/**
+	 * Gets the name of the authenticated principal.
+	 * 
+	 * @return the name
+	 */
+	public String getPrincipal()
+	{
+		return principal;
+	}
+
+	/**
+	 * Gets the key of the granted authorities.
+	 * 
+	 * @return the key
+	 */
+	public String getAuthorities()
+	{
+		return authorities;
+	}
+
+	/**
+	 * Gets the metadata handler.
+	 * 
+	 * @return the handler
+	 */
+	public ISpringMetaDataHandler getMetaDataHandler()
+	{
+		return metaDataHandler;
+	}
+
+	/**
+	 * Gets the roles of the metadata handler. The roles will be resolved only once.
+	 * 
+	 * @return the shared roles or <code>null</code>
+	 */
+	public String[] getRoles()
+	{
+		if (!rolesResolved)
+		{
+			roles = metaDataHandler.getRoles();
+			rolesResolved = true;
+		}
+
+		return roles;
+	}
+
+	/**
+	 * Gets the work-screens of the metadata handler. The work-screens will be resolved only once.
+	 * 
+	 * @return the shared work-screens or <code>null</code>
+	 */
+	public String[][] getWorkScreens()
+	{
+		if (!workScreensResolved)
+		{
+			workScreens = metaDataHandler.getWorkScreens();
+			workScreensResolved = true;
+		}
+
+		return workScreens;
+	}
+
+	/**
+	 * Gets the metadata of the metadata handler. The metadata will be resolved only once.
+	 * 
+	 * @return the shared metadata or <code>null</code>
+	 */
+	public Hashtable<String, MetaData> getMetaData()
+	{
+		if (!metaDataResolved)
+		{
+			metaData = metaDataHandler.getMetaData();
+			metaDataResolved = true;
+		}
+
+		return metaData;
+	}
+
+	/**
+	 * Gets the client profile.
+	 * 
+	 * @return the profile
+	 */
+	public ClientProfile getProfile()
+	{
+		return profile;
+	}
+
+	/**
+	 * Gets the resume token.
+	 * 
+	 * @return the token or <code>null</code> if resume tokens are not configured
+	 */
+	public String getResumeToken()
+	{
+		return resumeToken;
+	}
+
+	/**
+	 * Gets the logout process url.
+	 * 
+	 * @return the url or <code>null</code>
+	 */
+	public Object getLogoutProcessUrl()
+	{
+		return logoutProcessUrl;
+	}
+
+	/**
+	 * Gets the id of the idle session whose metadata handler was taken over. A resumed session which is
+	 * still used by a client isn't available, because it is left to expire via its alive check.
+	 * 
+	 * @return the session id or <code>null</code> if no idle session was resumed
+	 */
+	public Object getResumedSessionId()
+	{
+		return resumedSessionId;
+	}
+
+} // SessionSecurityState
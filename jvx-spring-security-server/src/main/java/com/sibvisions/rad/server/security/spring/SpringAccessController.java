@@ -0,0 +1,405 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ * 19.10.2026 - [TK] - lazy life-cycle objects of work-screens
+ * 19.10.2026 - [TK] - prepareWorkScreenAccess
+ * 19.10.2026 - [TK] - publish work-screen life-cycle objects at once
+ */
+package com.sibvisions.rad.server.security.spring;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.sibvisions.rad.server.security.DefaultAccessController;
+import com.sibvisions.rad.server.security.spring.handler.DefaultAuthenticationMetaDataHandler;
+import com.sibvisions.rad.server.security.spring.handler.ISpringMetaDataHandler;
+import com.sibvisions.rad.server.security.spring.handler.SnapshotMetaDataHandler;
+import com.sibvisions.util.ArrayUtil;
+import com.sibvisions.util.xml.XmlNode;
+
+/**
+ * The <code>SpringAccessController</code> allows the access to life-cycle objects based on the roles
+ * of the spring security authentication. The rules will be configured in the <code>securitymanager</code>
+ * node:
+ * 
+ * <pre>
+ * &lt;securitymanager&gt;
+ *   &lt;accesscontroller&gt;
+ *     &lt;lifecycleobject&gt;
+ *       &lt;name&gt;com.sibvisions.apps.customers.*&lt;/name&gt;
+ *       &lt;roles&gt;User, Administrator&lt;/roles&gt;
+ *     &lt;/lifecycleobject&gt;
+ *   &lt;/accesscontroller&gt;
+ * &lt;/securitymanager&gt;
+ * </pre>
+ * 
+ * A name ending with <code>*</code> matches all life-cycle objects with the given prefix, the role
+ * <code>*</code> matches all users. Life-cycle objects added with {@link #addAccess(String)} are
+ * always allowed.
+ * 
+ * The decisions are cached per role set and life-cycle object name, shared by all sessions with the
+ * same roles. The cache will be discarded if the configuration changes.
+ * 
+ * @author Thomas Krautinger
+ */
+public class SpringAccessController extends DefaultAccessController
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Constants
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the configuration path of the access controller. */
+	public static final String CONFIG_PATH = "/application/securitymanager/accesscontroller";
+
+	/** the maximum number of cached role sets per configuration. */
+	private static final int MAX_CACHED_ROLESETS = 1000;
+
+	/** the maximum number of cached decisions per role set. */
+	private static final int MAX_CACHED_DECISIONS = 5000;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the compiled rules per configuration node. */
+	private static final Map<XmlNode, Rules> RULES = new WeakHashMap<XmlNode, Rules>();
+
+	/** the rules. */
+	private Rules rules;
+
+	/** the roles. */
+	private String[] roles;
+
+	/** the cached decisions for the role set. */
+	private ConcurrentHashMap<String, Boolean> decisions;
+
+	/** the metadata handler with the work-screens whose life-cycle objects are not yet resolved. */
+	private volatile ISpringMetaDataHandler workScreenHandler;
+
+	/** the resolved life-cycle objects of the work-screens, published once and never modified. */
+	private volatile Set<String> workScreenObjects;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates a new instance of <code>SpringAccessController</code>.
+	 * 
+	 * @param pConfig the access controller configuration node
+	 * @param pRoles the roles of the user
+	 */
+	public SpringAccessController(XmlNode pConfig, String[] pRoles)
+	{
+		synchronized (RULES)
+		{
+			rules = RULES.get(pConfig);
+
+			if (rules == null)
+			{
+				rules = new Rules(pConfig);
+
+				RULES.put(pConfig, rules);
+			}
+		}
+
+		if (pRoles == null)
+		{
+			roles = new String[0];
+		}
+		else
+		{
+			roles = pRoles.clone();
+
+			Arrays.sort(roles);
+		}
+
+		decisions = rules.getDecisions(roles);
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Overwritten methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isAllowed(String pLifeCycleName)
+	{
+		if (pLifeCycleName == null)
+		{
+			return false;
+		}
+
+		if (super.isAllowed(pLifeCycleName))
+		{
+			return true;
+		}
+
+		if (workScreenHandler != null)
+		{
+			resolveWorkScreenAccess();
+		}
+
+		Set<String> setWorkScreenObjects = workScreenObjects;
+
+		if (setWorkScreenObjects != null
+			&& setWorkScreenObjects.contains(pLifeCycleName))
+		{
+			return true;
+		}
+
+		if (decisions == null)
+		{
+			return rules.isAllowed(roles, pLifeCycleName);
+		}
+
+		Boolean bAllowed = decisions.get(pLifeCycleName);
+
+		if (bAllowed == null)
+		{
+			bAllowed = Boolean.valueOf(rules.isAllowed(roles, pLifeCycleName));
+
+			if (decisions.size() < MAX_CACHED_DECISIONS)
+			{
+				decisions.put(pLifeCycleName, bAllowed);
+			}
+		}
+
+		return bAllowed.booleanValue();
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Sets the metadata handler whose work-screen life-cycle objects are always allowed. The work-screens
+	 * will be resolved on the first check of a life-cycle object which is not allowed otherwise.
+	 * 
+	 * @param pMetaDataHandler the metadata handler
+	 */
+	public void setWorkScreenAccess(ISpringMetaDataHandler pMetaDataHandler)
+	{
+		workScreenHandler = pMetaDataHandler;
+	}
+
+	/**
+	 * Resolves the work-screen life-cycle objects of the metadata handler immediately instead of on first
+	 * use.
+	 */
+	public void prepareWorkScreenAccess()
+	{
+		if (workScreenHandler != null)
+		{
+			resolveWorkScreenAccess();
+		}
+	}
+
+	/**
+	 * Resolves the life-cycle objects of the work-screens of the metadata handler. The life-cycle objects
+	 * are collected first and published at once, because the list of {@link DefaultAccessController} is
+	 * read without synchronization.
+	 */
+	private synchronized void resolveWorkScreenAccess()
+	{
+		ISpringMetaDataHandler handler = workScreenHandler;
+
+		if (handler == null)
+		{
+			// resolved by another thread
+			return;
+		}
+
+		String[] sLifeCycleObjects = null;
+
+		if (handler instanceof DefaultAuthenticationMetaDataHandler)
+		{
+			sLifeCycleObjects = ((DefaultAuthenticationMetaDataHandler) handler).getLifecycleObjects();
+		}
+		else if (handler instanceof SnapshotMetaDataHandler)
+		{
+			sLifeCycleObjects = ((SnapshotMetaDataHandler) handler).getLifecycleObjects();
+		}
+
+		if (sLifeCycleObjects != null
+			&& sLifeCycleObjects.length > 0)
+		{
+			workScreenObjects = new HashSet<String>(Arrays.asList(sLifeCycleObjects));
+		}
+
+		workScreenHandler = null;
+	}
+
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+
+	/**
+	 * The <code>Rules</code> are the compiled access rules of one configuration.
+	 * 
+	 * @author Thomas Krautinger
+	 */
+	private static final class Rules
+	{
+		/** the life-cycle object names or prefixes. */
+		private String[] names;
+
+		/** whether the name is a prefix. */
+		private boolean[] prefix;
+
+		/** the roles per rule. */
+		private String[][] ruleRoles;
+
+		/** the cached decisions per role set fingerprint. */
+		private ConcurrentHashMap<String, ConcurrentHashMap<String, Boolean>> decisions = new ConcurrentHashMap<String, ConcurrentHashMap<String, Boolean>>();
+
+		/**
+		 * Creates a new instance of <code>Rules</code>.
+		 * 
+		 * @param pConfig the access controller configuration node
+		 */
+		private Rules(XmlNode pConfig)
+		{
+			List<XmlNode> liNodes = pConfig.getNodes("/lifecycleobject");
+
+			int iCount = liNodes == null ? 0 : liNodes.size();
+
+			names = new String[iCount];
+			prefix = new boolean[iCount];
+			ruleRoles = new String[iCount][];
+
+			for (int i = 0; i < iCount; i++)
+			{
+				XmlNode node = liNodes.get(i);
+
+				String sName = node.getNodeValue("/name");
+
+				if (sName == null)
+				{
+					throw new IllegalArgumentException("Life-cycle object rule without name found at line " + node.getLineNumber());
+				}
+
+				sName = sName.trim();
+
+				if (sName.endsWith("*"))
+				{
+					names[i] = sName.substring(0, sName.length() - 1);
+					prefix[i] = true;
+				}
+				else
+				{
+					names[i] = sName;
+				}
+
+				ArrayUtil<String> auRoles = new ArrayUtil<String>();
+
+				String sRoles = node.getNodeValue("/roles");
+
+				if (sRoles != null)
+				{
+					String[] sRole = sRoles.split(",");
+
+					for (int j = 0; j < sRole.length; j++)
+					{
+						String sRoleName = sRole[j].trim();
+
+						if (sRoleName.length() > 0)
+						{
+							auRoles.add(sRoleName);
+						}
+					}
+				}
+
+				ruleRoles[i] = auRoles.toArray(new String[auRoles.size()]);
+			}
+		}
+
+		/**
+		 * Gets the decision cache for the given role set.
+		 * 
+		 * @param pRoles the sorted roles
+		 * @return the decision cache or <code>null</code> if the cache is full
+		 */
+		private ConcurrentHashMap<String, Boolean> getDecisions(String[] pRoles)
+		{
+			StringBuilder sbFingerprint = new StringBuilder();
+
+			for (int i = 0; i < pRoles.length; i++)
+			{
+				sbFingerprint.append(pRoles[i]);
+				sbFingerprint.append('\u0000');
+			}
+
+			String sFingerprint = sbFingerprint.toString();
+
+			ConcurrentHashMap<String, Boolean> chmDecisions = decisions.get(sFingerprint);
+
+			if (chmDecisions == null
+				&& decisions.size() < MAX_CACHED_ROLESETS)
+			{
+				chmDecisions = new ConcurrentHashMap<String, Boolean>();
+
+				ConcurrentHashMap<String, Boolean> chmOld = decisions.putIfAbsent(sFingerprint, chmDecisions);
+
+				if (chmOld != null)
+				{
+					chmDecisions = chmOld;
+				}
+			}
+
+			return chmDecisions;
+		}
+
+		/**
+		 * Checks all rules for the given life-cycle object.
+		 * 
+		 * @param pRoles the sorted roles
+		 * @param pLifeCycleName the life-cycle object name
+		 * @return <code>true</code> if one of the roles is allowed to access the life-cycle object
+		 */
+		private boolean isAllowed(String[] pRoles, String pLifeCycleName)
+		{
+			for (int i = 0; i < names.length; i++)
+			{
+				if (prefix[i] ? pLifeCycleName.startsWith(names[i]) : pLifeCycleName.equals(names[i]))
+				{
+					for (int j = 0; j < ruleRoles[i].length; j++)
+					{
+						if ("*".equals(ruleRoles[i][j])
+							|| Arrays.binarySearch(pRoles, ruleRoles[i][j]) >= 0)
+						{
+							return true;
+						}
+					}
+				}
+			}
+
+			return false;
+		}
+
+	}	// Rules
+
+} // SpringAccessController
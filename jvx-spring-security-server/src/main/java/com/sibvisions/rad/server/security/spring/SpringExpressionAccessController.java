@@ -0,0 +1,443 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring;
+
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import jvx.rad.remote.IConnectionConstants;
+import jvx.rad.server.AbstractObjectProvider;
+import jvx.rad.server.IConfiguration;
+import jvx.rad.server.ISession;
+
+import org.springframework.expression.EvaluationException;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.security.access.expression.SecurityExpressionRoot;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.sibvisions.rad.server.security.IObjectAccessController;
+import com.sibvisions.rad.server.security.spring.handler.ISpringMetaDataHandler;
+import com.sibvisions.util.ArrayUtil;
+import com.sibvisions.util.xml.XmlNode;
+
+/**
+ * The <code>SpringExpressionAccessController</code> is an {@link IObjectAccessController} that checks
+ * the access to objects and actions with spring expressions. The expressions will be configured in the
+ * <code>securitymanager</code> node of the application:
+ * 
+ * <pre>
+ * &lt;securitymanager&gt;
+ *   &lt;expressions&gt;
+ *     &lt;rule&gt;
+ *       &lt;object&gt;customers&lt;/object&gt;
+ *       &lt;action&gt;delete&lt;/action&gt;
+ *       &lt;access&gt;hasRole('Admin') and principal.department == 'X'&lt;/access&gt;
+ *     &lt;/rule&gt;
+ *   &lt;/expressions&gt;
+ * &lt;/securitymanager&gt;
+ * </pre>
+ * 
+ * A rule without action checks the object access, an object name ending with <code>*</code> matches all
+ * objects with the given prefix. Objects and actions without rule are allowed. The expressions support
+ * the spring security expressions and <code>isInRole(...)</code> for the mapped roles of the session.
+ * 
+ * The controller will be configured in the server configuration:
+ * 
+ * <pre>
+ * &lt;objectprovider&gt;
+ *   &lt;accesscontroller&gt;com.sibvisions.rad.server.security.spring.SpringExpressionAccessController&lt;/accesscontroller&gt;
+ * &lt;/objectprovider&gt;
+ * </pre>
+ * 
+ * The expressions will be parsed only once per configuration. The parsed expressions cache the resolved
+ * properties and methods, so that subsequent evaluations don't need reflective lookups.
+ * 
+ * @author Thomas Krautinger
+ */
+public class SpringExpressionAccessController implements IObjectAccessController
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Constants
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the configuration path of the expressions. */
+	public static final String CONFIG_PATH = "/application/securitymanager/expressions";
+
+	/** the key for the metadata handler.  */
+	private static final String METADATA_HANDLER_PROPERTY = IConnectionConstants.PREFIX_SERVER + "preauthentication.metadatahandler";
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the parsed rules per configuration node. */
+	private static final Map<XmlNode, Rules> RULES = new WeakHashMap<XmlNode, Rules>();
+
+	/** the expression parser. */
+	private static final ExpressionParser PARSER = new SpelExpressionParser();
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Interface implementation
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@SuppressWarnings("rawtypes")
+	public boolean isObjectAccessAllowed(AbstractObjectProvider pObjectProvider, ISession pSession, Map pParentObject, String pName, Object pObject)
+	{
+		return isAllowed(pSession, pName, null);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public boolean isMethodInvocationAllowed(AbstractObjectProvider pObjectProvider, ISession pSession, String pObjectName, Object pObject, String pMethod, Object... pParams)
+	{
+		return isAllowed(pSession, pObjectName, pMethod);
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Checks whether the access to an object or an action is allowed.
+	 * 
+	 * @param pSession the session
+	 * @param pObjectName the object name
+	 * @param pAction the action or <code>null</code> for the object access
+	 * @return <code>true</code> if the access is allowed
+	 */
+	protected boolean isAllowed(ISession pSession, String pObjectName, String pAction)
+	{
+		if (pSession == null
+			|| pObjectName == null)
+		{
+			return true;
+		}
+
+		Rules rules = getRules(pSession.getConfig());
+
+		if (rules == null)
+		{
+			return true;
+		}
+
+		Expression expression = rules.find(pObjectName, pAction);
+
+		if (expression == null)
+		{
+			return true;
+		}
+
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+		if (authentication == null)
+		{
+			return false;
+		}
+
+		ExpressionRoot root = new ExpressionRoot(authentication, (ISpringMetaDataHandler) pSession.getProperty(METADATA_HANDLER_PROPERTY),
+				                                 pSession.getLifeCycleName(), pObjectName, pAction);
+
+		try
+		{
+			return Boolean.TRUE.equals(expression.getValue(new StandardEvaluationContext(root), Boolean.class));
+		}
+		catch (EvaluationException ee)
+		{
+			throw new SecurityException("Access denied! Cannot evaluate '" + expression.getExpressionString() + "'", ee);
+		}
+	}
+
+	/**
+	 * Gets the parsed rules of the given configuration.
+	 * 
+	 * @param pConfig the application configuration
+	 * @return the rules or <code>null</code> if no expressions are configured
+	 */
+	static Rules getRules(IConfiguration pConfig)
+	{
+		if (pConfig == null)
+		{
+			return null;
+		}
+
+		XmlNode node = pConfig.getNode(CONFIG_PATH);
+
+		if (node == null)
+		{
+			return null;
+		}
+
+		// a changed configuration is a new node
+		synchronized (RULES)
+		{
+			Rules rules = RULES.get(node);
+
+			if (rules == null)
+			{
+				rules = new Rules(node);
+
+				RULES.put(node, rules);
+			}
+
+			return rules;
+		}
+	}
+
+	/**
+	 * Parses an access expression.
+	 * 
+	 * @param pExpression the expression
+	 * @return the parsed expression
+	 */
+	public static Expression parse(String pExpression)
+	{
+		return PARSER.parseExpression(pExpression);
+	}
+
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+
+	/**
+	 * The <code>Rules</code> are the parsed expressions of one configuration.
+	 * 
+	 * @author Thomas Krautinger
+	 */
+	static final class Rules
+	{
+		/** the expressions per object name or object name and action. */
+		private Hashtable<String, Expression> htExact = new Hashtable<String, Expression>();
+
+		/** the object name prefixes. */
+		private ArrayUtil<String> auPrefix = new ArrayUtil<String>();
+
+		/** the actions of the prefix rules. */
+		private ArrayUtil<String> auPrefixAction = new ArrayUtil<String>();
+
+		/** the expressions of the prefix rules. */
+		private ArrayUtil<Expression> auPrefixExpression = new ArrayUtil<Expression>();
+
+		/**
+		 * Creates a new instance of <code>Rules</code>.
+		 * 
+		 * @param pConfig the expressions configuration node
+		 */
+		private Rules(XmlNode pConfig)
+		{
+			List<XmlNode> liNodes = pConfig.getNodes("/rule");
+
+			if (liNodes != null)
+			{
+				for (int i = 0, ic = liNodes.size(); i < ic; i++)
+				{
+					XmlNode node = liNodes.get(i);
+
+					String sObject = node.getNodeValue("/object");
+					String sAction = node.getNodeValue("/action");
+					String sAccess = node.getNodeValue("/access");
+
+					if (sObject == null
+						|| sAccess == null)
+					{
+						throw new IllegalArgumentException("Expression rule without object or access found at line " + node.getLineNumber());
+					}
+
+					Expression expression = parse(sAccess.trim());
+
+					sObject = sObject.trim();
+
+					if (sObject.endsWith("*"))
+					{
+						auPrefix.add(sObject.substring(0, sObject.length() - 1));
+						auPrefixAction.add(sAction == null ? null : sAction.trim());
+						auPrefixExpression.add(expression);
+					}
+					else
+					{
+						htExact.put(getKey(sObject, sAction == null ? null : sAction.trim()), expression);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Finds the expression for an object or an action.
+		 * 
+		 * @param pObjectName the object name
+		 * @param pAction the action or <code>null</code>
+		 * @return the expression or <code>null</code> if no rule was found
+		 */
+		Expression find(String pObjectName, String pAction)
+		{
+			Expression expression = htExact.get(getKey(pObjectName, pAction));
+
+			if (expression != null)
+			{
+				return expression;
+			}
+
+			for (int i = 0, ic = auPrefix.size(); i < ic; i++)
+			{
+				String sAction = auPrefixAction.get(i);
+
+				if ((sAction == null ? pAction == null : sAction.equals(pAction))
+					&& pObjectName.startsWith(auPrefix.get(i)))
+				{
+					return auPrefixExpression.get(i);
+				}
+			}
+
+			return null;
+		}
+
+		/**
+		 * Gets the lookup key for an object or an action.
+		 * 
+		 * @param pObjectName the object name
+		 * @param pAction the action or <code>null</code>
+		 * @return the key
+		 */
+		private static String getKey(String pObjectName, String pAction)
+		{
+			if (pAction == null)
+			{
+				return pObjectName;
+			}
+
+			return pObjectName + "#" + pAction;
+		}
+
+	}	// Rules
+
+	/**
+	 * The <code>ExpressionRoot</code> is the root object of the access expressions.
+	 * 
+	 * @author Thomas Krautinger
+	 */
+	public static class ExpressionRoot extends SecurityExpressionRoot
+	{
+		/** the metadata handler. */
+		private ISpringMetaDataHandler metaDataHandler;
+
+		/** the life-cycle name. */
+		private String lifeCycleName;
+
+		/** the object name. */
+		private String objectName;
+
+		/** the action. */
+		private String action;
+
+		/**
+		 * Creates a new instance of <code>ExpressionRoot</code>.
+		 * 
+		 * @param pAuthentication the authentication
+		 * @param pMetaDataHandler the metadata handler of the session
+		 * @param pLifeCycleName the life-cycle name of the session
+		 * @param pObjectName the object name
+		 * @param pAction the action
+		 */
+		public ExpressionRoot(Authentication pAuthentication, ISpringMetaDataHandler pMetaDataHandler,
+				              String pLifeCycleName, String pObjectName, String pAction)
+		{
+			super(pAuthentication);
+
+			setTrustResolver(new AuthenticationTrustResolverImpl());
+
+			metaDataHandler = pMetaDataHandler;
+			lifeCycleName = pLifeCycleName;
+			objectName = pObjectName;
+			action = pAction;
+		}
+
+		/**
+		 * Gets whether the user has the given role, after role mapping.
+		 * 
+		 * @param pRole the role name
+		 * @return <code>true</code> if the user has the role
+		 */
+		public boolean isInRole(String pRole)
+		{
+			if (metaDataHandler == null)
+			{
+				return false;
+			}
+
+			String[] sRoles = metaDataHandler.getRoles();
+
+			if (sRoles != null)
+			{
+				for (int i = 0; i < sRoles.length; i++)
+				{
+					if (sRoles[i].equals(pRole))
+					{
+						return true;
+					}
+				}
+			}
+
+			return false;
+		}
+
+		/**
+		 * Gets the life-cycle name of the session.
+		 * 
+		 * @return the life-cycle name
+		 */
+		public String getLifeCycleName()
+		{
+			return lifeCycleName;
+		}
+
+		/**
+		 * Gets the object name.
+		 * 
+		 * @return the object name
+		 */
+		public String getObjectName()
+		{
+			return objectName;
+		}
+
+		/**
+		 * Gets the action.
+		 * 
+		 * @return the action or <code>null</code> for the object access
+		 */
+		public String getAction()
+		{
+			return action;
+		}
+
+	}	// ExpressionRoot
+
+} // SpringExpressionAccessController
@@ -17,27 +17,60 @@
  * History
  * 
  * 04.02.2015 - [TK] - creation
+ * 19.10.2026 - [TK] - role based access controller
+ * 19.10.2026 - [TK] - life-cycle objects of the snapshot metadata handler
+ * 19.10.2026 - [TK] - audit log
+ * 19.10.2026 - [TK] - resume tokens
+ * 19.10.2026 - [TK] - client profile
+ * 19.10.2026 - [TK] - bearer token metadata handler
+ * 19.10.2026 - [TK] - atomic publish of the session security state
+ * 19.10.2026 - [TK] - sub sessions share the state of the master session
+ * 19.10.2026 - [TK] - binds master sessions to the http session for the session reaper
+ * 19.10.2026 - [TK] - metadata handler factories
+ * 19.10.2026 - [TK] - soft references to cached constructors
+ * 19.10.2026 - [TK] - destroys idle resumed sessions
+ * 19.10.2026 - [TK] - configurable factories per principal type
  */
 package com.sibvisions.rad.server.security.spring;
 
+import java.lang.ref.SoftReference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import jvx.rad.remote.IConnectionConstants;
+import jvx.rad.server.IConfiguration;
 import jvx.rad.server.ISession;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
 
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
 
 import com.sibvisions.rad.server.AbstractSession;
+import com.sibvisions.rad.server.DefaultSessionManager;
+import com.sibvisions.rad.server.ISubSession;
+import com.sibvisions.rad.server.Server;
 import com.sibvisions.rad.server.http.HttpContext;
 import com.sibvisions.rad.server.security.IAccessController;
 import com.sibvisions.rad.server.security.ISecurityManager;
+import com.sibvisions.rad.server.security.spring.audit.AuditLog;
+import com.sibvisions.rad.server.security.spring.bearer.JwtClaims;
 import com.sibvisions.rad.server.security.spring.handler.DefaultAuthenticationMetaDataHandler;
+import com.sibvisions.rad.server.security.spring.handler.IMetaDataHandlerFactory;
 import com.sibvisions.rad.server.security.spring.handler.ISpringMetaDataHandler;
+import com.sibvisions.rad.server.security.spring.handler.MetaDataHandlerFactories;
+import com.sibvisions.rad.server.security.spring.jfr.MetaDataHandlerEvent;
+import com.sibvisions.rad.server.security.spring.jfr.ValidateAuthenticationEvent;
+import com.sibvisions.rad.server.security.spring.logout.SessionReaper;
 import com.sibvisions.util.Reflective;
 import com.sibvisions.util.type.ResourceUtil;
 import com.sibvisions.util.xml.XmlNode;
@@ -50,6 +83,13 @@ import com.sibvisions.util.xml.XmlNode;
  */
 public class SpringSecurityManager implements ISecurityManager
 {
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/** the resolved metadata handler constructors per class loader and class name, softly referenced because the constructors reference the class loader. */
+	private static final Map<ClassLoader, Hashtable<String, SoftReference<Constructor<?>>>> CONSTRUCTORS = new WeakHashMap<ClassLoader, Hashtable<String, SoftReference<Constructor<?>>>>();
+	
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// Interface implementation
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -58,6 +98,56 @@ public class SpringSecurityManager implements ISecurityManager
 	 * {@inheritDoc}
 	 */
 	public void validateAuthentication(ISession pSession)
+	{
+		ValidateAuthenticationEvent event = new ValidateAuthenticationEvent();
+		event.begin();
+		
+		String outcome = "error";
+		
+		try
+		{
+			validateAuthenticationIntern(pSession);
+			
+			outcome = "success";
+		}
+		catch (SecurityException se)
+		{
+			outcome = "denied";
+			
+			throw se;
+		}
+		finally
+		{
+			if (AuditLog.isActive())
+			{
+				Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+				
+				AuditLog.record(AuditLog.SESSION_VALIDATION, authentication == null ? null : authentication.getName(), pSession.getId(), outcome);
+			}
+			
+			if (event.shouldCommit())
+			{
+				Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+				
+				if (authentication != null)
+				{
+					event.principalHash = authentication.getName() == null ? 0 : authentication.getName().hashCode();
+					event.roleCount = authentication.getAuthorities() == null ? 0 : authentication.getAuthorities().size();
+				}
+				
+				event.lifeCycleName = pSession.getLifeCycleName();
+				event.outcome = outcome;
+				event.commit();
+			}
+		}
+	}
+	
+	/**
+	 * Validates the authentication of the given session against the current spring security context.
+	 * 
+	 * @param pSession the session
+	 */
+	private void validateAuthenticationIntern(ISession pSession)
 	{
 		SecurityContext securityContext = SecurityContextHolder.getContext();
 		
@@ -68,49 +158,83 @@ public class SpringSecurityManager implements ISecurityManager
 			if (authentication != null
 				&& authentication.isAuthenticated())
 			{
-				Hashtable<String, Object> metadataProperties = new Hashtable<String, Object>();
-				metadataProperties.put("authentication", authentication);
+				String principal = authentication.getName();
+				String authorities = getAuthoritiesKey(authentication);
 				
-				ISpringMetaDataHandler metaDataHandler = getAuthenticationMetaDataHandler(metadataProperties, pSession);
+				SessionSecurityState state = SessionSecurityState.get(pSession);
 				
-				if (pSession instanceof AbstractSession)
+				// repeated or concurrent validations with the same authentication reuse the published state
+				if (state == null
+					|| !state.isValidFor(principal, authorities))
 				{
-					((AbstractSession) pSession).setUserName(metaDataHandler.getUsername());
-					((AbstractSession) pSession).setPassword(metaDataHandler.getPassword());
+					SessionSecurityState masterState = null;
+					
+					// sub sessions share the state of the master session
+					if (pSession instanceof ISubSession
+						&& ((ISubSession) pSession).getMasterSession() != null)
+					{
+						masterState = SessionSecurityState.get(((ISubSession) pSession).getMasterSession());
+					}
+					
+					if (masterState != null
+						&& masterState.isValidFor(principal, authorities))
+					{
+						state = masterState.publish(pSession, state);
+					}
+					else
+					{
+						SessionSecurityState created = createSecurityState(pSession, authentication, principal, authorities);
+						
+						state = created.publish(pSession, state);
+						
+						// the resumed session was taken over and is not needed anymore
+						if (state == created
+							&& created.getResumedSessionId() != null)
+						{
+							destroyResumedSession(created.getResumedSessionId());
+						}
+					}
 				}
 				
-				pSession.setProperty(IConnectionConstants.PREFIX_SERVER + "preauthentication.metadatahandler", metaDataHandler);
-				
-				if (!(authentication instanceof WrappedAuthentication))
+				if (pSession instanceof AbstractSession)
 				{
-					authentication = new WrappedAuthentication(authentication);
-					SecurityContextHolder.getContext().setAuthentication(authentication);
+					((AbstractSession) pSession).setUserName(state.getMetaDataHandler().getUsername());
+					((AbstractSession) pSession).setPassword(state.getMetaDataHandler().getPassword());
 				}
 				
-				// set the jvx session id into the authentication object for the logout (success) handler
-				((WrappedAuthentication) authentication).setProperty(IConnectionConstants.PREFIX_CLIENT + "sessionid", pSession.getId());
+				WrappedAuthentication wrappedAuthentication;
 				
-				// set the logout process url
-				Object logoutProcessUrl = ((WrappedAuthentication) authentication).getProperty(IConnectionConstants.PREFIX_CLIENT + "logout.process.url");
-				
-				if (logoutProcessUrl == null)
+				// the context is shared by all requests of the http session
+				synchronized (securityContext)
 				{
-					HttpContext context = HttpContext.getCurrentInstance();
+					authentication = securityContext.getAuthentication();
 					
-					if (context != null)
+					if (authentication instanceof WrappedAuthentication)
 					{
-						HttpSession session = ((HttpServletRequest) context.getRequest()).getSession(false);
-						
-						if (session != null)
-						{
-							pSession.setProperty(IConnectionConstants.PREFIX_CLIENT + "logout.process.url",
-												 session.getAttribute(IConnectionConstants.PREFIX_CLIENT + "logout.process.url"));
-						}
-						
+						wrappedAuthentication = (WrappedAuthentication) authentication;
+					}
+					else
+					{
+						wrappedAuthentication = new WrappedAuthentication(authentication);
+						securityContext.setAuthentication(wrappedAuthentication);
 					}
 				}
 				
-				pSession.setProperty(IConnectionConstants.PREFIX_CLIENT + "logout.process.url", logoutProcessUrl);
+				// set the jvx session id into the authentication object for the logout (success) handler,
+				// sub sessions don't replace the id of the master session
+				if (pSession instanceof ISubSession)
+				{
+					wrappedAuthentication.setPropertyIfAbsent(IConnectionConstants.PREFIX_CLIENT + "sessionid", pSession.getId());
+				}
+				else
+				{
+					wrappedAuthentication.setProperty(IConnectionConstants.PREFIX_CLIENT + "sessionid", pSession.getId());
+					
+					if (SessionReaper.isActive())
+					{
+						bindHttpSession(pSession, securityContext, principal);
+					}
+				}
 			}
 			else
 			{
@@ -149,7 +273,46 @@ public class SpringSecurityManager implements ISecurityManager
 	 */
 	public IAccessController getAccessController(ISession pSession) throws Exception
 	{
-		return null;
+		XmlNode config = pSession.getConfig().getNode(SpringAccessController.CONFIG_PATH);
+		
+		if (config == null)
+		{
+			return null;
+		}
+		
+		SessionSecurityState state = SessionSecurityState.get(pSession);
+		
+		ISpringMetaDataHandler metaDataHandler;
+		Object profile;
+		
+		if (state != null)
+		{
+			metaDataHandler = state.getMetaDataHandler();
+			profile = state.getProfile();
+		}
+		else
+		{
+			metaDataHandler = (ISpringMetaDataHandler) pSession.getProperty(IConnectionConstants.PREFIX_SERVER + "preauthentication.metadatahandler");
+			profile = pSession.getProperty(IConnectionConstants.PREFIX_SERVER + "spring.profile");
+		}
+		
+		if (metaDataHandler == null)
+		{
+			throw new SecurityException("Access denied! The authentication could not be established.");
+		}
+		
+		SpringAccessController controller = new SpringAccessController(config, state != null ? state.getRoles() : metaDataHandler.getRoles());
+		
+		controller.setWorkScreenAccess(metaDataHandler);
+		
+		// life-cycle objects of work-screens are always allowed, but resolved on first use if the client profile doesn't need the work-screens
+		if (!(profile instanceof ClientProfile)
+			|| ((ClientProfile) profile).isWorkScreens())
+		{
+			controller.prepareWorkScreenAccess();
+		}
+		
+		return controller;
 	}
 
 	/**
@@ -173,16 +336,31 @@ public class SpringSecurityManager implements ISecurityManager
 	 * @return the authentication meta data handler
 	 */
 	protected ISpringMetaDataHandler getAuthenticationMetaDataHandler(Hashtable<String, Object> pProperties, ISession pSession)
+	{
+		return getAuthenticationMetaDataHandler(pProperties, pSession.getConfig());
+	}
+	
+	/**
+	 * Creates and return the authentication meta data handler.
+	 * 
+	 * @param pProperties properties for the authentication meta data handler
+	 * @param pConfig the application configuration
+	 * 
+	 * @return the authentication meta data handler
+	 */
+	protected ISpringMetaDataHandler getAuthenticationMetaDataHandler(Hashtable<String, Object> pProperties, IConfiguration pConfig)
 	{
 		Hashtable<String, Object> properties = pProperties;
 		
-		if (pProperties == null)
+		if (properties == null)
 		{
-			pProperties = new Hashtable<String, Object>();
+			properties = new Hashtable<String, Object>();
 		}
 		
+		properties.put("configuration", pConfig);
+		
 		// append additional configuration properties
-		List<XmlNode> propertiesNode = pSession.getConfig().getNodes("/application/securitymanager/preauhtentication/metadtahandler/properties/property");
+		List<XmlNode> propertiesNode = pConfig.getNodes("/application/securitymanager/preauhtentication/metadtahandler/properties/property");
 		
 		if (propertiesNode != null)
 		{
@@ -201,24 +379,501 @@ public class SpringSecurityManager implements ISecurityManager
 			}
 		}
 		
-		// create metadata handler class instance
-		String className = pSession.getConfig().getProperty("/application/securitymanager/preauhtentication/metadtahandler/class");
+		// create metadata handler with a registered factory or the handler class
+		String factoryName = pConfig.getProperty("/application/securitymanager/preauhtentication/metadtahandler/name");
+		String className = pConfig.getProperty("/application/securitymanager/preauhtentication/metadtahandler/class");
 		
-		if (className == null)
+		if (factoryName == null
+			&& className == null
+			&& properties.get("authentication") instanceof Authentication)
 		{
-			return new DefaultAuthenticationMetaDataHandler(properties);
+			factoryName = getPrincipalFactoryName(((Authentication) properties.get("authentication")).getPrincipal(), pConfig);
 		}
-		else
+		
+		MetaDataHandlerEvent event = new MetaDataHandlerEvent();
+		event.begin();
+		
+		String outcome = "error";
+		
+		ISpringMetaDataHandler handler = null;
+		
+		try
 		{
 			try
 			{
-				return (ISpringMetaDataHandler) Reflective.construct(ResourceUtil.getResourceClassLoader(this), className, properties);
+				handler = createMetaDataHandler(factoryName, className, properties);
+			}
+			catch (InvocationTargetException ite)
+			{
+				throw new SecurityException("Access denied! Cannot create spring metadata handler.", ite.getCause());
+			}
+			catch (SecurityException se)
+			{
+				throw se;
 			}
 			catch (Throwable thr)
 			{
 				throw new SecurityException("Access denied! Cannot create spring metadata handler.", thr);
 			}
+			
+			outcome = "success";
+			
+			return handler;
 		}
+		finally
+		{
+			if (event.shouldCommit())
+			{
+				if (handler != null)
+				{
+					event.handlerClass = handler.getClass().getName();
+				}
+				else
+				{
+					event.handlerClass = className != null ? className : factoryName != null ? factoryName : DefaultAuthenticationMetaDataHandler.class.getName();
+				}
+				
+				event.outcome = outcome;
+				event.commit();
+			}
+		}
+	}
+	
+	/**
+	 * Binds the session to the http session of the current request, for the {@link SessionReaper}. The
+	 * session will be bound only if the security context is stored in the http session. Request scoped
+	 * contexts, e.g. of pre-authentication or bearer token filters, don't depend on the http session.
+	 * 
+	 * @param pSession the session
+	 * @param pSecurityContext the current security context
+	 * @param pPrincipal the principal name
+	 */
+	private static void bindHttpSession(ISession pSession, SecurityContext pSecurityContext, String pPrincipal)
+	{
+		HttpContext context = HttpContext.getCurrentInstance();
+		
+		if (context != null
+			&& context.getRequest() instanceof HttpServletRequest)
+		{
+			HttpSession httpSession = ((HttpServletRequest) context.getRequest()).getSession(false);
+			
+			if (httpSession != null)
+			{
+				try
+				{
+					if (httpSession.getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY) == pSecurityContext)
+					{
+						SessionReaper.bind(pSession.getId(), httpSession, pPrincipal);
+					}
+				}
+				catch (IllegalStateException ise)
+				{
+					// invalidated
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Gets the servlet path of the current request.
+	 * 
+	 * @return the servlet path or <code>null</code> if the session was not created by a servlet request
+	 */
+	private static String getServicePath()
+	{
+		HttpContext context = HttpContext.getCurrentInstance();
+		
+		if (context != null
+			&& context.getRequest() instanceof HttpServletRequest)
+		{
+			HttpServletRequest request = (HttpServletRequest) context.getRequest();
+			
+			String path = request.getServletPath();
+			
+			if (request.getPathInfo() != null)
+			{
+				path = path + request.getPathInfo();
+			}
+			
+			return path;
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Resolves the security state of a session. The state is not published.
+	 * 
+	 * @param pSession the session
+	 * @param pAuthentication the authentication
+	 * @param pPrincipal the name of the authenticated principal
+	 * @param pAuthorities the key of the granted authorities
+	 * @return the state
+	 */
+	protected SessionSecurityState createSecurityState(ISession pSession, Authentication pAuthentication, String pPrincipal, String pAuthorities)
+	{
+		ClientProfile profile = ClientProfile.getProfile(pSession, getServicePath());
+		
+		ResumeTokenManager resumeTokens = ResumeTokenManager.getInstance(pSession.getConfig().getNode(ResumeTokenManager.CONFIG_PATH));
+		
+		ISpringMetaDataHandler metaDataHandler = null;
+		
+		String resumeToken = null;
+		
+		Object resumedSessionId = null;
+		
+		if (resumeTokens != null)
+		{
+			AbstractSession resumedSession = getResumedSession(resumeTokens, pSession, pPrincipal, pAuthorities);
+			
+			SessionSecurityState resumedState = resumedSession != null ? SessionSecurityState.get(resumedSession) : null;
+			
+			if (resumedState != null)
+			{
+				metaDataHandler = resumedState.getMetaDataHandler();
+				
+				// another client (e.g. a second application instance) may still use the session
+				if (!isClientAlive(resumedSession))
+				{
+					resumedSessionId = resumedSession.getId();
+				}
+			}
+			
+			resumeToken = resumeTokens.issue(pSession.getId(), pPrincipal);
+		}
+		
+		if (metaDataHandler == null)
+		{
+			Hashtable<String, Object> metadataProperties = new Hashtable<String, Object>();
+			metadataProperties.put("authentication", pAuthentication);
+			metadataProperties.put("profile", profile);
+			
+			metaDataHandler = getAuthenticationMetaDataHandler(metadataProperties, pSession);
+		}
+		
+		// the logout process url of the success handler, or of the http session
+		Object logoutProcessUrl = null;
+		
+		if (pAuthentication instanceof WrappedAuthentication)
+		{
+			logoutProcessUrl = ((WrappedAuthentication) pAuthentication).getProperty(IConnectionConstants.PREFIX_CLIENT + "logout.process.url");
+		}
+		
+		if (logoutProcessUrl == null)
+		{
+			HttpContext context = HttpContext.getCurrentInstance();
+			
+			if (context != null)
+			{
+				HttpSession session = ((HttpServletRequest) context.getRequest()).getSession(false);
+				
+				if (session != null)
+				{
+					logoutProcessUrl = session.getAttribute(IConnectionConstants.PREFIX_CLIENT + "logout.process.url");
+				}
+			}
+		}
+		
+		return new SessionSecurityState(pPrincipal, pAuthorities, metaDataHandler, profile, resumeToken, logoutProcessUrl, resumedSessionId);
+	}
+	
+	/**
+	 * Gets the still alive session which is referenced by the resume token of the given session. The session
+	 * will only be resumed if the principal and the authorities are the same. Its metadata handler will be
+	 * taken over. The session will be destroyed after the new state was published, but only if no client
+	 * uses it anymore, see {@link #isClientAlive(AbstractSession)}.
+	 * 
+	 * @param pResumeTokens the resume token manager
+	 * @param pSession the new session
+	 * @param pUserName the name of the authenticated principal
+	 * @param pAuthorities the key of the current authorities
+	 * @return the previous session or <code>null</code> if the session can't be resumed
+	 */
+	protected AbstractSession getResumedSession(ResumeTokenManager pResumeTokens, ISession pSession, String pUserName, String pAuthorities)
+	{
+		Object token = pSession.getProperty(ResumeTokenManager.PROPERTY_TOKEN);
+		
+		if (!(token instanceof String))
+		{
+			return null;
+		}
+		
+		String sessionId = pResumeTokens.verify((String) token, pUserName);
+		
+		if (sessionId == null
+			|| sessionId.equals(String.valueOf(pSession.getId())))
+		{
+			return null;
+		}
+		
+		try
+		{
+			DefaultSessionManager sessionManager = Server.getInstance().getSessionManager();
+			
+			if (!sessionManager.isAvailable(sessionId))
+			{
+				return null;
+			}
+			
+			AbstractSession previousSession = sessionManager.get(sessionId);
+			
+			SessionSecurityState previousState = previousSession == null ? null : SessionSecurityState.get(previousSession);
+			
+			if (previousState != null
+				&& previousState.isValidFor(pUserName, pAuthorities)
+				&& pUserName.equals(previousState.getMetaDataHandler().getUsername()))
+			{
+				return previousSession;
+			}
+		}
+		catch (Exception e)
+		{
+			// expired in the meantime
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Gets whether a client still uses the given session. A session is in use if it was accessed, or the
+	 * client sent an alive notification, within its alive interval.
+	 * 
+	 * @param pSession the resumed session
+	 * @return <code>true</code> if the session is in use, <code>false</code> if it is idle
+	 */
+	protected boolean isClientAlive(AbstractSession pSession)
+	{
+		long lAliveInterval = pSession.getAliveInterval();
+		
+		if (lAliveInterval <= 0)
+		{
+			// without alive check, the session expires only via its max inactive interval
+			return true;
+		}
+		
+		long lLastAccess = Math.max(pSession.getLastAccessTime(), pSession.getLastAliveTime());
+		
+		return System.currentTimeMillis() - lLastAccess <= lAliveInterval;
+	}
+	
+	/**
+	 * Destroys the idle session whose metadata handler was taken over by a new session.
+	 * 
+	 * @param pSessionId the id of the resumed session
+	 */
+	protected void destroyResumedSession(Object pSessionId)
+	{
+		try
+		{
+			Server.getInstance().destroySession(pSessionId);
+		}
+		catch (Exception e)
+		{
+			// expired in the meantime
+		}
+	}
+	
+	/**
+	 * Gets a key of the granted authorities, independent of their order.
+	 * 
+	 * @param pAuthentication the authentication
+	 * @return the key
+	 */
+	private static String getAuthoritiesKey(Authentication pAuthentication)
+	{
+		Collection<? extends GrantedAuthority> authorities = pAuthentication.getAuthorities();
+		
+		if (authorities == null)
+		{
+			return "";
+		}
+		
+		String[] names = new String[authorities.size()];
+		
+		int i = 0;
+		
+		for (GrantedAuthority authority : authorities)
+		{
+			names[i++] = String.valueOf(authority.getAuthority());
+		}
+		
+		Arrays.sort(names, 0, i);
+		
+		StringBuilder key = new StringBuilder();
+		
+		for (int j = 0; j < i; j++)
+		{
+			key.append(names[j]);
+			key.append('\n');
+		}
+		
+		return key.toString();
+	}
+	
+	/**
+	 * Gets the factory name for the type of the authenticated principal. The factories are configured per
+	 * principal class, e.g.:
+	 * 
+	 * <pre>
+	 * &lt;metadtahandler&gt;
+	 *   &lt;principal&gt;
+	 *     &lt;class&gt;com.sibvisions.rad.server.security.spring.bearer.JwtClaims&lt;/class&gt;
+	 *     &lt;name&gt;jwt&lt;/name&gt;
+	 *   &lt;/principal&gt;
+	 * &lt;/metadtahandler&gt;
+	 * </pre>
+	 * 
+	 * The class matches the principal class, its super classes and interfaces. Without matching configuration,
+	 * the <code>jwt</code> factory will be used for {@link JwtClaims} of bearer tokens.
+	 * 
+	 * @param pPrincipal the principal
+	 * @param pConfig the application configuration
+	 * @return the factory name or <code>null</code> if the default handler should be used
+	 */
+	protected String getPrincipalFactoryName(Object pPrincipal, IConfiguration pConfig)
+	{
+		if (pPrincipal == null)
+		{
+			return null;
+		}
+		
+		List<XmlNode> principalNodes = pConfig.getNodes("/application/securitymanager/preauhtentication/metadtahandler/principal");
+		
+		if (principalNodes != null)
+		{
+			for (int i = 0, ic = principalNodes.size(); i < ic; i++)
+			{
+				XmlNode principal = principalNodes.get(i);
+				
+				String principalClass = principal.getNodeValue("/class");
+				
+				if (principalClass != null
+					&& isInstance(pPrincipal.getClass(), principalClass.trim()))
+				{
+					return principal.getNodeValue("/name");
+				}
+			}
+		}
+		
+		if (pPrincipal instanceof JwtClaims)
+		{
+			// bearer token authentication
+			return "jwt";
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Checks whether the class, one of its super classes or interfaces has the given name.
+	 * 
+	 * @param pClass the class
+	 * @param pClassName the class name
+	 * @return <code>true</code> if the class is an instance of the named class
+	 */
+	private static boolean isInstance(Class<?> pClass, String pClassName)
+	{
+		for (Class<?> clazz = pClass; clazz != null; clazz = clazz.getSuperclass())
+		{
+			if (clazz.getName().equals(pClassName))
+			{
+				return true;
+			}
+			
+			Class<?>[] interfaces = clazz.getInterfaces();
+			
+			for (int i = 0; i < interfaces.length; i++)
+			{
+				if (isInstance(interfaces[i], pClassName))
+				{
+					return true;
+				}
+			}
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Creates the metadata handler. A handler with a factory name will be created by the registered
+	 * {@link IMetaDataHandlerFactory}. A handler class will be created by the factory which is registered
+	 * for the class, or with its constructor if no factory is registered. Without name and class, the
+	 * {@link DefaultAuthenticationMetaDataHandler} will be created.
+	 * 
+	 * @param pFactoryName the factory name or <code>null</code>
+	 * @param pClassName the handler class name or <code>null</code>
+	 * @param pProperties the properties for the handler
+	 * @return the handler
+	 * @throws Throwable if the handler could not be created
+	 */
+	protected ISpringMetaDataHandler createMetaDataHandler(String pFactoryName, String pClassName, Hashtable<String, Object> pProperties) throws Throwable
+	{
+		if (pFactoryName != null)
+		{
+			IMetaDataHandlerFactory factory = MetaDataHandlerFactories.get(ResourceUtil.getResourceClassLoader(this), pFactoryName);
+			
+			if (factory == null)
+			{
+				throw new SecurityException("Access denied! Spring metadata handler factory '" + pFactoryName + "' is not available.");
+			}
+			
+			return factory.createHandler(pProperties);
+		}
+		
+		if (pClassName == null)
+		{
+			return new DefaultAuthenticationMetaDataHandler(pProperties);
+		}
+		
+		IMetaDataHandlerFactory factory = MetaDataHandlerFactories.get(ResourceUtil.getResourceClassLoader(this), pClassName);
+		
+		if (factory != null)
+		{
+			return factory.createHandler(pProperties);
+		}
+		
+		return (ISpringMetaDataHandler) getMetaDataHandlerConstructor(pClassName, pProperties).newInstance(pProperties);
+	}
+	
+	/**
+	 * Gets the constructor of the metadata handler class. The constructor will be resolved once per
+	 * class loader and cached for subsequent calls, until the garbage collector clears it.
+	 * 
+	 * @param pClassName the metadata handler class name
+	 * @param pProperties the properties for the constructor
+	 * @return the constructor
+	 * @throws Exception if the class or the constructor is not available
+	 */
+	protected Constructor<?> getMetaDataHandlerConstructor(String pClassName, Hashtable<String, Object> pProperties) throws Exception
+	{
+		ClassLoader loader = ResourceUtil.getResourceClassLoader(this);
+		
+		Hashtable<String, SoftReference<Constructor<?>>> htConstructors;
+		
+		synchronized (CONSTRUCTORS)
+		{
+			htConstructors = CONSTRUCTORS.get(loader);
+			
+			if (htConstructors == null)
+			{
+				htConstructors = new Hashtable<String, SoftReference<Constructor<?>>>();
+				
+				CONSTRUCTORS.put(loader, htConstructors);
+			}
+		}
+		
+		SoftReference<Constructor<?>> sref = htConstructors.get(pClassName);
+		
+		Constructor<?> constructor = sref != null ? sref.get() : null;
+		
+		if (constructor == null)
+		{
+			constructor = Reflective.getConstructor(loader, pClassName, pProperties);
+			
+			htConstructors.put(pClassName, new SoftReference<Constructor<?>>(constructor));
+		}
+		
+		return constructor;
 	}
 
 } // SpringSecurityManager
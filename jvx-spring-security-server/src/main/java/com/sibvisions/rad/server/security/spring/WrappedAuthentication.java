@@ -17,6 +17,7 @@
  * History
  *
  * 04.02.2013 - [TK] - creation
+ * 19.10.2026 - [TK] - setPropertyIfAbsent
  */
 package com.sibvisions.rad.server.security.spring;
 
@@ -157,7 +158,26 @@ public class WrappedAuthentication implements Authentication
 	 */
 	public void setProperty(String pName, Object pValue)
 	{
-		properties.put(pName, pValue);
+		if (pValue == null)
+		{
+			properties.remove(pName);
+		}
+		else
+		{
+			properties.put(pName, pValue);
+		}
+	}
+	
+	/**
+	 * Sets the value of a property, if the property is not set. The check and the update are atomic.
+	 * 
+	 * @param pName the property name
+	 * @param pValue the value for the property
+	 * @return the current value of the property or <code>null</code> if the value was set
+	 */
+	public Object setPropertyIfAbsent(String pName, Object pValue)
+	{
+		return properties.putIfAbsent(pName, pValue);
 	}
 	
 } // WrappedAuthentication
@@ -0,0 +1,801 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.audit;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.ApplicationListener;
+import org.springframework.security.authentication.event.AbstractAuthenticationEvent;
+import org.springframework.security.authentication.event.AbstractAuthenticationFailureEvent;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+
+/**
+ * The <code>AuditLog</code> records authentications, JVx session validations and logouts without blocking
+ * the calling thread. Events will be put into a lock-free ring buffer and a background thread writes them
+ * in batches into memory-mapped, append-only files. A file will be rotated if it is full, and the oldest
+ * files will be deleted if there are more than <code>maxFiles</code> files. Events will be dropped and
+ * counted if the ring buffer is full.
+ * 
+ * Every file starts with the magic bytes <code>JVXA</code> and a version byte, followed by records:
+ * 
+ * <pre>
+ * int    length of the record without this field
+ * long   time in milliseconds
+ * byte   event type
+ * string principal
+ * string JVx session id
+ * string detail, e.g. the outcome
+ * </pre>
+ * 
+ * Strings are written as <code>short</code> length (<code>-1</code> for <code>null</code>) and UTF-8 bytes.
+ * A record length of <code>0</code> marks the end of the file. Use {@link AuditLogReader} to export the files
+ * as JSON lines.
+ * 
+ * e.g.:
+ * 
+ * <beans:bean id="jvxAuditLog" class="com.sibvisions.rad.server.security.spring.audit.AuditLog">
+ *    <beans:property name="directory" value="/var/log/jvx/audit" />
+ * </beans:bean>
+ * 
+ * Only one audit log per class loader is active. Mapped files survive a crash of the JVM, but are
+ * only forced to the disk on rotation and on shutdown.
+ * 
+ * @author Thomas Krautinger
+ */
+public class AuditLog implements ApplicationListener<AbstractAuthenticationEvent>,
+                                 InitializingBean,
+                                 DisposableBean
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Constants
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** successful authentication. */
+	public static final byte AUTHENTICATION_SUCCESS = 1;
+
+	/** failed authentication. */
+	public static final byte AUTHENTICATION_FAILURE = 2;
+
+	/** validation of a JVx session. */
+	public static final byte SESSION_VALIDATION = 3;
+
+	/** logout of a JVx session. */
+	public static final byte LOGOUT = 4;
+
+	/** the event type names. */
+	static final String[] TYPE_NAMES = new String[] {"unknown", "authentication.success", "authentication.failure", "session.validation", "logout"};
+
+	/** the file header. */
+	static final byte[] MAGIC = new byte[] {'J', 'V', 'X', 'A', 1};
+
+	/** the file name prefix. */
+	static final String FILE_PREFIX = "audit-";
+
+	/** the file name suffix. */
+	static final String FILE_SUFFIX = ".bin";
+
+	/** the maximum length of a string in characters. */
+	private static final int MAX_STRING_LENGTH = 1024;
+
+	/** the charset for strings. */
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	/** the wait time of the writer if the buffer is empty. */
+	private static final long IDLE_NANOS = 10000000L;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the active audit log. */
+	private static volatile AuditLog instance;
+
+	/** the ring buffer. */
+	private Entry[] entries;
+
+	/** the published sequence per slot. */
+	private AtomicLongArray alaPublished;
+
+	/** the next sequence to claim. */
+	private AtomicLong alHead = new AtomicLong();
+
+	/** the next sequence to write. */
+	private AtomicLong alTail = new AtomicLong();
+
+	/** the number of dropped events. */
+	private AtomicLong alDropped = new AtomicLong();
+
+	/** the number of events which could not be written. */
+	private AtomicLong alFailed = new AtomicLong();
+
+	/** the slot mask. */
+	private int mask;
+
+	/** the writer thread. */
+	private Thread thWriter;
+
+	/** whether the writer should stop. */
+	private volatile boolean bStopped;
+
+	/** the current file. */
+	private RandomAccessFile rafCurrent;
+
+	/** the mapped current file. */
+	private MappedByteBuffer mbbCurrent;
+
+	/** the file counter for unique names. */
+	private int iFileCounter;
+
+	/** the log directory. */
+	private File directory;
+
+	/** the capacity of the ring buffer. */
+	private int capacity = 8192;
+
+	/** the size of a log file. */
+	private int fileSize = 16 * 1024 * 1024;
+
+	/** the maximum number of log files. */
+	private int maxFiles = 10;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Interface implementation
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void afterPropertiesSet() throws Exception
+	{
+		start();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void destroy()
+	{
+		stop();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void onApplicationEvent(AbstractAuthenticationEvent pEvent)
+	{
+		if (pEvent instanceof AuthenticationSuccessEvent)
+		{
+			add(AUTHENTICATION_SUCCESS, pEvent.getAuthentication().getName(), null, null);
+		}
+		else if (pEvent instanceof AbstractAuthenticationFailureEvent)
+		{
+			add(AUTHENTICATION_FAILURE, pEvent.getAuthentication().getName(), null,
+				((AbstractAuthenticationFailureEvent) pEvent).getException().getClass().getSimpleName());
+		}
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Records an event with the active audit log. If no audit log is active, the event will be ignored.
+	 * 
+	 * @param pType the event type
+	 * @param pPrincipal the principal name
+	 * @param pSessionId the JVx session id
+	 * @param pDetail the detail, e.g. the outcome
+	 */
+	public static void record(byte pType, String pPrincipal, Object pSessionId, String pDetail)
+	{
+		AuditLog log = instance;
+
+		if (log != null)
+		{
+			log.add(pType, pPrincipal, pSessionId, pDetail);
+		}
+	}
+
+	/**
+	 * Gets whether an audit log is active.
+	 * 
+	 * @return <code>true</code> if events will be recorded
+	 */
+	public static boolean isActive()
+	{
+		return instance != null;
+	}
+
+	/**
+	 * Adds an event to the ring buffer. The call never blocks. If the buffer is full, the event will be dropped.
+	 * 
+	 * @param pType the event type
+	 * @param pPrincipal the principal name
+	 * @param pSessionId the JVx session id
+	 * @param pDetail the detail
+	 * @return <code>true</code> if the event was added, <code>false</code> if it was dropped
+	 */
+	public boolean add(byte pType, String pPrincipal, Object pSessionId, String pDetail)
+	{
+		if (entries == null
+			|| bStopped)
+		{
+			alDropped.incrementAndGet();
+
+			return false;
+		}
+
+		long lSequence;
+
+		do
+		{
+			lSequence = alHead.get();
+
+			if (lSequence - alTail.get() >= entries.length)
+			{
+				alDropped.incrementAndGet();
+
+				return false;
+			}
+		}
+		while (!alHead.compareAndSet(lSequence, lSequence + 1));
+
+		int iSlot = (int) (lSequence & mask);
+
+		Entry entry = entries[iSlot];
+		entry.time = System.currentTimeMillis();
+		entry.type = pType;
+		entry.principal = pPrincipal;
+		entry.sessionId = pSessionId == null ? null : pSessionId.toString();
+		entry.detail = pDetail;
+
+		alaPublished.lazySet(iSlot, lSequence);
+
+		return true;
+	}
+
+	/**
+	 * Starts the writer and activates this audit log.
+	 * 
+	 * @throws IOException if the directory is not available
+	 */
+	public synchronized void start() throws IOException
+	{
+		if (thWriter != null)
+		{
+			return;
+		}
+
+		if (directory == null)
+		{
+			throw new IllegalArgumentException("The audit directory is not set!");
+		}
+
+		if (!directory.isDirectory()
+			&& !directory.mkdirs())
+		{
+			throw new IOException("Can't create audit directory " + directory);
+		}
+
+		int iCapacity = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+
+		entries = new Entry[iCapacity];
+
+		for (int i = 0; i < iCapacity; i++)
+		{
+			entries[i] = new Entry();
+		}
+
+		alaPublished = new AtomicLongArray(iCapacity);
+
+		for (int i = 0; i < iCapacity; i++)
+		{
+			alaPublished.set(i, -1);
+		}
+
+		mask = iCapacity - 1;
+
+		alHead.set(0);
+		alTail.set(0);
+
+		bStopped = false;
+
+		thWriter = new Thread(new Runnable()
+		{
+			public void run()
+			{
+				writeLoop();
+			}
+		}, "AuditLog");
+		thWriter.setDaemon(true);
+		thWriter.start();
+
+		instance = this;
+	}
+
+	/**
+	 * Deactivates this audit log, writes all pending events and closes the current file.
+	 */
+	public synchronized void stop()
+	{
+		if (instance == this)
+		{
+			instance = null;
+		}
+
+		if (thWriter == null)
+		{
+			return;
+		}
+
+		bStopped = true;
+
+		LockSupport.unpark(thWriter);
+
+		try
+		{
+			thWriter.join(10000);
+		}
+		catch (InterruptedException ie)
+		{
+			Thread.currentThread().interrupt();
+		}
+
+		thWriter = null;
+	}
+
+	/**
+	 * Drains the ring buffer until the audit log is stopped.
+	 */
+	private void writeLoop()
+	{
+		try
+		{
+			while (!bStopped)
+			{
+				if (drain() == 0)
+				{
+					LockSupport.parkNanos(IDLE_NANOS);
+				}
+			}
+
+			drain();
+		}
+		finally
+		{
+			closeFile();
+		}
+	}
+
+	/**
+	 * Writes all published events as one batch.
+	 * 
+	 * @return the number of written events
+	 */
+	private int drain()
+	{
+		long lTail = alTail.get();
+		long lNext = lTail;
+
+		int iSlot = (int) (lNext & mask);
+
+		while (alaPublished.get(iSlot) == lNext)
+		{
+			try
+			{
+				write(entries[iSlot]);
+			}
+			catch (IOException ioe)
+			{
+				alFailed.incrementAndGet();
+
+				closeFile();
+			}
+
+			entries[iSlot].clear();
+
+			lNext++;
+			iSlot = (int) (lNext & mask);
+		}
+
+		if (lNext != lTail)
+		{
+			alTail.set(lNext);
+		}
+
+		return (int) (lNext - lTail);
+	}
+
+	/**
+	 * Writes an event into the current file. A new file will be started if the event doesn't fit.
+	 * 
+	 * @param pEntry the event
+	 * @throws IOException if the file could not be created
+	 */
+	private void write(Entry pEntry) throws IOException
+	{
+		byte[] byPrincipal = encode(pEntry.principal);
+		byte[] bySessionId = encode(pEntry.sessionId);
+		byte[] byDetail = encode(pEntry.detail);
+
+		int iLength = 8 + 1 + length(byPrincipal) + length(bySessionId) + length(byDetail);
+
+		if (mbbCurrent == null
+			|| mbbCurrent.remaining() < 4 + iLength + 4)
+		{
+			rotate(4 + iLength + 4);
+		}
+
+		mbbCurrent.putInt(iLength);
+		mbbCurrent.putLong(pEntry.time);
+		mbbCurrent.put(pEntry.type);
+
+		put(byPrincipal);
+		put(bySessionId);
+		put(byDetail);
+	}
+
+	/**
+	 * Closes the current file and creates a new one. The oldest files will be deleted.
+	 * 
+	 * @param pMinSize the minimum size of the new file
+	 * @throws IOException if the file could not be created
+	 */
+	private void rotate(int pMinSize) throws IOException
+	{
+		closeFile();
+
+		File[] files = listFiles(directory);
+
+		for (int i = 0; i <= files.length - maxFiles; i++)
+		{
+			files[i].delete();
+		}
+
+		File file;
+
+		do
+		{
+			file = new File(directory, FILE_PREFIX + System.currentTimeMillis() + "-" + (iFileCounter++) + FILE_SUFFIX);
+		}
+		while (file.exists());
+
+		int iSize = Math.max(fileSize, MAGIC.length + pMinSize);
+
+		rafCurrent = new RandomAccessFile(file, "rw");
+
+		try
+		{
+			mbbCurrent = rafCurrent.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, iSize);
+			mbbCurrent.put(MAGIC);
+		}
+		catch (IOException ioe)
+		{
+			closeFile();
+
+			throw ioe;
+		}
+	}
+
+	/**
+	 * Forces and closes the current file.
+	 */
+	private void closeFile()
+	{
+		if (mbbCurrent != null)
+		{
+			mbbCurrent.force();
+			mbbCurrent = null;
+		}
+
+		if (rafCurrent != null)
+		{
+			try
+			{
+				rafCurrent.close();
+			}
+			catch (IOException ioe)
+			{
+				// nothing to be done
+			}
+
+			rafCurrent = null;
+		}
+	}
+
+	/**
+	 * Writes a string.
+	 * 
+	 * @param pBytes the UTF-8 bytes or <code>null</code>
+	 */
+	private void put(byte[] pBytes)
+	{
+		if (pBytes == null)
+		{
+			mbbCurrent.putShort((short) -1);
+		}
+		else
+		{
+			mbbCurrent.putShort((short) pBytes.length);
+			mbbCurrent.put(pBytes);
+		}
+	}
+
+	/**
+	 * Gets the number of bytes of a written string.
+	 * 
+	 * @param pBytes the UTF-8 bytes or <code>null</code>
+	 * @return the number of bytes
+	 */
+	private static int length(byte[] pBytes)
+	{
+		return pBytes == null ? 2 : 2 + pBytes.length;
+	}
+
+	/**
+	 * Encodes a string. Long strings will be truncated.
+	 * 
+	 * @param pValue the string
+	 * @return the UTF-8 bytes or <code>null</code>
+	 */
+	private static byte[] encode(String pValue)
+	{
+		if (pValue == null)
+		{
+			return null;
+		}
+
+		if (pValue.length() > MAX_STRING_LENGTH)
+		{
+			return pValue.substring(0, MAX_STRING_LENGTH).getBytes(UTF8);
+		}
+
+		return pValue.getBytes(UTF8);
+	}
+
+	/**
+	 * Gets all audit files of a directory, sorted by creation.
+	 * 
+	 * @param pDirectory the directory
+	 * @return the files
+	 */
+	static File[] listFiles(File pDirectory)
+	{
+		File[] files = pDirectory.listFiles();
+
+		if (files == null)
+		{
+			return new File[0];
+		}
+
+		int iCount = 0;
+
+		for (int i = 0; i < files.length; i++)
+		{
+			String sName = files[i].getName();
+
+			if (sName.startsWith(FILE_PREFIX)
+				&& sName.endsWith(FILE_SUFFIX))
+			{
+				files[iCount++] = files[i];
+			}
+		}
+
+		files = Arrays.copyOf(files, iCount);
+
+		Arrays.sort(files, new Comparator<File>()
+		{
+			public int compare(File pFirst, File pSecond)
+			{
+				long[] lFirst = getFileOrder(pFirst);
+				long[] lSecond = getFileOrder(pSecond);
+
+				if (lFirst[0] != lSecond[0])
+				{
+					return lFirst[0] < lSecond[0] ? -1 : 1;
+				}
+
+				return lFirst[1] < lSecond[1] ? -1 : (lFirst[1] == lSecond[1] ? 0 : 1);
+			}
+		});
+
+		return files;
+	}
+
+	/**
+	 * Gets the creation time and the counter from the file name.
+	 * 
+	 * @param pFile the file
+	 * @return the time and the counter
+	 */
+	private static long[] getFileOrder(File pFile)
+	{
+		String sName = pFile.getName();
+		sName = sName.substring(FILE_PREFIX.length(), sName.length() - FILE_SUFFIX.length());
+
+		int iPos = sName.indexOf('-');
+
+		try
+		{
+			if (iPos > 0)
+			{
+				return new long[] {Long.parseLong(sName.substring(0, iPos)), Long.parseLong(sName.substring(iPos + 1))};
+			}
+
+			return new long[] {Long.parseLong(sName), 0};
+		}
+		catch (NumberFormatException nfe)
+		{
+			return new long[] {0, 0};
+		}
+	}
+
+	/**
+	 * Gets the number of dropped events, because the ring buffer was full.
+	 * 
+	 * @return the number of dropped events
+	 */
+	public long getDroppedCount()
+	{
+		return alDropped.get();
+	}
+
+	/**
+	 * Gets the number of events which could not be written.
+	 * 
+	 * @return the number of failed events
+	 */
+	public long getFailedCount()
+	{
+		return alFailed.get();
+	}
+
+	/**
+	 * Gets the log directory.
+	 * 
+	 * @return the directory
+	 */
+	public File getDirectory()
+	{
+		return directory;
+	}
+
+	/**
+	 * Sets the log directory.
+	 * 
+	 * @param pDirectory the directory
+	 */
+	public void setDirectory(File pDirectory)
+	{
+		directory = pDirectory;
+	}
+
+	/**
+	 * Gets the capacity of the ring buffer.
+	 * 
+	 * @return the number of events
+	 */
+	public int getCapacity()
+	{
+		return capacity;
+	}
+
+	/**
+	 * Sets the capacity of the ring buffer. The capacity will be rounded up to a power of two.
+	 * 
+	 * @param pCapacity the number of events
+	 */
+	public void setCapacity(int pCapacity)
+	{
+		capacity = pCapacity;
+	}
+
+	/**
+	 * Gets the size of a log file.
+	 * 
+	 * @return the size in bytes
+	 */
+	public int getFileSize()
+	{
+		return fileSize;
+	}
+
+	/**
+	 * Sets the size of a log file.
+	 * 
+	 * @param pFileSize the size in bytes
+	 */
+	public void setFileSize(int pFileSize)
+	{
+		fileSize = pFileSize;
+	}
+
+	/**
+	 * Gets the maximum number of log files.
+	 * 
+	 * @return the maximum number of files
+	 */
+	public int getMaxFiles()
+	{
+		return maxFiles;
+	}
+
+	/**
+	 * Sets the maximum number of log files. The oldest files will be deleted.
+	 * 
+	 * @param pMaxFiles the maximum number of files
+	 */
+	public void setMaxFiles(int pMaxFiles)
+	{
+		maxFiles = pMaxFiles;
+	}
+
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+
+	/**
+	 * The <code>Entry</code> is a reusable slot of the ring buffer.
+	 * 
+	 * @author Thomas Krautinger
+	 */
+	private static final class Entry
+	{
+		/** the time. */
+		private long time;
+
+		/** the event type. */
+		private byte type;
+
+		/** the principal name. */
+		private String principal;
+
+		/** the JVx session id. */
+		private String sessionId;
+
+		/** the detail. */
+		private String detail;
+
+		/**
+		 * Releases the references.
+		 */
+		private void clear()
+		{
+			principal = null;
+			sessionId = null;
+			detail = null;
+		}
+
+	}	// Entry
+
+} // AuditLog
@@ -0,0 +1,290 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.audit;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * The <code>AuditLogReader</code> exports the binary files of the {@link AuditLog} as JSON lines, one
+ * object per event:
+ * 
+ * <pre>
+ * {"time":"2026-10-19T08:15:00.000Z","event":"logout","principal":"admin","session":"4711","detail":"destroyed"}
+ * </pre>
+ * 
+ * Usage: <code>AuditLogReader &lt;directory or file&gt;...</code>, the output will be written to standard out.
+ * 
+ * @author Thomas Krautinger
+ */
+public final class AuditLogReader
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Constants
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the charset for strings. */
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Invisible constructor, because the <code>AuditLogReader</code> is a utility class.
+	 */
+	private AuditLogReader()
+	{
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Exports the given directories or files.
+	 * 
+	 * @param pArgs the directories or files
+	 * @throws IOException if a file could not be read
+	 */
+	public static void main(String[] pArgs) throws IOException
+	{
+		if (pArgs.length == 0)
+		{
+			System.err.println("Usage: AuditLogReader <directory or file>...");
+
+			System.exit(1);
+		}
+
+		PrintWriter writer = new PrintWriter(new OutputStreamWriter(System.out, UTF8));
+
+		try
+		{
+			for (int i = 0; i < pArgs.length; i++)
+			{
+				File file = new File(pArgs[i]);
+
+				if (file.isDirectory())
+				{
+					export(AuditLog.listFiles(file), writer);
+				}
+				else
+				{
+					export(new File[] {file}, writer);
+				}
+			}
+		}
+		finally
+		{
+			writer.flush();
+		}
+	}
+
+	/**
+	 * Exports the files in the given order.
+	 * 
+	 * @param pFiles the audit files
+	 * @param pWriter the output
+	 * @return the number of exported events
+	 * @throws IOException if a file could not be read
+	 */
+	public static int export(File[] pFiles, Writer pWriter) throws IOException
+	{
+		SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+		format.setTimeZone(TimeZone.getTimeZone("UTC"));
+
+		int iCount = 0;
+
+		for (int i = 0; i < pFiles.length; i++)
+		{
+			iCount += export(pFiles[i], pWriter, format);
+		}
+
+		pWriter.flush();
+
+		return iCount;
+	}
+
+	/**
+	 * Exports one file.
+	 * 
+	 * @param pFile the audit file
+	 * @param pWriter the output
+	 * @param pFormat the time format
+	 * @return the number of exported events
+	 * @throws IOException if the file could not be read
+	 */
+	private static int export(File pFile, Writer pWriter, SimpleDateFormat pFormat) throws IOException
+	{
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(pFile), 65536));
+
+		try
+		{
+			byte[] byMagic = new byte[AuditLog.MAGIC.length];
+
+			in.readFully(byMagic);
+
+			if (!Arrays.equals(byMagic, AuditLog.MAGIC))
+			{
+				throw new IOException(pFile + " is not an audit file!");
+			}
+
+			int iCount = 0;
+
+			StringBuilder sbLine = new StringBuilder(256);
+
+			while (true)
+			{
+				int iLength;
+
+				try
+				{
+					iLength = in.readInt();
+				}
+				catch (EOFException eof)
+				{
+					return iCount;
+				}
+
+				if (iLength <= 0)
+				{
+					// end of written records
+					return iCount;
+				}
+
+				long lTime = in.readLong();
+				int iType = in.readByte();
+
+				sbLine.setLength(0);
+				sbLine.append("{\"time\":\"");
+				sbLine.append(pFormat.format(new Date(lTime)));
+				sbLine.append("\",\"event\":\"");
+				sbLine.append(iType > 0 && iType < AuditLog.TYPE_NAMES.length ? AuditLog.TYPE_NAMES[iType] : AuditLog.TYPE_NAMES[0]);
+				sbLine.append('"');
+
+				appendString(sbLine, "principal", readString(in));
+				appendString(sbLine, "session", readString(in));
+				appendString(sbLine, "detail", readString(in));
+
+				sbLine.append('}');
+
+				pWriter.write(sbLine.toString());
+				pWriter.write('\n');
+
+				iCount++;
+			}
+		}
+		finally
+		{
+			in.close();
+		}
+	}
+
+	/**
+	 * Reads a string.
+	 * 
+	 * @param pIn the input
+	 * @return the string or <code>null</code>
+	 * @throws IOException if the string could not be read
+	 */
+	private static String readString(DataInputStream pIn) throws IOException
+	{
+		int iLength = pIn.readShort();
+
+		if (iLength < 0)
+		{
+			return null;
+		}
+
+		byte[] byValue = new byte[iLength];
+
+		pIn.readFully(byValue);
+
+		return new String(byValue, UTF8);
+	}
+
+	/**
+	 * Appends a JSON string property, if the value is not <code>null</code>.
+	 * 
+	 * @param pLine the line
+	 * @param pName the property name
+	 * @param pValue the value
+	 */
+	private static void appendString(StringBuilder pLine, String pName, String pValue)
+	{
+		if (pValue == null)
+		{
+			return;
+		}
+
+		pLine.append(",\"");
+		pLine.append(pName);
+		pLine.append("\":\"");
+
+		for (int i = 0, ic = pValue.length(); i < ic; i++)
+		{
+			char ch = pValue.charAt(i);
+
+			switch (ch)
+			{
+				case '"':
+					pLine.append("\\\"");
+					break;
+				case '\\':
+					pLine.append("\\\\");
+					break;
+				case '\n':
+					pLine.append("\\n");
+					break;
+				case '\r':
+					pLine.append("\\r");
+					break;
+				case '\t':
+					pLine.append("\\t");
+					break;
+				default:
+					if (ch < 0x20)
+					{
+						pLine.append(String.format("\\u%04x", Integer.valueOf(ch)));
+					}
+					else
+					{
+						pLine.append(ch);
+					}
+			}
+		}
+
+		pLine.append('"');
+	}
+
+} // AuditLogReader
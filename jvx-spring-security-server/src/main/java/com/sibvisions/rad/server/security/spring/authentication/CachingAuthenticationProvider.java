@@ -0,0 +1,510 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ * 19.10.2026 - [TK] - account checks on cache hits
+ */
+package com.sibvisions.rad.server.security.spring.authentication;
+
+import java.nio.charset.Charset;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.security.authentication.AccountStatusUserDetailsChecker;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.event.AbstractAuthenticationFailureEvent;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsChecker;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+/**
+ * The <code>CachingAuthenticationProvider</code> caches successful username/password authentications of
+ * a delegate provider for a short time. It is intended for machine clients which send HTTP Basic
+ * credentials with every call of <code>/services/Server</code> or <code>/services/rest/*</code>, so that
+ * the expensive password hash verification is not needed for every call.
+ * 
+ * The cache doesn't store passwords, only HMAC digests of username and password with a random key
+ * per instance. A cached entry will be removed:
+ * <ul>
+ *   <li>after the time to live</li>
+ *   <li>if an authentication of the user fails, e.g. because of lockout or bad credentials</li>
+ *   <li>if the user details manager removes the user from its {@link UserCache}, e.g. on password change</li>
+ *   <li>if the account check of a cache hit fails, e.g. because the account was locked or disabled</li>
+ * </ul>
+ * 
+ * The account check needs a {@link UserDetailsService}: the user details will be loaded for every cache hit
+ * and checked with the {@link UserDetailsChecker}, the {@link AccountStatusUserDetailsChecker} by default.
+ * Without user details service, a locked or disabled account is only rejected after the time to live, or
+ * after the user details manager removed the user from its user cache, which is this provider.
+ * 
+ * e.g.:
+ * 
+ * <beans:bean id="jvxCredentialCache" class="com.sibvisions.rad.server.security.spring.authentication.CachingAuthenticationProvider">
+ *    <beans:property name="delegateProvider" ref="daoAuthenticationProvider" />
+ *    <beans:property name="userDetailsService" ref="jvxUserDetailsManager" />
+ *    <beans:property name="timeToLive" value="60000" />
+ * </beans:bean>
+ * 
+ * <beans:bean id="jvxUserDetailsManager" class="org.springframework.security.provisioning.JdbcUserDetailsManager">
+ *    <beans:property name="dataSource" ref="dataSource" />
+ *    <beans:property name="userCache" ref="jvxCredentialCache" />
+ * </beans:bean>
+ * 
+ * <authentication-manager>
+ *    <authentication-provider ref="jvxCredentialCache" />
+ * </authentication-manager>
+ * 
+ * @author Thomas Krautinger
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider,
+                                                      UserCache,
+                                                      ApplicationListener<AbstractAuthenticationFailureEvent>
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Constants
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the HMAC algorithm. */
+	private static final String ALGORITHM = "HmacSHA256";
+
+	/** the charset for credentials. */
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the verified credentials per username. */
+	private ConcurrentHashMap<String, VerifiedCredential> chmCache = new ConcurrentHashMap<String, VerifiedCredential>();
+
+	/** the HMAC instances per thread. */
+	private ThreadLocal<Mac> tlMac = new ThreadLocal<Mac>();
+
+	/** the delegate provider. */
+	private AuthenticationProvider delegateProvider;
+
+	/** the service which loads the user details for the account check of a cache hit. */
+	private UserDetailsService userDetailsService;
+
+	/** the account check of a cache hit. */
+	private UserDetailsChecker userDetailsChecker = new AccountStatusUserDetailsChecker();
+
+	/** the HMAC key. */
+	private SecretKeySpec key;
+
+	/** the time to live of a cached entry in milliseconds. */
+	private long timeToLive = 60000;
+
+	/** the maximum number of cached users. */
+	private int maxSize = 10000;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates a new instance of <code>CachingAuthenticationProvider</code>. The delegate provider has to
+	 * be set with {@link #setDelegateProvider(AuthenticationProvider)}, e.g. if the user details manager
+	 * of the delegate uses this provider as user cache.
+	 */
+	public CachingAuthenticationProvider()
+	{
+		this(null);
+	}
+
+	/**
+	 * Creates a new instance of <code>CachingAuthenticationProvider</code>.
+	 * 
+	 * @param pDelegateProvider the provider which verifies the credentials
+	 */
+	public CachingAuthenticationProvider(AuthenticationProvider pDelegateProvider)
+	{
+		delegateProvider = pDelegateProvider;
+
+		byte[] byKey = new byte[32];
+		new SecureRandom().nextBytes(byKey);
+
+		key = new SecretKeySpec(byKey, ALGORITHM);
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Interface implementation
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Authentication authenticate(Authentication pAuthentication) throws AuthenticationException
+	{
+		if (!(pAuthentication instanceof UsernamePasswordAuthenticationToken)
+			|| pAuthentication.getName() == null
+			|| !(pAuthentication.getCredentials() instanceof String))
+		{
+			return delegateProvider.authenticate(pAuthentication);
+		}
+
+		String sUserName = pAuthentication.getName();
+
+		byte[] byDigest = digest(sUserName, (String) pAuthentication.getCredentials());
+
+		VerifiedCredential credential = chmCache.get(sUserName);
+
+		if (credential != null)
+		{
+			if (credential.expires > System.currentTimeMillis()
+				&& MessageDigest.isEqual(credential.digest, byDigest)
+				&& isAccountValid(sUserName))
+			{
+				UsernamePasswordAuthenticationToken result = new UsernamePasswordAuthenticationToken(credential.authentication.getPrincipal(),
+																									 credential.authentication.getCredentials(),
+																									 credential.authentication.getAuthorities());
+				result.setDetails(pAuthentication.getDetails());
+
+				return result;
+			}
+
+			chmCache.remove(sUserName, credential);
+		}
+
+		Authentication result = delegateProvider.authenticate(pAuthentication);
+
+		if (result != null
+			&& result.isAuthenticated()
+			&& timeToLive > 0)
+		{
+			if (chmCache.size() >= maxSize)
+			{
+				removeExpired();
+
+				if (chmCache.size() >= maxSize)
+				{
+					chmCache.clear();
+				}
+			}
+
+			chmCache.put(sUserName, new VerifiedCredential(byDigest, result, System.currentTimeMillis() + timeToLive));
+		}
+
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public boolean supports(Class<?> pAuthentication)
+	{
+		return delegateProvider.supports(pAuthentication);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void onApplicationEvent(AbstractAuthenticationFailureEvent pEvent)
+	{
+		// lockout, disabled, expired or a wrong password
+		invalidate(pEvent.getAuthentication().getName());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public UserDetails getUserFromCache(String pUserName)
+	{
+		// user details are not cached
+		return null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void putUserInCache(UserDetails pUser)
+	{
+		// user details are not cached
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void removeUserFromCache(String pUserName)
+	{
+		invalidate(pUserName);
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Removes the verified credentials of a user, e.g. after a password change.
+	 * 
+	 * @param pUserName the username
+	 */
+	public void invalidate(String pUserName)
+	{
+		if (pUserName != null)
+		{
+			chmCache.remove(pUserName);
+		}
+	}
+
+	/**
+	 * Removes all verified credentials.
+	 */
+	public void invalidateAll()
+	{
+		chmCache.clear();
+	}
+
+	/**
+	 * Checks the current account state of a cached user, e.g. whether the account was locked or disabled
+	 * after the credentials were cached.
+	 * 
+	 * @param pUserName the username
+	 * @return <code>true</code> if the account is valid or no user details service is set,
+	 *         <code>false</code> if the cached credentials must be verified again by the delegate provider
+	 */
+	protected boolean isAccountValid(String pUserName)
+	{
+		if (userDetailsService == null)
+		{
+			return true;
+		}
+
+		try
+		{
+			UserDetails user = userDetailsService.loadUserByUsername(pUserName);
+
+			if (user == null)
+			{
+				return false;
+			}
+
+			userDetailsChecker.check(user);
+
+			return true;
+		}
+		catch (AuthenticationException ae)
+		{
+			// the delegate provider reports the reason, e.g. locked, disabled or not found
+			return false;
+		}
+	}
+
+	/**
+	 * Removes all expired entries.
+	 */
+	private void removeExpired()
+	{
+		long lNow = System.currentTimeMillis();
+
+		for (Iterator<Map.Entry<String, VerifiedCredential>> it = chmCache.entrySet().iterator(); it.hasNext();)
+		{
+			if (it.next().getValue().expires <= lNow)
+			{
+				it.remove();
+			}
+		}
+	}
+
+	/**
+	 * Creates the HMAC digest of the credentials.
+	 * 
+	 * @param pUserName the username
+	 * @param pPassword the password
+	 * @return the digest
+	 */
+	private byte[] digest(String pUserName, String pPassword)
+	{
+		Mac mac = tlMac.get();
+
+		try
+		{
+			if (mac == null)
+			{
+				mac = Mac.getInstance(ALGORITHM);
+				mac.init(key);
+
+				tlMac.set(mac);
+			}
+
+			mac.update(pUserName.getBytes(UTF8));
+			mac.update((byte) 0);
+
+			return mac.doFinal(pPassword.getBytes(UTF8));
+		}
+		catch (GeneralSecurityException gse)
+		{
+			throw new IllegalStateException(ALGORITHM + " is not available", gse);
+		}
+	}
+
+	/**
+	 * Gets the provider which verifies the credentials.
+	 * 
+	 * @return the delegate provider
+	 */
+	public AuthenticationProvider getDelegateProvider()
+	{
+		return delegateProvider;
+	}
+
+	/**
+	 * Sets the provider which verifies the credentials.
+	 * 
+	 * @param pDelegateProvider the delegate provider
+	 */
+	public void setDelegateProvider(AuthenticationProvider pDelegateProvider)
+	{
+		delegateProvider = pDelegateProvider;
+
+		chmCache.clear();
+	}
+
+	/**
+	 * Gets the service which loads the user details for the account check of a cache hit.
+	 * 
+	 * @return the user details service or <code>null</code> if the account is not checked
+	 */
+	public UserDetailsService getUserDetailsService()
+	{
+		return userDetailsService;
+	}
+
+	/**
+	 * Sets the service which loads the user details for the account check of a cache hit.
+	 * 
+	 * @param pUserDetailsService the user details service, usually the one of the delegate provider, or
+	 *                            <code>null</code> to accept cached credentials without account check
+	 */
+	public void setUserDetailsService(UserDetailsService pUserDetailsService)
+	{
+		userDetailsService = pUserDetailsService;
+	}
+
+	/**
+	 * Gets the account check of a cache hit.
+	 * 
+	 * @return the user details checker
+	 */
+	public UserDetailsChecker getUserDetailsChecker()
+	{
+		return userDetailsChecker;
+	}
+
+	/**
+	 * Sets the account check of a cache hit. It should check the same as the pre and post authentication
+	 * checks of the delegate provider.
+	 * 
+	 * @param pUserDetailsChecker the user details checker
+	 */
+	public void setUserDetailsChecker(UserDetailsChecker pUserDetailsChecker)
+	{
+		userDetailsChecker = pUserDetailsChecker;
+	}
+
+	/**
+	 * Gets the time to live of cached credentials.
+	 * 
+	 * @return the time to live in milliseconds
+	 */
+	public long getTimeToLive()
+	{
+		return timeToLive;
+	}
+
+	/**
+	 * Sets the time to live of cached credentials.
+	 * 
+	 * @param pTimeToLive the time to live in milliseconds, <code>0</code> to disable the cache
+	 */
+	public void setTimeToLive(long pTimeToLive)
+	{
+		timeToLive = pTimeToLive;
+
+		chmCache.clear();
+	}
+
+	/**
+	 * Gets the maximum number of cached users.
+	 * 
+	 * @return the maximum number of cached users
+	 */
+	public int getMaxSize()
+	{
+		return maxSize;
+	}
+
+	/**
+	 * Sets the maximum number of cached users.
+	 * 
+	 * @param pMaxSize the maximum number of cached users
+	 */
+	public void setMaxSize(int pMaxSize)
+	{
+		maxSize = pMaxSize;
+	}
+
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+
+	/**
+	 * The <code>VerifiedCredential</code> is a successfully verified credential.
+	 * 
+	 * @author Thomas Krautinger
+	 */
+	private static final class VerifiedCredential
+	{
+		/** the HMAC digest of username and password. */
+		private byte[] digest;
+
+		/** the authentication result. */
+		private Authentication authentication;
+
+		/** the expiry time. */
+		private long expires;
+
+		/**
+		 * Creates a new instance of <code>VerifiedCredential</code>.
+		 * 
+		 * @param pDigest the HMAC digest
+		 * @param pAuthentication the authentication result
+		 * @param pExpires the expiry time
+		 */
+		private VerifiedCredential(byte[] pDigest, Authentication pAuthentication, long pExpires)
+		{
+			digest = pDigest;
+			authentication = pAuthentication;
+			expires = pExpires;
+		}
+
+	}	// VerifiedCredential
+
+} // CachingAuthenticationProvider
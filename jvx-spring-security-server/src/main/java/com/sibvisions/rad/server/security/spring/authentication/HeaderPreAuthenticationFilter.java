@@ -0,0 +1,348 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.authentication;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+
+import com.sibvisions.rad.server.security.spring.WrappedAuthentication;
+import com.sibvisions.util.ArrayUtil;
+
+/**
+ * The <code>HeaderPreAuthenticationFilter</code> authenticates requests with the headers of a trusted
+ * reverse proxy. The authentication will be set into the security context for the current request only,
+ * no <code>HttpSession</code> will be created. The <code>http</code> configuration should use
+ * <code>create-session="stateless"</code>.
+ * 
+ * e.g.:
+ * 
+ * <beans:bean id="jvxHeaderFilter" class="com.sibvisions.rad.server.security.spring.authentication.HeaderPreAuthenticationFilter">
+ *    <beans:constructor-arg value="X-Forwarded-User" />
+ *    <beans:constructor-arg value="X-Forwarded-Roles" />
+ *    <beans:property name="trustedProxies" value="10.0.0.0/8, 127.0.0.1" />
+ * </beans:bean>
+ * 
+ * Requests from other addresses than the trusted proxies will not be authenticated by this filter.
+ * Parsed header sets will be cached for a short time.
+ * 
+ * @author Thomas Krautinger
+ */
+public class HeaderPreAuthenticationFilter implements Filter
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Constants
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the maximum number of cached header sets. */
+	private static final int MAX_CACHED_HEADERS = 10000;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the cached authentications per header set. */
+	private ConcurrentHashMap<String, CachedAuthentication> chmCache = new ConcurrentHashMap<String, CachedAuthentication>();
+
+	/** the user header name. */
+	private String userHeader;
+
+	/** the roles header name. */
+	private String rolesHeader;
+
+	/** the trusted proxies. */
+	private IpAddressMatcher[] trustedProxies = new IpAddressMatcher[0];
+
+	/** the cache timeout in milliseconds. */
+	private long cacheTimeout = 5000;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates a new instance of <code>HeaderPreAuthenticationFilter</code>.
+	 * 
+	 * @param pUserHeader the name of the header with the user name
+	 * @param pRolesHeader the name of the header with the comma separated roles
+	 */
+	public HeaderPreAuthenticationFilter(String pUserHeader, String pRolesHeader)
+	{
+		userHeader = pUserHeader;
+		rolesHeader = pRolesHeader;
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Interface implementation
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void init(FilterConfig pFilterConfig) throws ServletException
+	{
+		// Do nothing
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void doFilter(ServletRequest pRequest, ServletResponse pResponse, FilterChain pChain) throws IOException, ServletException
+	{
+		Authentication authentication = null;
+
+		if (pRequest instanceof HttpServletRequest
+			&& SecurityContextHolder.getContext().getAuthentication() == null)
+		{
+			authentication = getAuthentication((HttpServletRequest) pRequest);
+		}
+
+		if (authentication == null)
+		{
+			pChain.doFilter(pRequest, pResponse);
+		}
+		else
+		{
+			SecurityContext previousContext = SecurityContextHolder.getContext();
+
+			SecurityContext context = SecurityContextHolder.createEmptyContext();
+			context.setAuthentication(new WrappedAuthentication(authentication));
+
+			SecurityContextHolder.setContext(context);
+
+			try
+			{
+				pChain.doFilter(pRequest, pResponse);
+			}
+			finally
+			{
+				SecurityContextHolder.setContext(previousContext);
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void destroy()
+	{
+		chmCache.clear();
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Gets the authentication from the request headers.
+	 * 
+	 * @param pRequest the request
+	 * @return the authentication or <code>null</code> if the request is not from a trusted proxy or
+	 *         the user header is missing
+	 */
+	protected Authentication getAuthentication(HttpServletRequest pRequest)
+	{
+		if (!isTrustedProxy(pRequest))
+		{
+			return null;
+		}
+
+		String sUser = pRequest.getHeader(userHeader);
+
+		if (sUser == null
+			|| sUser.trim().length() == 0)
+		{
+			return null;
+		}
+
+		String sRoles = rolesHeader == null ? null : pRequest.getHeader(rolesHeader);
+
+		String sKey = sRoles == null ? sUser : sUser + '\n' + sRoles;
+
+		long lNow = System.currentTimeMillis();
+
+		CachedAuthentication cached = chmCache.get(sKey);
+
+		if (cached != null
+			&& cached.expires > lNow)
+		{
+			return cached.authentication;
+		}
+
+		Authentication authentication = createAuthentication(sUser.trim(), sRoles);
+
+		if (chmCache.size() >= MAX_CACHED_HEADERS)
+		{
+			chmCache.clear();
+		}
+
+		chmCache.put(sKey, new CachedAuthentication(authentication, lNow + cacheTimeout));
+
+		return authentication;
+	}
+
+	/**
+	 * Creates the authentication for the given header values.
+	 * 
+	 * @param pUser the user name
+	 * @param pRoles the comma separated roles or <code>null</code>
+	 * @return the authentication
+	 */
+	protected Authentication createAuthentication(String pUser, String pRoles)
+	{
+		ArrayUtil<GrantedAuthority> auAuthorities = new ArrayUtil<GrantedAuthority>();
+
+		if (pRoles != null)
+		{
+			String[] sRoles = pRoles.split(",");
+
+			for (int i = 0; i < sRoles.length; i++)
+			{
+				String sRole = sRoles[i].trim();
+
+				if (sRole.length() > 0)
+				{
+					auAuthorities.add(new SimpleGrantedAuthority(sRole));
+				}
+			}
+		}
+
+		return new PreAuthenticatedAuthenticationToken(pUser, "N/A", auAuthorities);
+	}
+
+	/**
+	 * Checks whether the request was sent by a trusted proxy.
+	 * 
+	 * @param pRequest the request
+	 * @return <code>true</code> if the remote address is a trusted proxy
+	 */
+	protected boolean isTrustedProxy(HttpServletRequest pRequest)
+	{
+		for (int i = 0; i < trustedProxies.length; i++)
+		{
+			if (trustedProxies[i].matches(pRequest))
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Sets the trusted proxies as comma separated list of addresses or CIDR ranges, e.g.
+	 * <code>10.0.0.0/8, 127.0.0.1</code>.
+	 * 
+	 * @param pTrustedProxies the trusted proxies
+	 */
+	public void setTrustedProxies(String pTrustedProxies)
+	{
+		ArrayUtil<IpAddressMatcher> auMatchers = new ArrayUtil<IpAddressMatcher>();
+
+		if (pTrustedProxies != null)
+		{
+			String[] sProxies = pTrustedProxies.split(",");
+
+			for (int i = 0; i < sProxies.length; i++)
+			{
+				String sProxy = sProxies[i].trim();
+
+				if (sProxy.length() > 0)
+				{
+					auMatchers.add(new IpAddressMatcher(sProxy));
+				}
+			}
+		}
+
+		trustedProxies = auMatchers.toArray(new IpAddressMatcher[auMatchers.size()]);
+
+		chmCache.clear();
+	}
+
+	/**
+	 * Gets the cache timeout for parsed header sets.
+	 * 
+	 * @return the timeout in milliseconds
+	 */
+	public long getCacheTimeout()
+	{
+		return cacheTimeout;
+	}
+
+	/**
+	 * Sets the cache timeout for parsed header sets.
+	 * 
+	 * @param pCacheTimeout the timeout in milliseconds, <code>0</code> to disable the cache
+	 */
+	public void setCacheTimeout(long pCacheTimeout)
+	{
+		cacheTimeout = pCacheTimeout;
+
+		chmCache.clear();
+	}
+
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+
+	/**
+	 * The <code>CachedAuthentication</code> is a cached authentication with its expiry time.
+	 * 
+	 * @author Thomas Krautinger
+	 */
+	private static final class CachedAuthentication
+	{
+		/** the authentication. */
+		private Authentication authentication;
+
+		/** the expiry time. */
+		private long expires;
+
+		/**
+		 * Creates a new instance of <code>CachedAuthentication</code>.
+		 * 
+		 * @param pAuthentication the authentication
+		 * @param pExpires the expiry time
+		 */
+		private CachedAuthentication(Authentication pAuthentication, long pExpires)
+		{
+			authentication = pAuthentication;
+			expires = pExpires;
+		}
+
+	}	// CachedAuthentication
+
+} // HeaderPreAuthenticationFilter
@@ -34,6 +34,7 @@ import org.springframework.security.web.util.RedirectUrlBuilder;
 import org.springframework.security.web.util.UrlUtils;
 
 import com.sibvisions.rad.server.security.spring.WrappedAuthentication;
+import com.sibvisions.rad.server.security.spring.jfr.PrepareParametersEvent;
 
 /**
  * The <code>SecurityManagerPreparer</code> sets additional parameters
@@ -99,6 +100,42 @@ public class SecurityManagerPreparer implements InitializingBean
 	 * @param pRequest the request which is used to get the current session
 	 */
 	public void doPrepareParameters(HttpServletRequest pRequest)
+	{
+		PrepareParametersEvent event = new PrepareParametersEvent();
+		event.begin();
+		
+		String outcome = "error";
+		
+		try
+		{
+			doPrepareParametersIntern(pRequest);
+			
+			outcome = "success";
+		}
+		finally
+		{
+			if (event.shouldCommit())
+			{
+				Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+				
+				if (authentication != null
+					&& authentication.getName() != null)
+				{
+					event.principalHash = authentication.getName().hashCode();
+				}
+				
+				event.outcome = outcome;
+				event.commit();
+			}
+		}
+	}
+	
+	/**
+	 * Sets additional parameters to the session and authentication object.
+	 * 
+	 * @param pRequest the request which is used to get the current session
+	 */
+	private void doPrepareParametersIntern(HttpServletRequest pRequest)
 	{
 		String absoluteLogoutProcessUrl = buildAbsoluteLogoutProcessUrl(pRequest);
 		
@@ -0,0 +1,397 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.bearer;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+
+import com.sibvisions.rad.server.security.spring.WrappedAuthentication;
+import com.sibvisions.util.ArrayUtil;
+
+/**
+ * The <code>BearerTokenAuthenticationFilter</code> authenticates requests with a JSON web token in the
+ * <code>Authorization: Bearer</code> header. The principal of the authentication are the verified
+ * {@link JwtClaims}, the authorities will be read from the roles claim. The
+ * <code>SpringSecurityManager</code> maps the claims with the
+ * {@link com.sibvisions.rad.server.security.spring.handler.JwtMetaDataHandler} to the JVx session.
+ * 
+ * The authentication will be set into the security context for the current request only, no
+ * <code>HttpSession</code> will be created. Verified tokens will be cached up to their expiry time,
+ * so that steady-state requests don't verify the signature again.
+ * 
+ * e.g.:
+ * 
+ * <beans:bean id="jvxBearerFilter" class="com.sibvisions.rad.server.security.spring.bearer.BearerTokenAuthenticationFilter">
+ *    <beans:constructor-arg ref="jvxJwtValidator" />
+ *    <beans:property name="rolesClaim" value="realm_access.roles" />
+ * </beans:bean>
+ * 
+ * Requests without bearer token will be passed unchanged, requests with an invalid token will be
+ * rejected with <code>401</code>.
+ * 
+ * @author Thomas Krautinger
+ */
+public class BearerTokenAuthenticationFilter implements Filter
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Constants
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the authorization scheme. */
+	private static final String BEARER = "Bearer ";
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the verified authentications per token. */
+	private ConcurrentHashMap<String, CachedAuthentication> chmCache = new ConcurrentHashMap<String, CachedAuthentication>();
+
+	/** the token validator. */
+	private JwtValidator validator;
+
+	/** the claim with the roles. */
+	private String rolesClaim = "roles";
+
+	/** the cache timeout for tokens without expiry time in milliseconds. */
+	private long cacheTimeout = 300000;
+
+	/** the maximum number of cached tokens. */
+	private int maxSize = 10000;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates a new instance of <code>BearerTokenAuthenticationFilter</code>.
+	 * 
+	 * @param pValidator the token validator
+	 */
+	public BearerTokenAuthenticationFilter(JwtValidator pValidator)
+	{
+		validator = pValidator;
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Interface implementation
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void init(FilterConfig pFilterConfig) throws ServletException
+	{
+		// Do nothing
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void doFilter(ServletRequest pRequest, ServletResponse pResponse, FilterChain pChain) throws IOException, ServletException
+	{
+		String sToken = null;
+
+		if (pRequest instanceof HttpServletRequest
+			&& SecurityContextHolder.getContext().getAuthentication() == null)
+		{
+			String sHeader = ((HttpServletRequest) pRequest).getHeader("Authorization");
+
+			if (sHeader != null
+				&& sHeader.regionMatches(true, 0, BEARER, 0, BEARER.length()))
+			{
+				sToken = sHeader.substring(BEARER.length()).trim();
+			}
+		}
+
+		if (sToken == null)
+		{
+			pChain.doFilter(pRequest, pResponse);
+
+			return;
+		}
+
+		Authentication authentication;
+
+		try
+		{
+			authentication = getAuthentication(sToken);
+		}
+		catch (AuthenticationException ae)
+		{
+			HttpServletResponse response = (HttpServletResponse) pResponse;
+
+			response.setHeader("WWW-Authenticate", "Bearer error=\"invalid_token\"");
+			response.setHeader("Cache-Control", "no-store");
+			response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+
+			return;
+		}
+
+		SecurityContext previousContext = SecurityContextHolder.getContext();
+
+		SecurityContext context = SecurityContextHolder.createEmptyContext();
+		context.setAuthentication(new WrappedAuthentication(authentication));
+
+		SecurityContextHolder.setContext(context);
+
+		try
+		{
+			pChain.doFilter(pRequest, pResponse);
+		}
+		finally
+		{
+			SecurityContextHolder.setContext(previousContext);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void destroy()
+	{
+		chmCache.clear();
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Gets the authentication for a token. The signature of a cached token will not be verified again.
+	 * 
+	 * @param pToken the token
+	 * @return the authentication
+	 * @throws AuthenticationException if the token is invalid or expired
+	 */
+	public Authentication getAuthentication(String pToken) throws AuthenticationException
+	{
+		long lNow = System.currentTimeMillis();
+
+		CachedAuthentication cached = chmCache.get(pToken);
+
+		if (cached != null)
+		{
+			if (cached.expires > lNow)
+			{
+				return cached.authentication;
+			}
+
+			chmCache.remove(pToken, cached);
+		}
+
+		JwtClaims claims = validator.validate(pToken);
+
+		Authentication authentication = createAuthentication(claims);
+
+		long lExpires = claims.getExpires() < 0 ? lNow + cacheTimeout : Math.min(claims.getExpires(), lNow + cacheTimeout);
+
+		if (lExpires > lNow)
+		{
+			if (chmCache.size() >= maxSize)
+			{
+				removeExpired();
+
+				if (chmCache.size() >= maxSize)
+				{
+					chmCache.clear();
+				}
+			}
+
+			chmCache.put(pToken, new CachedAuthentication(authentication, lExpires));
+		}
+
+		return authentication;
+	}
+
+	/**
+	 * Creates the authentication for verified claims.
+	 * 
+	 * @param pClaims the claims
+	 * @return the authentication
+	 */
+	protected Authentication createAuthentication(JwtClaims pClaims)
+	{
+		ArrayUtil<GrantedAuthority> auAuthorities = new ArrayUtil<GrantedAuthority>();
+
+		Object oRoles = rolesClaim == null ? null : pClaims.getClaim(rolesClaim);
+
+		if (oRoles instanceof List)
+		{
+			for (Object oRole : (List<?>) oRoles)
+			{
+				if (oRole != null)
+				{
+					auAuthorities.add(new SimpleGrantedAuthority(oRole.toString()));
+				}
+			}
+		}
+		else if (oRoles != null)
+		{
+			// e.g. the scope claim
+			String[] sRoles = oRoles.toString().split("[ ,]");
+
+			for (int i = 0; i < sRoles.length; i++)
+			{
+				if (sRoles[i].length() > 0)
+				{
+					auAuthorities.add(new SimpleGrantedAuthority(sRoles[i]));
+				}
+			}
+		}
+
+		return new PreAuthenticatedAuthenticationToken(pClaims, "N/A", auAuthorities);
+	}
+
+	/**
+	 * Removes all expired tokens.
+	 */
+	private void removeExpired()
+	{
+		long lNow = System.currentTimeMillis();
+
+		for (Iterator<Map.Entry<String, CachedAuthentication>> it = chmCache.entrySet().iterator(); it.hasNext();)
+		{
+			if (it.next().getValue().expires <= lNow)
+			{
+				it.remove();
+			}
+		}
+	}
+
+	/**
+	 * Gets the claim with the roles.
+	 * 
+	 * @return the claim name or path
+	 */
+	public String getRolesClaim()
+	{
+		return rolesClaim;
+	}
+
+	/**
+	 * Sets the claim with the roles, e.g. <code>roles</code>, <code>scope</code> or
+	 * <code>realm_access.roles</code>. The claim can be an array or a space or comma separated string.
+	 * 
+	 * @param pRolesClaim the claim name or path, <code>null</code> for no roles
+	 */
+	public void setRolesClaim(String pRolesClaim)
+	{
+		rolesClaim = pRolesClaim;
+
+		chmCache.clear();
+	}
+
+	/**
+	 * Gets the maximum time a verified token will be cached.
+	 * 
+	 * @return the timeout in milliseconds
+	 */
+	public long getCacheTimeout()
+	{
+		return cacheTimeout;
+	}
+
+	/**
+	 * Sets the maximum time a verified token will be cached. Tokens will never be cached longer than
+	 * their expiry time.
+	 * 
+	 * @param pCacheTimeout the timeout in milliseconds, <code>0</code> to disable the cache
+	 */
+	public void setCacheTimeout(long pCacheTimeout)
+	{
+		cacheTimeout = pCacheTimeout;
+
+		chmCache.clear();
+	}
+
+	/**
+	 * Gets the maximum number of cached tokens.
+	 * 
+	 * @return the maximum number of cached tokens
+	 */
+	public int getMaxSize()
+	{
+		return maxSize;
+	}
+
+	/**
+	 * Sets the maximum number of cached tokens.
+	 * 
+	 * @param pMaxSize the maximum number of cached tokens
+	 */
+	public void setMaxSize(int pMaxSize)
+	{
+		maxSize = pMaxSize;
+	}
+
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+
+	/**
+	 * The <code>CachedAuthentication</code> is a verified token with its expiry time.
+	 * 
+	 * @author Thomas Krautinger
+	 */
+	private static final class CachedAuthentication
+	{
+		/** the authentication. */
+		private Authentication authentication;
+
+		/** the expiry time. */
+		private long expires;
+
+		/**
+		 * Creates a new instance of <code>CachedAuthentication</code>.
+		 * 
+		 * @param pAuthentication the authentication
+		 * @param pExpires the expiry time
+		 */
+		private CachedAuthentication(Authentication pAuthentication, long pExpires)
+		{
+			authentication = pAuthentication;
+			expires = pExpires;
+		}
+
+	}	// CachedAuthentication
+
+} // BearerTokenAuthenticationFilter
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.bearer;
+
+import java.io.IOException;
+
+/**
+ * The <code>IJwkSetSource</code> loads a JSON web key set, e.g. from the JWKS endpoint of an
+ * authorization server.
+ * 
+ * @author Thomas Krautinger
+ */
+public interface IJwkSetSource
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Method definitions
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Loads the key set.
+	 * 
+	 * @return the key set as JSON, e.g. <code>{"keys":[{"kty":"RSA","kid":"1","n":"...","e":"AQAB"}]}</code>
+	 * @throws IOException if the key set is not available
+	 */
+	public String load() throws IOException;
+
+} // IJwkSetSource
@@ -0,0 +1,418 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ * 19.10.2026 - [TK] - nesting depth and length limit
+ */
+package com.sibvisions.rad.server.security.spring.bearer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The <code>Json</code> is a minimal JSON parser for JWT headers, claims and key sets. Objects will be
+ * parsed as {@link Map}, arrays as {@link List}, numbers as {@link Long} or {@link Double}.
+ * 
+ * The parsed text is not trusted, so its length and the nesting depth of objects and arrays are limited.
+ * 
+ * @author Thomas Krautinger
+ */
+final class Json
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Constants
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the maximum length of a JSON text. */
+	static final int MAX_LENGTH = 256 * 1024;
+
+	/** the maximum nesting depth of objects and arrays. */
+	static final int MAX_DEPTH = 32;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the JSON text. */
+	private String text;
+
+	/** the current position. */
+	private int pos;
+
+	/** the current nesting depth. */
+	private int depth;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates a new instance of <code>Json</code>.
+	 * 
+	 * @param pText the JSON text
+	 */
+	private Json(String pText)
+	{
+		text = pText;
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Parses a JSON object.
+	 * 
+	 * @param pText the JSON text
+	 * @return the object
+	 * @throws IllegalArgumentException if the text is not a JSON object, too long or too deeply nested
+	 */
+	@SuppressWarnings("unchecked")
+	static Map<String, Object> parseObject(String pText)
+	{
+		if (pText.length() > MAX_LENGTH)
+		{
+			throw new IllegalArgumentException("JSON text exceeds " + MAX_LENGTH + " characters!");
+		}
+
+		Json json = new Json(pText);
+
+		Object oValue = json.readValue();
+
+		json.skipWhitespace();
+
+		if (!(oValue instanceof Map)
+			|| json.pos != json.text.length())
+		{
+			throw new IllegalArgumentException("Invalid JSON object!");
+		}
+
+		return (Map<String, Object>) oValue;
+	}
+
+	/**
+	 * Reads a value.
+	 * 
+	 * @return the value
+	 */
+	private Object readValue()
+	{
+		skipWhitespace();
+
+		char ch = peek();
+
+		switch (ch)
+		{
+			case '{':
+				enter();
+				Map<String, Object> mpObject = readObject();
+				depth--;
+				return mpObject;
+			case '[':
+				enter();
+				List<Object> liArray = readArray();
+				depth--;
+				return liArray;
+			case '"':
+				return readString();
+			case 't':
+				expect("true");
+				return Boolean.TRUE;
+			case 'f':
+				expect("false");
+				return Boolean.FALSE;
+			case 'n':
+				expect("null");
+				return null;
+			default:
+				return readNumber();
+		}
+	}
+
+	/**
+	 * Enters an object or array.
+	 * 
+	 * @throws IllegalArgumentException if the maximum nesting depth is exceeded
+	 */
+	private void enter()
+	{
+		if (++depth > MAX_DEPTH)
+		{
+			throw new IllegalArgumentException("JSON nesting depth exceeds " + MAX_DEPTH + " at " + pos);
+		}
+	}
+
+	/**
+	 * Reads an object.
+	 * 
+	 * @return the object
+	 */
+	private Map<String, Object> readObject()
+	{
+		Map<String, Object> mpObject = new LinkedHashMap<String, Object>();
+
+		pos++;
+
+		skipWhitespace();
+
+		if (peek() == '}')
+		{
+			pos++;
+
+			return mpObject;
+		}
+
+		while (true)
+		{
+			skipWhitespace();
+
+			if (peek() != '"')
+			{
+				throw new IllegalArgumentException("Invalid JSON at " + pos);
+			}
+
+			String sName = readString();
+
+			skipWhitespace();
+
+			if (next() != ':')
+			{
+				throw new IllegalArgumentException("Invalid JSON at " + pos);
+			}
+
+			mpObject.put(sName, readValue());
+
+			skipWhitespace();
+
+			char ch = next();
+
+			if (ch == '}')
+			{
+				return mpObject;
+			}
+
+			if (ch != ',')
+			{
+				throw new IllegalArgumentException("Invalid JSON at " + pos);
+			}
+		}
+	}
+
+	/**
+	 * Reads an array.
+	 * 
+	 * @return the array
+	 */
+	private List<Object> readArray()
+	{
+		List<Object> liArray = new ArrayList<Object>();
+
+		pos++;
+
+		skipWhitespace();
+
+		if (peek() == ']')
+		{
+			pos++;
+
+			return liArray;
+		}
+
+		while (true)
+		{
+			liArray.add(readValue());
+
+			skipWhitespace();
+
+			char ch = next();
+
+			if (ch == ']')
+			{
+				return liArray;
+			}
+
+			if (ch != ',')
+			{
+				throw new IllegalArgumentException("Invalid JSON at " + pos);
+			}
+		}
+	}
+
+	/**
+	 * Reads a string.
+	 * 
+	 * @return the string
+	 */
+	private String readString()
+	{
+		pos++;
+
+		StringBuilder sbValue = new StringBuilder();
+
+		while (true)
+		{
+			char ch = next();
+
+			if (ch == '"')
+			{
+				return sbValue.toString();
+			}
+
+			if (ch == '\\')
+			{
+				ch = next();
+
+				switch (ch)
+				{
+					case 'b':
+						sbValue.append('\b');
+						break;
+					case 'f':
+						sbValue.append('\f');
+						break;
+					case 'n':
+						sbValue.append('\n');
+						break;
+					case 'r':
+						sbValue.append('\r');
+						break;
+					case 't':
+						sbValue.append('\t');
+						break;
+					case 'u':
+						if (pos + 4 > text.length())
+						{
+							throw new IllegalArgumentException("Invalid JSON at " + pos);
+						}
+
+						sbValue.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+
+						pos += 4;
+						break;
+					default:
+						sbValue.append(ch);
+				}
+			}
+			else
+			{
+				sbValue.append(ch);
+			}
+		}
+	}
+
+	/**
+	 * Reads a number.
+	 * 
+	 * @return the number
+	 */
+	private Number readNumber()
+	{
+		int iStart = pos;
+
+		boolean bDecimal = false;
+
+		while (pos < text.length())
+		{
+			char ch = text.charAt(pos);
+
+			if (ch == '.' || ch == 'e' || ch == 'E')
+			{
+				bDecimal = true;
+			}
+			else if (!(ch == '-' || ch == '+' || (ch >= '0' && ch <= '9')))
+			{
+				break;
+			}
+
+			pos++;
+		}
+
+		if (iStart == pos)
+		{
+			throw new IllegalArgumentException("Invalid JSON at " + pos);
+		}
+
+		String sNumber = text.substring(iStart, pos);
+
+		if (bDecimal)
+		{
+			return Double.valueOf(sNumber);
+		}
+
+		return Long.valueOf(sNumber);
+	}
+
+	/**
+	 * Expects the given literal.
+	 * 
+	 * @param pLiteral the literal
+	 */
+	private void expect(String pLiteral)
+	{
+		if (!text.startsWith(pLiteral, pos))
+		{
+			throw new IllegalArgumentException("Invalid JSON at " + pos);
+		}
+
+		pos += pLiteral.length();
+	}
+
+	/**
+	 * Skips whitespace.
+	 */
+	private void skipWhitespace()
+	{
+		while (pos < text.length()
+			   && Character.isWhitespace(text.charAt(pos)))
+		{
+			pos++;
+		}
+	}
+
+	/**
+	 * Gets the current character.
+	 * 
+	 * @return the character
+	 */
+	private char peek()
+	{
+		if (pos >= text.length())
+		{
+			throw new IllegalArgumentException("Unexpected end of JSON!");
+		}
+
+		return text.charAt(pos);
+	}
+
+	/**
+	 * Gets the current character and moves to the next.
+	 * 
+	 * @return the character
+	 */
+	private char next()
+	{
+		char ch = peek();
+
+		pos++;
+
+		return ch;
+	}
+
+} // Json
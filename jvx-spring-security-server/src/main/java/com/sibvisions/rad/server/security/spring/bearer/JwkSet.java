@@ -0,0 +1,369 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.bearer;
+
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Timer;
+import java.util.TimerTask;
+
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * The <code>JwkSet</code> caches the parsed public keys of a JSON web key set. The keys will be
+ * refreshed in the background, a token with an unknown key id triggers an immediate refresh, but not
+ * more often than the minimum refresh interval. If a refresh fails, the previous keys will be used.
+ * 
+ * Supported are RSA keys and EC keys with the curves P-256, P-384 and P-521.
+ * 
+ * e.g.:
+ * 
+ * <beans:bean id="jvxJwkSet" class="com.sibvisions.rad.server.security.spring.bearer.JwkSet">
+ *    <beans:constructor-arg>
+ *       <beans:bean class="com.sibvisions.rad.server.security.spring.bearer.UrlJwkSetSource">
+ *          <beans:constructor-arg value="https://login.example.com/.well-known/jwks.json" />
+ *       </beans:bean>
+ *    </beans:constructor-arg>
+ *    <beans:property name="refreshInterval" value="900000" />
+ * </beans:bean>
+ * 
+ * @author Thomas Krautinger
+ */
+public class JwkSet implements DisposableBean
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the key set source. */
+	private IJwkSetSource source;
+
+	/** the parsed keys per key id, replaced as a whole. */
+	private volatile Map<String, PublicKey> mpKeys = Collections.emptyMap();
+
+	/** the refresh timer. */
+	private Timer timer;
+
+	/** the time of the last load. */
+	private volatile long lastLoad;
+
+	/** the background refresh interval in milliseconds. */
+	private long refreshInterval = 900000;
+
+	/** the minimum interval between two loads in milliseconds. */
+	private long minRefreshInterval = 30000;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates a new instance of <code>JwkSet</code>.
+	 * 
+	 * @param pSource the key set source
+	 */
+	public JwkSet(IJwkSetSource pSource)
+	{
+		source = pSource;
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Interface implementation
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public synchronized void destroy()
+	{
+		if (timer != null)
+		{
+			timer.cancel();
+			timer = null;
+		}
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Gets the public key for the given key id.
+	 * 
+	 * @param pKeyId the key id or <code>null</code> if the token has no key id
+	 * @return the key or <code>null</code> if the key is unknown
+	 */
+	public PublicKey getKey(String pKeyId)
+	{
+		PublicKey key = findKey(mpKeys, pKeyId);
+
+		if (key == null)
+		{
+			// unknown key id, e.g. after a key rotation
+			synchronized (this)
+			{
+				key = findKey(mpKeys, pKeyId);
+
+				if (key == null
+					&& System.currentTimeMillis() - lastLoad >= minRefreshInterval)
+				{
+					refresh();
+
+					key = findKey(mpKeys, pKeyId);
+				}
+			}
+		}
+
+		return key;
+	}
+
+	/**
+	 * Loads the key set from the source and replaces the cached keys.
+	 * 
+	 * @return <code>true</code> if the key set was loaded, <code>false</code> if the previous keys
+	 *         will be used
+	 */
+	public synchronized boolean refresh()
+	{
+		lastLoad = System.currentTimeMillis();
+
+		startTimer();
+
+		try
+		{
+			mpKeys = parse(source.load());
+
+			return true;
+		}
+		catch (Exception e)
+		{
+			// keep the previous keys
+			return false;
+		}
+	}
+
+	/**
+	 * Finds the key in the given keys.
+	 * 
+	 * @param pKeys the keys
+	 * @param pKeyId the key id or <code>null</code> to use the only key
+	 * @return the key or <code>null</code> if not found
+	 */
+	private static PublicKey findKey(Map<String, PublicKey> pKeys, String pKeyId)
+	{
+		if (pKeyId == null)
+		{
+			if (pKeys.size() == 1)
+			{
+				return pKeys.values().iterator().next();
+			}
+
+			return null;
+		}
+
+		return pKeys.get(pKeyId);
+	}
+
+	/**
+	 * Starts the refresh timer, if not already started.
+	 */
+	private void startTimer()
+	{
+		if (timer == null
+			&& refreshInterval > 0)
+		{
+			timer = new Timer("JwkSet", true);
+			timer.schedule(new TimerTask()
+			{
+				@Override
+				public void run()
+				{
+					refresh();
+				}
+			}, refreshInterval, refreshInterval);
+		}
+	}
+
+	/**
+	 * Parses the public keys of a key set. Keys for encryption and unsupported keys will be ignored.
+	 * 
+	 * @param pKeySet the key set as JSON
+	 * @return the keys per key id
+	 * @throws Exception if the key set is invalid
+	 */
+	@SuppressWarnings("unchecked")
+	protected Map<String, PublicKey> parse(String pKeySet) throws Exception
+	{
+		Object oKeys = Json.parseObject(pKeySet).get("keys");
+
+		if (!(oKeys instanceof List))
+		{
+			throw new IllegalArgumentException("Invalid key set!");
+		}
+
+		Map<String, PublicKey> mpParsed = new HashMap<String, PublicKey>();
+
+		List<Object> liKeys = (List<Object>) oKeys;
+
+		for (int i = 0, ic = liKeys.size(); i < ic; i++)
+		{
+			if (liKeys.get(i) instanceof Map)
+			{
+				Map<String, Object> mpKey = (Map<String, Object>) liKeys.get(i);
+
+				if (!"enc".equals(mpKey.get("use")))
+				{
+					PublicKey key = createKey(mpKey);
+
+					if (key != null)
+					{
+						String sKeyId = (String) mpKey.get("kid");
+
+						mpParsed.put(sKeyId == null ? "" : sKeyId, key);
+					}
+				}
+			}
+		}
+
+		return mpParsed;
+	}
+
+	/**
+	 * Creates the public key of a JSON web key.
+	 * 
+	 * @param pKey the JSON web key
+	 * @return the key or <code>null</code> if the key type is not supported
+	 * @throws Exception if the key is invalid
+	 */
+	protected PublicKey createKey(Map<String, Object> pKey) throws Exception
+	{
+		Object oType = pKey.get("kty");
+
+		if ("RSA".equals(oType))
+		{
+			return KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(getUnsigned(pKey, "n"), getUnsigned(pKey, "e")));
+		}
+		else if ("EC".equals(oType))
+		{
+			String sCurve;
+
+			Object oCurve = pKey.get("crv");
+
+			if ("P-256".equals(oCurve))
+			{
+				sCurve = "secp256r1";
+			}
+			else if ("P-384".equals(oCurve))
+			{
+				sCurve = "secp384r1";
+			}
+			else if ("P-521".equals(oCurve))
+			{
+				sCurve = "secp521r1";
+			}
+			else
+			{
+				return null;
+			}
+
+			AlgorithmParameters params = AlgorithmParameters.getInstance("EC");
+			params.init(new ECGenParameterSpec(sCurve));
+
+			ECPoint point = new ECPoint(getUnsigned(pKey, "x"), getUnsigned(pKey, "y"));
+
+			return KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(point, params.getParameterSpec(ECParameterSpec.class)));
+		}
+
+		return null;
+	}
+
+	/**
+	 * Gets a base64url encoded unsigned integer of a JSON web key.
+	 * 
+	 * @param pKey the JSON web key
+	 * @param pName the member name
+	 * @return the integer
+	 */
+	private static BigInteger getUnsigned(Map<String, Object> pKey, String pName)
+	{
+		Object oValue = pKey.get(pName);
+
+		if (!(oValue instanceof String))
+		{
+			throw new IllegalArgumentException("Invalid key member '" + pName + "'!");
+		}
+
+		return new BigInteger(1, Base64.getUrlDecoder().decode((String) oValue));
+	}
+
+	/**
+	 * Gets the background refresh interval.
+	 * 
+	 * @return the interval in milliseconds
+	 */
+	public long getRefreshInterval()
+	{
+		return refreshInterval;
+	}
+
+	/**
+	 * Sets the background refresh interval.
+	 * 
+	 * @param pRefreshInterval the interval in milliseconds, <code>0</code> to disable the background refresh
+	 */
+	public void setRefreshInterval(long pRefreshInterval)
+	{
+		refreshInterval = pRefreshInterval;
+	}
+
+	/**
+	 * Gets the minimum interval between two loads, for tokens with unknown key ids.
+	 * 
+	 * @return the interval in milliseconds
+	 */
+	public long getMinRefreshInterval()
+	{
+		return minRefreshInterval;
+	}
+
+	/**
+	 * Sets the minimum interval between two loads, for tokens with unknown key ids.
+	 * 
+	 * @param pMinRefreshInterval the interval in milliseconds
+	 */
+	public void setMinRefreshInterval(long pMinRefreshInterval)
+	{
+		minRefreshInterval = pMinRefreshInterval;
+	}
+
+} // JwkSet
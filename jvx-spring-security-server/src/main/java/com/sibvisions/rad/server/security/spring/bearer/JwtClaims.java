@@ -0,0 +1,182 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.bearer;
+
+import java.io.Serializable;
+import java.security.Principal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The <code>JwtClaims</code> are the verified claims of a bearer token. It is the principal of the
+ * authentication, created by the {@link BearerTokenAuthenticationFilter}.
+ * 
+ * @author Thomas Krautinger
+ */
+public final class JwtClaims implements Principal,
+                                        Serializable
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Constants
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the serial version UID. */
+	private static final long serialVersionUID = 1L;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the claims. */
+	private Map<String, Object> claims;
+
+	/** the user name. */
+	private String name;
+
+	/** the expiry time in milliseconds or <code>-1</code> if the token doesn't expire. */
+	private long expires;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates a new instance of <code>JwtClaims</code>.
+	 * 
+	 * @param pClaims the claims
+	 * @param pName the user name
+	 * @param pExpires the expiry time in milliseconds or <code>-1</code> if the token doesn't expire
+	 */
+	JwtClaims(Map<String, Object> pClaims, String pName, long pExpires)
+	{
+		claims = Collections.unmodifiableMap(pClaims);
+		name = pName;
+		expires = pExpires;
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Interface implementation
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public String getName()
+	{
+		return name;
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Overwritten methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return name;
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Gets all claims.
+	 * 
+	 * @return the unmodifiable claims
+	 */
+	public Map<String, Object> getClaims()
+	{
+		return claims;
+	}
+
+	/**
+	 * Gets a claim. Nested claims can be accessed with a dot separated path, e.g.
+	 * <code>realm_access.roles</code>.
+	 * 
+	 * @param pName the claim name or path
+	 * @return the value, a {@link String}, {@link Number}, {@link Boolean}, {@link List} or {@link Map},
+	 *         or <code>null</code> if the claim is not available
+	 */
+	@SuppressWarnings("unchecked")
+	public Object getClaim(String pName)
+	{
+		Object oValue = claims.get(pName);
+
+		if (oValue == null
+			&& pName.indexOf('.') > 0)
+		{
+			oValue = claims;
+
+			String[] sPath = pName.split("\\.");
+
+			for (int i = 0; i < sPath.length; i++)
+			{
+				if (!(oValue instanceof Map))
+				{
+					return null;
+				}
+
+				oValue = ((Map<String, Object>) oValue).get(sPath[i]);
+			}
+		}
+
+		return oValue;
+	}
+
+	/**
+	 * Gets a claim as string.
+	 * 
+	 * @param pName the claim name or path
+	 * @return the value or <code>null</code> if the claim is not available
+	 */
+	public String getString(String pName)
+	{
+		Object oValue = getClaim(pName);
+
+		return oValue == null ? null : oValue.toString();
+	}
+
+	/**
+	 * Gets the expiry time.
+	 * 
+	 * @return the time in milliseconds or <code>-1</code> if the token doesn't expire
+	 */
+	public long getExpires()
+	{
+		return expires;
+	}
+
+	/**
+	 * Gets whether the token is expired.
+	 * 
+	 * @return <code>true</code> if the token is expired
+	 */
+	public boolean isExpired()
+	{
+		return expires >= 0 && expires <= System.currentTimeMillis();
+	}
+
+} // JwtClaims
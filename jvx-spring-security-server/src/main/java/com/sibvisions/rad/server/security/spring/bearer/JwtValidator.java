@@ -0,0 +1,465 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ * 19.10.2026 - [TK] - expiry time required
+ * 19.10.2026 - [TK] - every parse failure is a bad credential
+ */
+package com.sibvisions.rad.server.security.spring.bearer;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * The <code>JwtValidator</code> verifies signed JSON web tokens with the keys of a {@link JwkSet}.
+ * Supported are the algorithms RS256, RS384, RS512, ES256, ES384 and ES512. Unsigned tokens and tokens
+ * with symmetric algorithms will be rejected.
+ * 
+ * Besides the signature, the expiry time, the not-before time and optional issuer and audience will be
+ * checked. Tokens without expiry time will be rejected, unless {@link #setExpiryRequired(boolean)} is
+ * disabled.
+ * 
+ * e.g.:
+ * 
+ * <beans:bean id="jvxJwtValidator" class="com.sibvisions.rad.server.security.spring.bearer.JwtValidator">
+ *    <beans:constructor-arg ref="jvxJwkSet" />
+ *    <beans:property name="issuer" value="https://login.example.com" />
+ *    <beans:property name="audience" value="myapp" />
+ * </beans:bean>
+ * 
+ * @author Thomas Krautinger
+ */
+public class JwtValidator
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Constants
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the charset of header and claims. */
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	/** the maximum length of a compact serialized token. */
+	private static final int MAX_TOKEN_LENGTH = 16 * 1024;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the key set. */
+	private JwkSet jwkSet;
+
+	/** the expected issuer. */
+	private String issuer;
+
+	/** the expected audience. */
+	private String audience;
+
+	/** the claim with the user name. */
+	private String usernameClaim = "sub";
+
+	/** the allowed clock skew in milliseconds. */
+	private long clockSkew = 60000;
+
+	/** whether tokens without expiry time will be rejected. */
+	private boolean expiryRequired = true;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates a new instance of <code>JwtValidator</code>.
+	 * 
+	 * @param pJwkSet the key set
+	 */
+	public JwtValidator(JwkSet pJwkSet)
+	{
+		jwkSet = pJwkSet;
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Validates a token. Malformed tokens, e.g. too long or too deeply nested header and claims, will be
+	 * rejected with a {@link BadCredentialsException}.
+	 * 
+	 * @param pToken the compact serialized token
+	 * @return the verified claims
+	 * @throws AuthenticationException if the token is invalid or expired
+	 */
+	@SuppressWarnings("unchecked")
+	public JwtClaims validate(String pToken) throws AuthenticationException
+	{
+		if (pToken.length() > MAX_TOKEN_LENGTH)
+		{
+			throw new BadCredentialsException("Token exceeds " + MAX_TOKEN_LENGTH + " characters!");
+		}
+
+		int iHeaderEnd = pToken.indexOf('.');
+		int iClaimsEnd = iHeaderEnd < 0 ? -1 : pToken.indexOf('.', iHeaderEnd + 1);
+
+		if (iClaimsEnd < 0
+			|| pToken.indexOf('.', iClaimsEnd + 1) >= 0)
+		{
+			throw new BadCredentialsException("Invalid token format!");
+		}
+
+		Map<String, Object> mpHeader;
+		Map<String, Object> mpClaims;
+		byte[] bySignature;
+
+		try
+		{
+			Base64.Decoder decoder = Base64.getUrlDecoder();
+
+			mpHeader = Json.parseObject(new String(decoder.decode(pToken.substring(0, iHeaderEnd)), UTF8));
+			mpClaims = Json.parseObject(new String(decoder.decode(pToken.substring(iHeaderEnd + 1, iClaimsEnd)), UTF8));
+			bySignature = decoder.decode(pToken.substring(iClaimsEnd + 1));
+		}
+		catch (RuntimeException re)
+		{
+			// the token is not trusted, so no parse failure should escape as server error
+			throw new BadCredentialsException("Invalid token format!", re);
+		}
+
+		Object oAlgorithm = mpHeader.get("alg");
+		Object oKeyId = mpHeader.get("kid");
+
+		String sAlgorithm = getSignatureAlgorithm(oAlgorithm);
+
+		if (sAlgorithm == null)
+		{
+			throw new BadCredentialsException("Unsupported token algorithm: " + oAlgorithm);
+		}
+
+		PublicKey key = jwkSet.getKey(oKeyId instanceof String ? (String) oKeyId : null);
+
+		if (key == null
+			|| !key.getAlgorithm().equals(sAlgorithm.endsWith("RSA") ? "RSA" : "EC"))
+		{
+			throw new BadCredentialsException("Unknown token key: " + oKeyId);
+		}
+
+		if (!verify(sAlgorithm, key, pToken.substring(0, iClaimsEnd).getBytes(UTF8), bySignature))
+		{
+			throw new BadCredentialsException("Invalid token signature!");
+		}
+
+		long lNow = System.currentTimeMillis();
+
+		long lExpires = getTime(mpClaims, "exp");
+
+		if (lExpires < 0
+			&& expiryRequired)
+		{
+			throw new BadCredentialsException("Token without expiry time!");
+		}
+
+		if (lExpires >= 0
+			&& lExpires + clockSkew <= lNow)
+		{
+			throw new CredentialsExpiredException("Token expired!");
+		}
+
+		long lNotBefore = getTime(mpClaims, "nbf");
+
+		if (lNotBefore - clockSkew > lNow)
+		{
+			throw new BadCredentialsException("Token not yet valid!");
+		}
+
+		if (issuer != null
+			&& !issuer.equals(mpClaims.get("iss")))
+		{
+			throw new BadCredentialsException("Invalid token issuer: " + mpClaims.get("iss"));
+		}
+
+		if (audience != null)
+		{
+			Object oAudience = mpClaims.get("aud");
+
+			if (!(audience.equals(oAudience)
+				  || (oAudience instanceof List && ((List<Object>) oAudience).contains(audience))))
+			{
+				throw new BadCredentialsException("Invalid token audience: " + oAudience);
+			}
+		}
+
+		Object oName = mpClaims.get(usernameClaim);
+
+		if (oName == null)
+		{
+			throw new BadCredentialsException("Token without user name claim '" + usernameClaim + "'!");
+		}
+
+		return new JwtClaims(mpClaims, oName.toString(), lExpires);
+	}
+
+	/**
+	 * Verifies the signature.
+	 * 
+	 * @param pAlgorithm the JCA signature algorithm
+	 * @param pKey the public key
+	 * @param pContent the signed content
+	 * @param pSignature the signature
+	 * @return <code>true</code> if the signature is valid
+	 */
+	private static boolean verify(String pAlgorithm, PublicKey pKey, byte[] pContent, byte[] pSignature)
+	{
+		try
+		{
+			byte[] bySignature = pSignature;
+
+			if (pAlgorithm.endsWith("ECDSA"))
+			{
+				bySignature = toDer(pSignature);
+
+				if (bySignature == null)
+				{
+					return false;
+				}
+			}
+
+			Signature signature = Signature.getInstance(pAlgorithm);
+			signature.initVerify(pKey);
+			signature.update(pContent);
+
+			return signature.verify(bySignature);
+		}
+		catch (GeneralSecurityException gse)
+		{
+			return false;
+		}
+	}
+
+	/**
+	 * Converts a JWS ECDSA signature (R and S concatenated) to the DER format of the JCA.
+	 * 
+	 * @param pSignature the JWS signature
+	 * @return the DER signature or <code>null</code> if the signature is invalid
+	 */
+	private static byte[] toDer(byte[] pSignature)
+	{
+		if (pSignature.length == 0
+			|| pSignature.length % 2 != 0)
+		{
+			return null;
+		}
+
+		int iLen = pSignature.length / 2;
+
+		byte[] byR = new BigInteger(1, Arrays.copyOfRange(pSignature, 0, iLen)).toByteArray();
+		byte[] byS = new BigInteger(1, Arrays.copyOfRange(pSignature, iLen, pSignature.length)).toByteArray();
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+		int iSeqLen = 2 + byR.length + 2 + byS.length;
+
+		baos.write(0x30);
+
+		if (iSeqLen >= 128)
+		{
+			baos.write(0x81);
+		}
+
+		baos.write(iSeqLen);
+		baos.write(0x02);
+		baos.write(byR.length);
+		baos.write(byR, 0, byR.length);
+		baos.write(0x02);
+		baos.write(byS.length);
+		baos.write(byS, 0, byS.length);
+
+		return baos.toByteArray();
+	}
+
+	/**
+	 * Gets the JCA signature algorithm for a JWS algorithm.
+	 * 
+	 * @param pAlgorithm the JWS algorithm
+	 * @return the JCA algorithm or <code>null</code> if the algorithm is not supported
+	 */
+	private static String getSignatureAlgorithm(Object pAlgorithm)
+	{
+		if ("RS256".equals(pAlgorithm))
+		{
+			return "SHA256withRSA";
+		}
+		else if ("RS384".equals(pAlgorithm))
+		{
+			return "SHA384withRSA";
+		}
+		else if ("RS512".equals(pAlgorithm))
+		{
+			return "SHA512withRSA";
+		}
+		else if ("ES256".equals(pAlgorithm))
+		{
+			return "SHA256withECDSA";
+		}
+		else if ("ES384".equals(pAlgorithm))
+		{
+			return "SHA384withECDSA";
+		}
+		else if ("ES512".equals(pAlgorithm))
+		{
+			return "SHA512withECDSA";
+		}
+
+		return null;
+	}
+
+	/**
+	 * Gets a numeric date claim.
+	 * 
+	 * @param pClaims the claims
+	 * @param pName the claim name
+	 * @return the time in milliseconds or <code>-1</code> if the claim is not available
+	 */
+	private static long getTime(Map<String, Object> pClaims, String pName)
+	{
+		Object oValue = pClaims.get(pName);
+
+		if (oValue instanceof Number)
+		{
+			return (long) (((Number) oValue).doubleValue() * 1000);
+		}
+		else if (oValue != null)
+		{
+			throw new BadCredentialsException("Invalid token claim '" + pName + "'!");
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Gets the expected issuer.
+	 * 
+	 * @return the issuer or <code>null</code> if the issuer is not checked
+	 */
+	public String getIssuer()
+	{
+		return issuer;
+	}
+
+	/**
+	 * Sets the expected issuer.
+	 * 
+	 * @param pIssuer the issuer or <code>null</code> to accept all issuers
+	 */
+	public void setIssuer(String pIssuer)
+	{
+		issuer = pIssuer;
+	}
+
+	/**
+	 * Gets the expected audience.
+	 * 
+	 * @return the audience or <code>null</code> if the audience is not checked
+	 */
+	public String getAudience()
+	{
+		return audience;
+	}
+
+	/**
+	 * Sets the expected audience.
+	 * 
+	 * @param pAudience the audience or <code>null</code> to accept all audiences
+	 */
+	public void setAudience(String pAudience)
+	{
+		audience = pAudience;
+	}
+
+	/**
+	 * Gets the claim with the user name.
+	 * 
+	 * @return the claim name
+	 */
+	public String getUsernameClaim()
+	{
+		return usernameClaim;
+	}
+
+	/**
+	 * Sets the claim with the user name, e.g. <code>preferred_username</code>.
+	 * 
+	 * @param pUsernameClaim the claim name
+	 */
+	public void setUsernameClaim(String pUsernameClaim)
+	{
+		usernameClaim = pUsernameClaim;
+	}
+
+	/**
+	 * Gets the allowed clock skew for the expiry and not-before time.
+	 * 
+	 * @return the clock skew in milliseconds
+	 */
+	public long getClockSkew()
+	{
+		return clockSkew;
+	}
+
+	/**
+	 * Sets the allowed clock skew for the expiry and not-before time.
+	 * 
+	 * @param pClockSkew the clock skew in milliseconds
+	 */
+	public void setClockSkew(long pClockSkew)
+	{
+		clockSkew = pClockSkew;
+	}
+
+	/**
+	 * Gets whether tokens without expiry time will be rejected.
+	 * 
+	 * @return <code>true</code> if the expiry time is required
+	 */
+	public boolean isExpiryRequired()
+	{
+		return expiryRequired;
+	}
+
+	/**
+	 * Sets whether tokens without expiry time should be rejected. Only disable this check if the tokens
+	 * are revoked otherwise.
+	 * 
+	 * @param pExpiryRequired <code>false</code> to accept tokens without expiry time
+	 */
+	public void setExpiryRequired(boolean pExpiryRequired)
+	{
+		expiryRequired = pExpiryRequired;
+	}
+
+} // JwtValidator
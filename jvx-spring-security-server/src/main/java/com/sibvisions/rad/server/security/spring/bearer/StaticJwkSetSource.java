@@ -0,0 +1,100 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.bearer;
+
+/**
+ * The <code>StaticJwkSetSource</code> is a local key set, without authorization server. It can be used
+ * as stand-in for the JWKS endpoint during development and tests. The key set can be replaced at any
+ * time, to simulate a key rotation.
+ * 
+ * e.g.:
+ * 
+ * <beans:bean class="com.sibvisions.rad.server.security.spring.bearer.StaticJwkSetSource">
+ *    <beans:constructor-arg value='{"keys":[{"kty":"RSA","kid":"dev","n":"...","e":"AQAB"}]}' />
+ * </beans:bean>
+ * 
+ * @author Thomas Krautinger
+ */
+public class StaticJwkSetSource implements IJwkSetSource
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the key set. */
+	private volatile String keySet;
+
+	/** the number of loads. */
+	private volatile int loadCount;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates a new instance of <code>StaticJwkSetSource</code>.
+	 * 
+	 * @param pKeySet the key set as JSON
+	 */
+	public StaticJwkSetSource(String pKeySet)
+	{
+		keySet = pKeySet;
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Interface implementation
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public String load()
+	{
+		loadCount++;
+
+		return keySet;
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Sets the key set.
+	 * 
+	 * @param pKeySet the key set as JSON
+	 */
+	public void setKeySet(String pKeySet)
+	{
+		keySet = pKeySet;
+	}
+
+	/**
+	 * Gets how often the key set was loaded.
+	 * 
+	 * @return the number of loads
+	 */
+	public int getLoadCount()
+	{
+		return loadCount;
+	}
+
+} // StaticJwkSetSource
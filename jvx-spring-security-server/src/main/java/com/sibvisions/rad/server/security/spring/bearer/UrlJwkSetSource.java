@@ -0,0 +1,131 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.bearer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+
+/**
+ * The <code>UrlJwkSetSource</code> loads the key set from a URL, e.g. the <code>jwks_uri</code> of an
+ * authorization server.
+ * 
+ * @author Thomas Krautinger
+ */
+public class UrlJwkSetSource implements IJwkSetSource
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the key set URL. */
+	private URL url;
+
+	/** the connect and read timeout in milliseconds. */
+	private int timeout = 5000;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates a new instance of <code>UrlJwkSetSource</code>.
+	 * 
+	 * @param pUrl the key set URL
+	 * @throws IOException if the URL is invalid
+	 */
+	public UrlJwkSetSource(String pUrl) throws IOException
+	{
+		url = new URL(pUrl);
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Interface implementation
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public String load() throws IOException
+	{
+		URLConnection connection = url.openConnection();
+		connection.setConnectTimeout(timeout);
+		connection.setReadTimeout(timeout);
+		connection.setUseCaches(false);
+		connection.setRequestProperty("Accept", "application/json");
+
+		if (connection instanceof HttpURLConnection
+			&& ((HttpURLConnection) connection).getResponseCode() != HttpURLConnection.HTTP_OK)
+		{
+			throw new IOException("Key set not available: " + url + " (" + ((HttpURLConnection) connection).getResponseCode() + ")");
+		}
+
+		InputStream stream = connection.getInputStream();
+
+		try
+		{
+			ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+			byte[] byBuffer = new byte[4096];
+
+			int iLen;
+
+			while ((iLen = stream.read(byBuffer)) >= 0)
+			{
+				baos.write(byBuffer, 0, iLen);
+			}
+
+			return new String(baos.toByteArray(), "UTF-8");
+		}
+		finally
+		{
+			stream.close();
+		}
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Gets the connect and read timeout.
+	 * 
+	 * @return the timeout in milliseconds
+	 */
+	public int getTimeout()
+	{
+		return timeout;
+	}
+
+	/**
+	 * Sets the connect and read timeout.
+	 * 
+	 * @param pTimeout the timeout in milliseconds
+	 */
+	public void setTimeout(int pTimeout)
+	{
+		timeout = pTimeout;
+	}
+
+} // UrlJwkSetSource
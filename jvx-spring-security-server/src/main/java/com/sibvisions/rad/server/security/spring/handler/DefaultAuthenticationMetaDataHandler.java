@@ -17,16 +17,17 @@
  * History
  * 
  * 04.02.2015 - [TK] - creation
+ * 19.10.2026 - [TK] - role mapping and work-screen index
+ * 19.10.2026 - [TK] - shared life-cycle object resolution
  */
 package com.sibvisions.rad.server.security.spring.handler;
 
-import java.util.Collection;
 import java.util.Hashtable;
 
 import jvx.rad.persist.MetaData;
+import jvx.rad.server.IConfiguration;
 
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import com.sibvisions.util.ArrayUtil;
@@ -52,6 +53,9 @@ public class DefaultAuthenticationMetaDataHandler implements ISpringMetaDataHand
 	/** The cached roles of the user details. */
 	private String[] sRoles = null;
 	
+	/** The cached work-screens of the user. */
+	private String[][] sWorkScreens = null;
+	
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// Initialization
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -116,28 +120,7 @@ public class DefaultAuthenticationMetaDataHandler implements ISpringMetaDataHand
 	{
 		if (sRoles == null)
 		{
-			ArrayUtil<String> auRoles = new ArrayUtil<String>();
-			
-			Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
-			
-			for (GrantedAuthority authority : authorities)
-			{
-				if (!auRoles.contains(authority.getAuthority()))
-				{
-					String sAuthority = authority.getAuthority().trim();
-					
-					if (sAuthority.startsWith("[")
-						&& sAuthority.endsWith("]"))
-					{
-						sAuthority = sAuthority.substring(1, sAuthority.length() - 1).trim();
-					}
-					
-					auRoles.add(sAuthority);
-				}
-			}
-			
-			sRoles = new String[auRoles.size()];
-			auRoles.toArray(sRoles);
+			sRoles = RoleMapper.getInstance(properties).map(authentication.getAuthorities());
 		}
 		
 		return sRoles;
@@ -148,7 +131,24 @@ public class DefaultAuthenticationMetaDataHandler implements ISpringMetaDataHand
 	 */
 	public String[][] getWorkScreens()
 	{
-		return null;
+		if (sWorkScreens == null)
+		{
+			try
+			{
+				WorkScreenIndex index = WorkScreenIndex.getInstance((IConfiguration) properties.get("configuration"));
+				
+				if (index != null)
+				{
+					sWorkScreens = index.getWorkScreens(getRoles());
+				}
+			}
+			catch (Exception e)
+			{
+				throw new SecurityException("Access denied! Cannot read the work-screen configuration.", e);
+			}
+		}
+		
+		return sWorkScreens;
 	}
 
 	/**
@@ -156,7 +156,7 @@ public class DefaultAuthenticationMetaDataHandler implements ISpringMetaDataHand
 	 */
 	public String[] getLifecycleObjects()
 	{
-		return null;
+		return getLifecycleObjects(getWorkScreens());
 	}
 
 	/**
@@ -171,6 +171,33 @@ public class DefaultAuthenticationMetaDataHandler implements ISpringMetaDataHand
     // User-defined methods
     //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	
+	/**
+	 * Gets the distinct life-cycle objects of the given work-screens.
+	 * 
+	 * @param pWorkScreens the work-screens
+	 * @return the life-cycle objects or <code>null</code> if there are no work-screens
+	 */
+	static String[] getLifecycleObjects(String[][] pWorkScreens)
+	{
+		if (pWorkScreens == null)
+		{
+			return null;
+		}
+		
+		ArrayUtil<String> auLifeCycleObjects = new ArrayUtil<String>();
+		
+		for (int i = 0; i < pWorkScreens.length; i++)
+		{
+			if (pWorkScreens[i][1] != null
+				&& !auLifeCycleObjects.contains(pWorkScreens[i][1]))
+			{
+				auLifeCycleObjects.add(pWorkScreens[i][1]);
+			}
+		}
+		
+		return auLifeCycleObjects.toArray(new String[auLifeCycleObjects.size()]);
+	}
+	
 	/**
 	 * Gets the properties.
 	 * 
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.handler;
+
+import java.util.Hashtable;
+
+/**
+ * The <code>IMetaDataHandlerFactory</code> creates {@link ISpringMetaDataHandler}s without reflection.
+ * Factories will be found with the {@link java.util.ServiceLoader} and registered by name and by
+ * handler class name, see {@link MetaDataHandlerFactories}.
+ * 
+ * @author Thomas Krautinger
+ */
+public interface IMetaDataHandlerFactory
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Method definitions
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Gets the name of the factory, e.g. <code>snapshot</code>.
+	 * 
+	 * @return the name
+	 */
+	public String getName();
+
+	/**
+	 * Gets the class of the created handlers.
+	 * 
+	 * @return the handler class
+	 */
+	public Class<? extends ISpringMetaDataHandler> getHandlerClass();
+
+	/**
+	 * Creates a new metadata handler.
+	 * 
+	 * @param pProperties the properties
+	 * @return the handler
+	 */
+	public ISpringMetaDataHandler createHandler(Hashtable<String, Object> pProperties);
+
+} // IMetaDataHandlerFactory
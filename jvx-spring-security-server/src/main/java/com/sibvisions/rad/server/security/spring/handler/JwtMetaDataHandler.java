@@ -0,0 +1,130 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.handler;
+
+import java.util.Hashtable;
+
+import org.springframework.security.core.Authentication;
+
+import com.sibvisions.rad.server.security.spring.bearer.JwtClaims;
+
+/**
+ * The <code>JwtMetaDataHandler</code> maps the verified claims of a bearer token to the JVx session.
+ * The user name is the configured user name claim of the token, the roles are the authorities of the
+ * roles claim. The handler is valid until the token expires. It will be used automatically for
+ * authentications of the
+ * {@link com.sibvisions.rad.server.security.spring.bearer.BearerTokenAuthenticationFilter}, if no
+ * other metadata handler is configured.
+ * 
+ * @author Thomas Krautinger
+ */
+public class JwtMetaDataHandler extends DefaultAuthenticationMetaDataHandler
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the verified claims. */
+	private JwtClaims claims;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates a new instance of <code>JwtMetaDataHandler</code>.
+	 * 
+	 * @param pProperties the properties.
+	 */
+	public JwtMetaDataHandler(Hashtable<String, Object> pProperties)
+	{
+		super(pProperties);
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Interface implementation
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getUsername()
+	{
+		return claims.getName();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getPassword()
+	{
+		// the token is not a password
+		return null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isValid()
+	{
+		return !claims.isExpired();
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Overwritten methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setProperties(Hashtable<String, Object> pProperties)
+	{
+		super.setProperties(pProperties);
+
+		Object principal = ((Authentication) pProperties.get("authentication")).getPrincipal();
+
+		if (!(principal instanceof JwtClaims))
+		{
+			throw new IllegalArgumentException("The authentication is not a bearer token authentication");
+		}
+
+		claims = (JwtClaims) principal;
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Gets the verified claims of the token.
+	 * 
+	 * @return the claims
+	 */
+	public JwtClaims getClaims()
+	{
+		return claims;
+	}
+
+} // JwtMetaDataHandler
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.handler;
+
+import java.util.Hashtable;
+
+/**
+ * The <code>JwtMetaDataHandlerFactory</code> creates the {@link JwtMetaDataHandler}, with the name <code>jwt</code>.
+ * 
+ * @author Thomas Krautinger
+ */
+public class JwtMetaDataHandlerFactory implements IMetaDataHandlerFactory
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Interface implementation
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public String getName()
+	{
+		return "jwt";
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Class<? extends ISpringMetaDataHandler> getHandlerClass()
+	{
+		return JwtMetaDataHandler.class;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public ISpringMetaDataHandler createHandler(Hashtable<String, Object> pProperties)
+	{
+		return new JwtMetaDataHandler(pProperties);
+	}
+
+} // JwtMetaDataHandlerFactory
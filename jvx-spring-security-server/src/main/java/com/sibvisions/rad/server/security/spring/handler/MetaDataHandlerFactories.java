@@ -0,0 +1,214 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ * 19.10.2026 - [TK] - built-in factories without class loader, soft references to loaded services
+ */
+package com.sibvisions.rad.server.security.spring.handler;
+
+import java.lang.ref.SoftReference;
+import java.util.Hashtable;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.WeakHashMap;
+
+/**
+ * The <code>MetaDataHandlerFactories</code> is the registry of {@link IMetaDataHandlerFactory}s per
+ * class loader. Every factory is registered by its name and by the class name of its handlers, the
+ * first registration wins.
+ * 
+ * The built-in factories <code>default</code>, <code>snapshot</code> and <code>jwt</code> are always
+ * registered. Other factories will be loaded per class loader, with the {@link ServiceLoader} from
+ * <code>META-INF/services/com.sibvisions.rad.server.security.spring.handler.IMetaDataHandlerFactory</code>,
+ * but only if a name is not registered. So the class path will not be scanned for built-in handlers.
+ * 
+ * The loaded factories reference their class loader, so they are only softly referenced. Otherwise the
+ * class loader of an undeployed application would never be collected. If the garbage collector clears
+ * the factories, they will be loaded again.
+ * 
+ * Handlers of registered factories will be created without reflection, which is faster on a cold JVM
+ * and works in AOT compiled images without additional reflection metadata.
+ * 
+ * @author Thomas Krautinger
+ */
+public final class MetaDataHandlerFactories
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the built-in factories. */
+	private static final Registry BUILTIN = new Registry();
+
+	/** the factories of the services per class loader. */
+	private static final Map<ClassLoader, SoftReference<Registry>> REGISTRIES = new WeakHashMap<ClassLoader, SoftReference<Registry>>();
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Invisible constructor, because the <code>MetaDataHandlerFactories</code> is a utility class.
+	 */
+	private MetaDataHandlerFactories()
+	{
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Gets the factory with the given name or handler class name.
+	 * 
+	 * @param pLoader the class loader
+	 * @param pName the factory name or the handler class name
+	 * @return the factory or <code>null</code> if no factory is registered with the name
+	 */
+	public static IMetaDataHandlerFactory get(ClassLoader pLoader, String pName)
+	{
+		if (pName == null)
+		{
+			return null;
+		}
+
+		IMetaDataHandlerFactory factory = BUILTIN.factories.get(pName);
+
+		if (factory == null)
+		{
+			factory = getRegistry(pLoader).factories.get(pName);
+		}
+
+		return factory;
+	}
+
+	/**
+	 * Gets the registry with the factories of the services of a class loader.
+	 * 
+	 * @param pLoader the class loader
+	 * @return the registry
+	 */
+	private static Registry getRegistry(ClassLoader pLoader)
+	{
+		synchronized (REGISTRIES)
+		{
+			SoftReference<Registry> sref = REGISTRIES.get(pLoader);
+
+			Registry registry = sref != null ? sref.get() : null;
+
+			if (registry == null)
+			{
+				registry = new Registry(pLoader);
+
+				REGISTRIES.put(pLoader, new SoftReference<Registry>(registry));
+			}
+
+			return registry;
+		}
+	}
+
+	/**
+	 * Checks whether the service iterator has more factories.
+	 * 
+	 * @param pIterator the service iterator
+	 * @return <code>true</code> if more factories are available
+	 */
+	private static boolean hasNext(Iterator<IMetaDataHandlerFactory> pIterator)
+	{
+		try
+		{
+			return pIterator.hasNext();
+		}
+		catch (ServiceConfigurationError sce)
+		{
+			return false;
+		}
+	}
+
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+
+	/**
+	 * The <code>Registry</code> contains the built-in factories or the factories of a class loader.
+	 * 
+	 * @author Thomas Krautinger
+	 */
+	private static final class Registry
+	{
+		/** the factories per name and handler class name. */
+		private Hashtable<String, IMetaDataHandlerFactory> factories = new Hashtable<String, IMetaDataHandlerFactory>();
+
+		/**
+		 * Creates a new instance of <code>Registry</code> with the built-in factories.
+		 */
+		private Registry()
+		{
+			register(new DefaultMetaDataHandlerFactory());
+			register(new SnapshotMetaDataHandlerFactory());
+			register(new JwtMetaDataHandlerFactory());
+		}
+
+		/**
+		 * Creates a new instance of <code>Registry</code> with the factories of the services.
+		 * 
+		 * @param pLoader the class loader
+		 */
+		private Registry(ClassLoader pLoader)
+		{
+			Iterator<IMetaDataHandlerFactory> it = ServiceLoader.load(IMetaDataHandlerFactory.class, pLoader).iterator();
+
+			while (hasNext(it))
+			{
+				try
+				{
+					register(it.next());
+				}
+				catch (ServiceConfigurationError sce)
+				{
+					// ignore broken registrations, the handler class can still be used
+				}
+			}
+		}
+
+		/**
+		 * Registers a factory by name and handler class name, if not already registered.
+		 * 
+		 * @param pFactory the factory
+		 */
+		private void register(IMetaDataHandlerFactory pFactory)
+		{
+			if (pFactory.getName() != null
+				&& !factories.containsKey(pFactory.getName()))
+			{
+				factories.put(pFactory.getName(), pFactory);
+			}
+
+			String sClassName = pFactory.getHandlerClass().getName();
+
+			if (!factories.containsKey(sClassName))
+			{
+				factories.put(sClassName, pFactory);
+			}
+		}
+
+	}	// Registry
+
+} // MetaDataHandlerFactories
@@ -0,0 +1,473 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ * 19.10.2026 - [TK] - numeric order of rename rules, mappers per configuration node
+ * 19.10.2026 - [TK] - no static cache of mappers without configuration node
+ */
+package com.sibvisions.rad.server.security.spring.handler;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import jvx.rad.server.IConfiguration;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import com.sibvisions.util.ArrayUtil;
+import com.sibvisions.util.xml.XmlNode;
+
+/**
+ * The <code>RoleMapper</code> maps granted authorities to role names. The mapping rules are read from
+ * the metadata handler properties with the prefix <code>role.mapping.</code>:
+ * 
+ * <ul>
+ *   <li><code>role.mapping.prefix</code>: comma separated prefixes which will be removed, e.g. <code>ROLE_,GRP_</code></li>
+ *   <li><code>role.mapping.include</code>: only authorities matching the regular expression will be used</li>
+ *   <li><code>role.mapping.exclude</code>: authorities matching the regular expression will be ignored</li>
+ *   <li><code>role.mapping.rename.&lt;n&gt;</code>: <code>regex -&gt; replacement</code>, the first matching rule, ordered by the number <code>n</code>, renames the role</li>
+ *   <li><code>role.mapping.hierarchy.&lt;n&gt;</code>: <code>Role &gt; ImpliedRole, ...</code>, a role implies other roles</li>
+ * </ul>
+ * 
+ * Independent of the rules, authorities will be trimmed and enclosing brackets (<code>[...]</code>) removed.
+ * The rules are compiled once per configuration and the role hierarchy is resolved to its transitive closure.
+ * The mapper of an application configuration is cached per <code>properties</code> node of the metadata handler,
+ * so the rules will not be collected again for every handler. Every mapped authority is cached, so mapping costs
+ * one hash lookup per authority.
+ * 
+ * @author Thomas Krautinger
+ */
+public final class RoleMapper
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Constants
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the property prefix for mapping rules. */
+	public static final String PROPERTY_PREFIX = "role.mapping.";
+
+	/** the configuration path of the metadata handler properties. */
+	public static final String CONFIG_PATH = "/application/securitymanager/preauhtentication/metadtahandler/properties";
+
+	/** the maximum number of cached authorities per mapper. */
+	private static final int MAX_CACHED_AUTHORITIES = 10000;
+
+	/** the empty role list. */
+	private static final String[] NO_ROLES = new String[0];
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the compiled mappers per properties node of the configuration. */
+	private static final Map<XmlNode, RoleMapper> CONFIG_MAPPERS = new WeakHashMap<XmlNode, RoleMapper>();
+
+	/** the mapper without rules. */
+	private static final RoleMapper EMPTY = new RoleMapper(new TreeMap<String, String>());
+
+	/** the prefixes to remove. */
+	private String[] prefixes;
+
+	/** the include pattern. */
+	private Pattern include;
+
+	/** the exclude pattern. */
+	private Pattern exclude;
+
+	/** the rename patterns. */
+	private Pattern[] renamePatterns;
+
+	/** the rename replacements. */
+	private String[] renameReplacements;
+
+	/** the transitive closure of the role hierarchy. */
+	private Map<String, String[]> hierarchy;
+
+	/** the mapped authorities. */
+	private ConcurrentHashMap<String, String[]> lookup = new ConcurrentHashMap<String, String[]>();
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates a new instance of <code>RoleMapper</code>.
+	 * 
+	 * @param pRules the mapping rules without property prefix
+	 */
+	private RoleMapper(Map<String, String> pRules)
+	{
+		prefixes = split(pRules.get("prefix"), ",");
+
+		String sInclude = pRules.get("include");
+
+		if (sInclude != null)
+		{
+			include = Pattern.compile(sInclude);
+		}
+
+		String sExclude = pRules.get("exclude");
+
+		if (sExclude != null)
+		{
+			exclude = Pattern.compile(sExclude);
+		}
+
+		// the rename rules are sorted by number
+		Map<Integer, String> mpRename = new TreeMap<Integer, String>();
+
+		Map<String, Set<String>> mpDirect = new HashMap<String, Set<String>>();
+
+		for (Map.Entry<String, String> entry : pRules.entrySet())
+		{
+			if (entry.getKey().startsWith("rename."))
+			{
+				try
+				{
+					mpRename.put(Integer.valueOf(entry.getKey().substring("rename.".length()).trim()), entry.getValue());
+				}
+				catch (NumberFormatException nfe)
+				{
+					throw new IllegalArgumentException("Invalid rename rule '" + entry.getKey() + "', expected 'rename.<n>'");
+				}
+			}
+			else if (entry.getKey().startsWith("hierarchy."))
+			{
+				int iPos = entry.getValue().indexOf('>');
+
+				if (iPos < 0)
+				{
+					throw new IllegalArgumentException("Invalid hierarchy rule '" + entry.getValue() + "', expected 'Role > ImpliedRole, ...'");
+				}
+
+				String sRole = entry.getValue().substring(0, iPos).trim();
+
+				Set<String> setImplied = mpDirect.get(sRole);
+
+				if (setImplied == null)
+				{
+					setImplied = new LinkedHashSet<String>();
+					mpDirect.put(sRole, setImplied);
+				}
+
+				String[] sImplied = split(entry.getValue().substring(iPos + 1), ",");
+
+				for (int i = 0; i < sImplied.length; i++)
+				{
+					setImplied.add(sImplied[i]);
+				}
+			}
+		}
+
+		renamePatterns = new Pattern[mpRename.size()];
+		renameReplacements = new String[mpRename.size()];
+
+		int i = 0;
+
+		for (String sRule : mpRename.values())
+		{
+			int iPos = sRule.indexOf("->");
+
+			if (iPos < 0)
+			{
+				throw new IllegalArgumentException("Invalid rename rule '" + sRule + "', expected 'regex -> replacement'");
+			}
+
+			renamePatterns[i] = Pattern.compile(sRule.substring(0, iPos).trim());
+			renameReplacements[i] = sRule.substring(iPos + 2).trim();
+
+			i++;
+		}
+
+		// transitive closure of the hierarchy
+		hierarchy = new HashMap<String, String[]>();
+
+		for (String sRole : mpDirect.keySet())
+		{
+			Set<String> setClosure = new LinkedHashSet<String>();
+
+			collectImplied(mpDirect, sRole, setClosure);
+
+			setClosure.remove(sRole);
+
+			hierarchy.put(sRole, setClosure.toArray(new String[setClosure.size()]));
+		}
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Gets the compiled mapper for the mapping rules of the given metadata handler properties. If the
+	 * properties contain the application <code>configuration</code>, the mapper is cached per
+	 * <code>properties</code> node of the configuration. Otherwise, a new mapper is compiled, unless
+	 * there are no rules.
+	 * 
+	 * @param pProperties the metadata handler properties
+	 * @return the role mapper
+	 */
+	public static RoleMapper getInstance(Hashtable<String, Object> pProperties)
+	{
+		Object oConfig = pProperties != null ? pProperties.get("configuration") : null;
+
+		XmlNode node = oConfig instanceof IConfiguration ? ((IConfiguration) oConfig).getNode(CONFIG_PATH) : null;
+
+		if (node == null)
+		{
+			return getInstance(getRules(pProperties));
+		}
+
+		// a changed configuration is a new node
+		synchronized (CONFIG_MAPPERS)
+		{
+			RoleMapper mapper = CONFIG_MAPPERS.get(node);
+
+			if (mapper == null)
+			{
+				mapper = getInstance(getRules(pProperties));
+
+				CONFIG_MAPPERS.put(node, mapper);
+			}
+
+			return mapper;
+		}
+	}
+
+	/**
+	 * Gets the compiled mapper for the given mapping rules.
+	 * 
+	 * @param pRules the mapping rules without property prefix
+	 * @return the role mapper
+	 */
+	private static RoleMapper getInstance(Map<String, String> pRules)
+	{
+		if (pRules.isEmpty())
+		{
+			return EMPTY;
+		}
+
+		return new RoleMapper(pRules);
+	}
+
+	/**
+	 * Gets the mapping rules of the metadata handler properties.
+	 * 
+	 * @param pProperties the metadata handler properties
+	 * @return the mapping rules without property prefix
+	 */
+	private static Map<String, String> getRules(Hashtable<String, Object> pProperties)
+	{
+		Map<String, String> mpRules = new TreeMap<String, String>();
+
+		if (pProperties != null)
+		{
+			for (Map.Entry<String, Object> entry : pProperties.entrySet())
+			{
+				if (entry.getKey().startsWith(PROPERTY_PREFIX)
+					&& entry.getValue() instanceof String)
+				{
+					mpRules.put(entry.getKey().substring(PROPERTY_PREFIX.length()), (String) entry.getValue());
+				}
+			}
+		}
+
+		return mpRules;
+	}
+
+	/**
+	 * Maps all authorities to role names, without duplicates.
+	 * 
+	 * @param pAuthorities the granted authorities
+	 * @return the role names
+	 */
+	public String[] map(Collection<? extends GrantedAuthority> pAuthorities)
+	{
+		if (pAuthorities == null
+			|| pAuthorities.isEmpty())
+		{
+			return NO_ROLES;
+		}
+
+		Set<String> setRoles = new LinkedHashSet<String>();
+
+		for (GrantedAuthority authority : pAuthorities)
+		{
+			if (authority != null
+				&& authority.getAuthority() != null)
+			{
+				String[] sRoles = map(authority.getAuthority());
+
+				for (int i = 0; i < sRoles.length; i++)
+				{
+					setRoles.add(sRoles[i]);
+				}
+			}
+		}
+
+		return setRoles.toArray(new String[setRoles.size()]);
+	}
+
+	/**
+	 * Maps a single authority to role names. The result contains the mapped role and all implied roles.
+	 * 
+	 * @param pAuthority the authority
+	 * @return the role names, an empty list if the authority is filtered
+	 */
+	public String[] map(String pAuthority)
+	{
+		String[] sRoles = lookup.get(pAuthority);
+
+		if (sRoles == null)
+		{
+			sRoles = resolve(pAuthority);
+
+			if (lookup.size() < MAX_CACHED_AUTHORITIES)
+			{
+				lookup.put(pAuthority, sRoles);
+			}
+		}
+
+		return sRoles;
+	}
+
+	/**
+	 * Applies all rules to an authority.
+	 * 
+	 * @param pAuthority the authority
+	 * @return the role names
+	 */
+	private String[] resolve(String pAuthority)
+	{
+		String sRole = pAuthority.trim();
+
+		if (sRole.startsWith("[")
+			&& sRole.endsWith("]"))
+		{
+			sRole = sRole.substring(1, sRole.length() - 1).trim();
+		}
+
+		for (int i = 0; i < prefixes.length; i++)
+		{
+			if (sRole.startsWith(prefixes[i]))
+			{
+				sRole = sRole.substring(prefixes[i].length());
+
+				break;
+			}
+		}
+
+		if ((include != null && !include.matcher(sRole).matches())
+			|| (exclude != null && exclude.matcher(sRole).matches()))
+		{
+			return NO_ROLES;
+		}
+
+		for (int i = 0; i < renamePatterns.length; i++)
+		{
+			if (renamePatterns[i].matcher(sRole).matches())
+			{
+				sRole = renamePatterns[i].matcher(sRole).replaceAll(renameReplacements[i]);
+
+				break;
+			}
+		}
+
+		if (sRole.length() == 0)
+		{
+			return NO_ROLES;
+		}
+
+		String[] sImplied = hierarchy.get(sRole);
+
+		if (sImplied == null)
+		{
+			return new String[] {sRole};
+		}
+
+		String[] sRoles = new String[sImplied.length + 1];
+		sRoles[0] = sRole;
+
+		System.arraycopy(sImplied, 0, sRoles, 1, sImplied.length);
+
+		return sRoles;
+	}
+
+	/**
+	 * Collects all directly and indirectly implied roles. Cycles are ignored.
+	 * 
+	 * @param pDirect the directly implied roles
+	 * @param pRole the role
+	 * @param pClosure the collected roles
+	 */
+	private static void collectImplied(Map<String, Set<String>> pDirect, String pRole, Set<String> pClosure)
+	{
+		Set<String> setImplied = pDirect.get(pRole);
+
+		if (setImplied != null)
+		{
+			for (String sImplied : setImplied)
+			{
+				if (pClosure.add(sImplied))
+				{
+					collectImplied(pDirect, sImplied, pClosure);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Splits a value and trims all parts. Empty parts will be ignored.
+	 * 
+	 * @param pValue the value
+	 * @param pSeparator the separator
+	 * @return the parts
+	 */
+	private static String[] split(String pValue, String pSeparator)
+	{
+		if (pValue == null)
+		{
+			return NO_ROLES;
+		}
+
+		ArrayUtil<String> auParts = new ArrayUtil<String>();
+
+		String[] sParts = pValue.split(Pattern.quote(pSeparator));
+
+		for (int i = 0; i < sParts.length; i++)
+		{
+			String sPart = sParts[i].trim();
+
+			if (sPart.length() > 0)
+			{
+				auParts.add(sPart);
+			}
+		}
+
+		return auParts.toArray(new String[auParts.size()]);
+	}
+
+} // RoleMapper
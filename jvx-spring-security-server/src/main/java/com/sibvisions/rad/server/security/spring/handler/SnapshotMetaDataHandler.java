@@ -0,0 +1,362 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ * 19.10.2026 - [TK] - lazy work-screens, client profile
+ */
+package com.sibvisions.rad.server.security.spring.handler;
+
+import java.util.Arrays;
+import java.util.Hashtable;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jvx.rad.persist.MetaData;
+import jvx.rad.server.IConfiguration;
+
+import com.sibvisions.rad.server.security.spring.ClientProfile;
+
+/**
+ * The <code>SnapshotMetaDataHandler</code> is a compact alternative to the {@link DefaultAuthenticationMetaDataHandler}.
+ * It reads username and roles once and doesn't keep the authentication, the credentials or the properties.
+ * Users with the same roles share one interned role list and one work-screen profile, so that a session
+ * retains the handler and the username only.
+ * 
+ * The work-screens will be resolved when the handler is created, if the client profile (property
+ * <code>profile</code>) contains work-screens, otherwise on first access.
+ * 
+ * The password is not available, and changes of the work-screen configuration are visible for new sessions.
+ * 
+ * e.g.:
+ * 
+ * <pre>
+ * &lt;metadtahandler&gt;
+ *   &lt;class&gt;com.sibvisions.rad.server.security.spring.handler.SnapshotMetaDataHandler&lt;/class&gt;
+ * &lt;/metadtahandler&gt;
+ * </pre>
+ * 
+ * @author Thomas Krautinger
+ */
+public class SnapshotMetaDataHandler implements ISpringMetaDataHandler
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Constants
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the maximum number of interned role sets and profiles per work-screen index. */
+	private static final int MAX_PROFILES = 1000;
+
+	/** the key for profiles without work-screen index. */
+	private static final Object NO_INDEX = new Object();
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the interned role sets. */
+	private static final ConcurrentHashMap<String, String[]> ROLES = new ConcurrentHashMap<String, String[]>();
+
+	/** the interned profiles per work-screen index and role set. */
+	private static final Map<Object, ConcurrentHashMap<String, Profile>> PROFILES = new WeakHashMap<Object, ConcurrentHashMap<String, Profile>>();
+
+	/** the username. */
+	private String username;
+
+	/** the interned roles. */
+	private String[] roles;
+
+	/** the application configuration for lazy work-screens. */
+	private IConfiguration configuration;
+
+	/** the shared work-screen profile. */
+	private volatile Profile profile;
+
+	/** whether the user is valid. */
+	private boolean valid;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates a new instance of <code>SnapshotMetaDataHandler</code>.
+	 * 
+	 * @param pProperties the properties
+	 */
+	public SnapshotMetaDataHandler(Hashtable<String, Object> pProperties)
+	{
+		DefaultAuthenticationMetaDataHandler handler = new DefaultAuthenticationMetaDataHandler(pProperties);
+
+		username = handler.getUsername();
+		valid = handler.isValid();
+		roles = internRoles(handler.getRoles());
+		configuration = (IConfiguration) pProperties.get("configuration");
+
+		Object oProfile = pProperties.get("profile");
+
+		if (!(oProfile instanceof ClientProfile)
+			|| ((ClientProfile) oProfile).isWorkScreens())
+		{
+			getProfile();
+		}
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Interface implementation
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public String getUsername()
+	{
+		return username;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public String getPassword()
+	{
+		// credentials are not kept
+		return null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public boolean isValid()
+	{
+		return valid;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public String[] getRoles()
+	{
+		return roles;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public String[][] getWorkScreens()
+	{
+		return getProfile().workScreens;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Hashtable<String, MetaData> getMetaData()
+	{
+		return null;
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Gets the distinct life-cycle objects of the work-screens.
+	 * 
+	 * @return the life-cycle objects or <code>null</code> if no work-screens are configured
+	 */
+	public String[] getLifecycleObjects()
+	{
+		return getProfile().lifecycleObjects;
+	}
+
+	/**
+	 * Gets the shared work-screen profile of the roles. The profile will be resolved on first access.
+	 * 
+	 * @return the profile
+	 */
+	private Profile getProfile()
+	{
+		Profile prf = profile;
+
+		if (prf != null)
+		{
+			return prf;
+		}
+
+		Object oIndex;
+
+		try
+		{
+			oIndex = WorkScreenIndex.getInstance(configuration);
+		}
+		catch (Exception e)
+		{
+			throw new SecurityException("Access denied! Cannot read the work-screen configuration.", e);
+		}
+
+		if (oIndex == null)
+		{
+			oIndex = NO_INDEX;
+		}
+
+		ConcurrentHashMap<String, Profile> chmProfiles;
+
+		synchronized (PROFILES)
+		{
+			chmProfiles = PROFILES.get(oIndex);
+
+			if (chmProfiles == null)
+			{
+				chmProfiles = new ConcurrentHashMap<String, Profile>();
+
+				PROFILES.put(oIndex, chmProfiles);
+			}
+		}
+
+		String sKey = getKey(roles);
+
+		prf = chmProfiles.get(sKey);
+
+		if (prf == null)
+		{
+			String[][] sWorkScreens = oIndex == NO_INDEX ? null : ((WorkScreenIndex) oIndex).getWorkScreens(roles);
+
+			prf = new Profile(sWorkScreens, DefaultAuthenticationMetaDataHandler.getLifecycleObjects(sWorkScreens));
+
+			if (chmProfiles.size() < MAX_PROFILES)
+			{
+				Profile prfOther = chmProfiles.putIfAbsent(sKey, prf);
+
+				if (prfOther != null)
+				{
+					prf = prfOther;
+				}
+			}
+		}
+
+		profile = prf;
+
+		return prf;
+	}
+
+	/**
+	 * Gets the shared instance of a role set.
+	 * 
+	 * @param pRoles the roles
+	 * @return the interned roles
+	 */
+	private static String[] internRoles(String[] pRoles)
+	{
+		if (pRoles == null)
+		{
+			return null;
+		}
+
+		String sKey = getKey(pRoles);
+
+		String[] sRoles = ROLES.get(sKey);
+
+		if (sRoles == null)
+		{
+			sRoles = new String[pRoles.length];
+
+			for (int i = 0; i < pRoles.length; i++)
+			{
+				sRoles[i] = pRoles[i] == null ? null : pRoles[i].intern();
+			}
+
+			if (ROLES.size() < MAX_PROFILES)
+			{
+				String[] sOther = ROLES.putIfAbsent(sKey, sRoles);
+
+				if (sOther != null)
+				{
+					sRoles = sOther;
+				}
+			}
+		}
+
+		return sRoles;
+	}
+
+	/**
+	 * Gets the key of a role set, independent of the role order.
+	 * 
+	 * @param pRoles the roles
+	 * @return the key
+	 */
+	private static String getKey(String[] pRoles)
+	{
+		if (pRoles == null
+			|| pRoles.length == 0)
+		{
+			return "";
+		}
+
+		String[] sSorted = new String[pRoles.length];
+
+		for (int i = 0; i < pRoles.length; i++)
+		{
+			sSorted[i] = String.valueOf(pRoles[i]);
+		}
+
+		Arrays.sort(sSorted);
+
+		StringBuilder sbKey = new StringBuilder();
+
+		for (int i = 0; i < sSorted.length; i++)
+		{
+			sbKey.append(sSorted[i]);
+			sbKey.append('\n');
+		}
+
+		return sbKey.toString();
+	}
+
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+
+	/**
+	 * The <code>Profile</code> contains the immutable work-screens of all users with the same roles.
+	 * 
+	 * @author Thomas Krautinger
+	 */
+	private static final class Profile
+	{
+		/** the work-screens. */
+		private final String[][] workScreens;
+
+		/** the life-cycle objects. */
+		private final String[] lifecycleObjects;
+
+		/**
+		 * Creates a new instance of <code>Profile</code>.
+		 * 
+		 * @param pWorkScreens the work-screens
+		 * @param pLifecycleObjects the life-cycle objects
+		 */
+		private Profile(String[][] pWorkScreens, String[] pLifecycleObjects)
+		{
+			workScreens = pWorkScreens;
+			lifecycleObjects = pLifecycleObjects;
+		}
+
+	}	// Profile
+
+} // SnapshotMetaDataHandler
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.handler;
+
+import java.io.File;
+import java.util.BitSet;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import jvx.rad.server.IConfiguration;
+
+import com.sibvisions.util.xml.XmlNode;
+import com.sibvisions.util.xml.XmlWorker;
+
+/**
+ * The <code>WorkScreenIndex</code> maps role names to work-screens. The work-screens will be configured
+ * in the <code>workscreens</code> node of the metadata handler configuration or in an external file:
+ * 
+ * <pre>
+ * &lt;metadtahandler&gt;
+ *   &lt;workscreens&gt;
+ *     &lt;workscreen&gt;
+ *       &lt;class&gt;com.sibvisions.apps.CustomerWorkScreen&lt;/class&gt;
+ *       &lt;text&gt;Customers&lt;/text&gt;
+ *       &lt;menu&gt;Master data&lt;/menu&gt;
+ *       &lt;roles&gt;User, Administrator&lt;/roles&gt;
+ *     &lt;/workscreen&gt;
+ *   &lt;/workscreens&gt;
+ * &lt;/metadtahandler&gt;
+ * </pre>
+ * 
+ * or <code>&lt;workscreens&gt;&lt;file&gt;/path/workscreens.xml&lt;/file&gt;&lt;/workscreens&gt;</code> with the
+ * same <code>workscreens</code> node as root element. A work-screen without roles is available for all users.
+ * 
+ * The configuration will be compiled once into a bit set of work-screens per role, so the work-screens of
+ * a user are the union of the bit sets of the user roles. The index will be rebuilt if the configuration
+ * or the external file changes and replaces the previous index as a whole.
+ * 
+ * @author Thomas Krautinger
+ */
+public final class WorkScreenIndex
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Constants
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the configuration path of the work-screens. */
+	public static final String CONFIG_PATH = "/application/securitymanager/preauhtentication/metadtahandler/workscreens";
+
+	/** the minimum interval between two modification checks of an external file. */
+	private static final long CHECK_INTERVAL = 2000;
+
+	/** the child nodes of a work-screen, in order of the work-screen content. */
+	private static final String[] CONTENT = new String[] {"class", "lifecycle", "text", "sidebartext", "menu",
+														  "image", "sidebarimage", "shortcut", "quickbartext", "quickbarimage"};
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the indexes per configuration node. */
+	private static final Map<XmlNode, WorkScreenIndex> CONFIG_INDEXES = new WeakHashMap<XmlNode, WorkScreenIndex>();
+
+	/** the indexes per external file. */
+	private static final Hashtable<String, WorkScreenIndex> FILE_INDEXES = new Hashtable<String, WorkScreenIndex>();
+
+	/** all work-screens. */
+	private String[][] workScreens;
+
+	/** the work-screens per role. */
+	private Hashtable<String, BitSet> roleScreens = new Hashtable<String, BitSet>();
+
+	/** the work-screens without roles. */
+	private BitSet publicScreens = new BitSet();
+
+	/** the modification time of the external file. */
+	private long lastModified;
+
+	/** the time of the last modification check. */
+	private volatile long lastCheck;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates a new instance of <code>WorkScreenIndex</code>.
+	 * 
+	 * @param pNodes the work-screen nodes
+	 */
+	private WorkScreenIndex(List<XmlNode> pNodes)
+	{
+		int iCount = pNodes == null ? 0 : pNodes.size();
+
+		workScreens = new String[iCount][];
+
+		for (int i = 0; i < iCount; i++)
+		{
+			XmlNode node = pNodes.get(i);
+
+			String[] sContent = new String[CONTENT.length];
+
+			for (int j = 0; j < CONTENT.length; j++)
+			{
+				sContent[j] = node.getNodeValue("/" + CONTENT[j]);
+			}
+
+			if (sContent[0] == null)
+			{
+				throw new IllegalArgumentException("Work-screen without class found at line " + node.getLineNumber());
+			}
+
+			workScreens[i] = sContent;
+
+			String sRoles = node.getNodeValue("/roles");
+
+			boolean bPublic = true;
+
+			if (sRoles != null)
+			{
+				String[] sRole = sRoles.split(",");
+
+				for (int j = 0; j < sRole.length; j++)
+				{
+					String sName = sRole[j].trim();
+
+					if (sName.length() > 0)
+					{
+						BitSet bits = roleScreens.get(sName);
+
+						if (bits == null)
+						{
+							bits = new BitSet(iCount);
+
+							roleScreens.put(sName, bits);
+						}
+
+						bits.set(i);
+
+						bPublic = false;
+					}
+				}
+			}
+
+			if (bPublic)
+			{
+				publicScreens.set(i);
+			}
+		}
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Gets the current index for the given configuration.
+	 * 
+	 * @param pConfig the application configuration
+	 * @return the index or <code>null</code> if no work-screens are configured
+	 * @throws Exception if the external file can not be read
+	 */
+	public static WorkScreenIndex getInstance(IConfiguration pConfig) throws Exception
+	{
+		if (pConfig == null)
+		{
+			return null;
+		}
+
+		XmlNode node = pConfig.getNode(CONFIG_PATH);
+
+		if (node == null)
+		{
+			return null;
+		}
+
+		String sFile = node.getNodeValue("/file");
+
+		if (sFile != null)
+		{
+			return getInstance(new File(sFile));
+		}
+
+		// a changed configuration is a new node
+		synchronized (CONFIG_INDEXES)
+		{
+			WorkScreenIndex index = CONFIG_INDEXES.get(node);
+
+			if (index == null)
+			{
+				index = new WorkScreenIndex(node.getNodes("/workscreen"));
+
+				CONFIG_INDEXES.put(node, index);
+			}
+
+			return index;
+		}
+	}
+
+	/**
+	 * Gets the current index for the given external file. The file will be checked for modifications
+	 * at most every {@link #CHECK_INTERVAL} milliseconds.
+	 * 
+	 * @param pFile the work-screen file
+	 * @return the index
+	 * @throws Exception if the file can not be read and no previous index is available
+	 */
+	private static WorkScreenIndex getInstance(File pFile) throws Exception
+	{
+		String sPath = pFile.getAbsolutePath();
+
+		WorkScreenIndex index = FILE_INDEXES.get(sPath);
+
+		long lNow = System.currentTimeMillis();
+
+		if (index != null
+			&& lNow - index.lastCheck < CHECK_INTERVAL)
+		{
+			return index;
+		}
+
+		synchronized (FILE_INDEXES)
+		{
+			index = FILE_INDEXES.get(sPath);
+
+			long lModified = pFile.lastModified();
+
+			if (index == null
+				|| index.lastModified != lModified)
+			{
+				try
+				{
+					XmlNode root = XmlWorker.readNode(pFile);
+
+					WorkScreenIndex idxNew = new WorkScreenIndex(root.getNodes("/workscreens/workscreen"));
+					idxNew.lastModified = lModified;
+
+					index = idxNew;
+
+					FILE_INDEXES.put(sPath, index);
+				}
+				catch (Exception e)
+				{
+					// keep the previous index, e.g. while the file is written
+					if (index == null)
+					{
+						throw e;
+					}
+				}
+			}
+
+			index.lastCheck = lNow;
+
+			return index;
+		}
+	}
+
+	/**
+	 * Gets the work-screens for the given roles. The rows are shared and must not be changed.
+	 * 
+	 * @param pRoles the role names
+	 * @return the work-screens
+	 */
+	public String[][] getWorkScreens(String[] pRoles)
+	{
+		BitSet bits = (BitSet) publicScreens.clone();
+
+		if (pRoles != null)
+		{
+			for (int i = 0; i < pRoles.length; i++)
+			{
+				BitSet bitsRole = roleScreens.get(pRoles[i]);
+
+				if (bitsRole != null)
+				{
+					bits.or(bitsRole);
+				}
+			}
+		}
+
+		String[][] sResult = new String[bits.cardinality()][];
+
+		for (int i = bits.nextSetBit(0), j = 0; i >= 0; i = bits.nextSetBit(i + 1), j++)
+		{
+			sResult[j] = workScreens[i];
+		}
+
+		return sResult;
+	}
+
+} // WorkScreenIndex
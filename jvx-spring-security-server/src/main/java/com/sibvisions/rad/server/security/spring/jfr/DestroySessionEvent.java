@@ -0,0 +1,54 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The <code>DestroySessionEvent</code> is a flight recorder event for the destroy of the JVx session after logout.
+ * 
+ * @author Thomas Krautinger
+ */
+@Name("com.sibvisions.spring.DestroySession")
+@Label("Destroy Session")
+@Description("Destroy of the JVx session after logout.")
+@Category({"JVx", "Spring Security"})
+@StackTrace(false)
+public class DestroySessionEvent extends Event
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Class members
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/** The hash of the principal name. */
+	@Label("Principal Hash")
+	public int principalHash;
+	
+	/** The outcome. */
+	@Label("Outcome")
+	public String outcome;
+	
+} // DestroySessionEvent
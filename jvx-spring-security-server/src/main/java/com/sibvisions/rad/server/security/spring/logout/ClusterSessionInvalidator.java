@@ -0,0 +1,394 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.logout;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jvx.rad.remote.SessionExpiredException;
+
+import org.springframework.beans.factory.DisposableBean;
+
+import com.sibvisions.rad.server.Server;
+
+/**
+ * The <code>ClusterSessionInvalidator</code> destroys JVx sessions on all nodes of a cluster. Session ids
+ * will be collected for a short time and sent as batch with an {@link ISessionInvalidationTransport}.
+ * Every node destroys the received sessions it owns. Repeated ids will be ignored for the dedup timeout.
+ * 
+ * e.g.:
+ * 
+ * <beans:bean id="jvxSessionInvalidator" class="com.sibvisions.rad.server.security.spring.logout.ClusterSessionInvalidator">
+ *    <beans:constructor-arg>
+ *       <beans:bean class="com.sibvisions.rad.server.security.spring.logout.LoopbackSessionInvalidationTransport" />
+ *    </beans:constructor-arg>
+ * </beans:bean>
+ * 
+ * <beans:bean id="jvxLogoutHandler" class="com.sibvisions.rad.server.security.spring.logout.DestroySessionLogoutHandler">
+ *    <beans:property name="sessionInvalidator" ref="jvxSessionInvalidator" />
+ * </beans:bean>
+ * 
+ * @author Thomas Krautinger
+ */
+public class ClusterSessionInvalidator implements ISessionInvalidationListener,
+                                                  DisposableBean
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Constants
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/** the maximum number of remembered session ids. */
+	private static final int MAX_SEEN_IDS = 10000;
+	
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/** the recently handled session ids with their expiry time. */
+	private ConcurrentHashMap<Object, Long> chmSeen = new ConcurrentHashMap<Object, Long>();
+	
+	/** the session ids of the next batch. */
+	private LinkedHashSet<Object> lhsPending = new LinkedHashSet<Object>();
+	
+	/** the transport. */
+	private ISessionInvalidationTransport transport;
+	
+	/** the batch timer. */
+	private Timer timer;
+	
+	/** whether a flush is scheduled. */
+	private boolean bFlushScheduled;
+	
+	/** the delay before a batch will be sent in milliseconds. */
+	private long batchDelay = 50;
+	
+	/** the maximum number of session ids per batch. */
+	private int maxBatchSize = 500;
+	
+	/** the time in milliseconds a handled session id will be ignored. */
+	private long dedupTimeout = 60000;
+	
+	/** the number of failed broadcasts. */
+	private AtomicInteger aiFailedBroadcasts = new AtomicInteger();
+	
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/**
+	 * Creates a new instance of <code>ClusterSessionInvalidator</code>.
+	 * 
+	 * @param pTransport the transport
+	 */
+	public ClusterSessionInvalidator(ISessionInvalidationTransport pTransport)
+	{
+		transport = pTransport;
+		transport.setListener(this);
+	}
+	
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Interface implementation
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public void sessionsInvalidated(Object[] pSessionIds)
+	{
+		if (pSessionIds == null)
+		{
+			return;
+		}
+		
+		for (int i = 0; i < pSessionIds.length; i++)
+		{
+			if (pSessionIds[i] != null
+				&& markHandled(pSessionIds[i]))
+			{
+				destroyLocalSession(pSessionIds[i]);
+			}
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public void destroy()
+	{
+		flush();
+		
+		synchronized (this)
+		{
+			if (timer != null)
+			{
+				timer.cancel();
+				timer = null;
+			}
+		}
+		
+		transport.setListener(null);
+		
+		chmSeen.clear();
+	}
+	
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/**
+	 * Destroys the session on all other nodes. The id will be sent with the next batch, if it wasn't
+	 * handled recently. The session won't be destroyed on this node, because the caller already tried it.
+	 * 
+	 * @param pSessionId the JVx session id
+	 */
+	public void invalidate(Object pSessionId)
+	{
+		if (pSessionId == null
+			|| !markHandled(pSessionId))
+		{
+			return;
+		}
+		
+		boolean bFlushNow;
+		
+		synchronized (this)
+		{
+			lhsPending.add(pSessionId);
+			
+			bFlushNow = lhsPending.size() >= maxBatchSize;
+			
+			if (!bFlushNow
+				&& !bFlushScheduled)
+			{
+				if (timer == null)
+				{
+					timer = new Timer("ClusterSessionInvalidator", true);
+				}
+				
+				timer.schedule(new TimerTask()
+				{
+					@Override
+					public void run()
+					{
+						flush();
+					}
+				}, batchDelay);
+				
+				bFlushScheduled = true;
+			}
+		}
+		
+		if (bFlushNow)
+		{
+			flush();
+		}
+	}
+	
+	/**
+	 * Sends all pending session ids.
+	 */
+	public void flush()
+	{
+		Object[] oIds;
+		
+		synchronized (this)
+		{
+			bFlushScheduled = false;
+			
+			if (lhsPending.isEmpty())
+			{
+				return;
+			}
+			
+			oIds = lhsPending.toArray();
+			
+			lhsPending.clear();
+		}
+		
+		try
+		{
+			transport.broadcast(oIds);
+		}
+		catch (IOException ioe)
+		{
+			// the sessions will expire on the other nodes
+			aiFailedBroadcasts.incrementAndGet();
+		}
+	}
+	
+	/**
+	 * Destroys the session, if it is owned by this node.
+	 * 
+	 * @param pSessionId the JVx session id
+	 */
+	protected void destroyLocalSession(Object pSessionId)
+	{
+		try
+		{
+			Server.getInstance().destroySession(pSessionId);
+		}
+		catch (SessionExpiredException see)
+		{
+			// not owned by this node or already destroyed
+		}
+	}
+	
+	/**
+	 * Remembers the session id as handled.
+	 * 
+	 * @param pSessionId the session id
+	 * @return <code>true</code> if the id wasn't handled recently, <code>false</code> otherwise
+	 */
+	private boolean markHandled(Object pSessionId)
+	{
+		long lNow = System.currentTimeMillis();
+		
+		Long lExpires = chmSeen.get(pSessionId);
+		
+		if (lExpires != null
+			&& lExpires.longValue() > lNow)
+		{
+			return false;
+		}
+		
+		if (chmSeen.size() >= MAX_SEEN_IDS)
+		{
+			removeExpired(lNow);
+		}
+		
+		Long lNewExpires = Long.valueOf(lNow + dedupTimeout);
+		
+		if (lExpires == null)
+		{
+			return chmSeen.putIfAbsent(pSessionId, lNewExpires) == null;
+		}
+		
+		return chmSeen.replace(pSessionId, lExpires, lNewExpires);
+	}
+	
+	/**
+	 * Removes all expired session ids. If there are still too many ids, all ids will be removed.
+	 * 
+	 * @param pNow the current time
+	 */
+	private void removeExpired(long pNow)
+	{
+		for (Iterator<Map.Entry<Object, Long>> it = chmSeen.entrySet().iterator(); it.hasNext();)
+		{
+			if (it.next().getValue().longValue() <= pNow)
+			{
+				it.remove();
+			}
+		}
+		
+		if (chmSeen.size() >= MAX_SEEN_IDS)
+		{
+			chmSeen.clear();
+		}
+	}
+	
+	/**
+	 * Gets the transport.
+	 * 
+	 * @return the transport
+	 */
+	public ISessionInvalidationTransport getTransport()
+	{
+		return transport;
+	}
+	
+	/**
+	 * Gets the delay before a batch will be sent.
+	 * 
+	 * @return the delay in milliseconds
+	 */
+	public long getBatchDelay()
+	{
+		return batchDelay;
+	}
+	
+	/**
+	 * Sets the delay before a batch will be sent.
+	 * 
+	 * @param pBatchDelay the delay in milliseconds
+	 */
+	public void setBatchDelay(long pBatchDelay)
+	{
+		batchDelay = pBatchDelay;
+	}
+	
+	/**
+	 * Gets the maximum number of session ids per batch.
+	 * 
+	 * @return the maximum batch size
+	 */
+	public int getMaxBatchSize()
+	{
+		return maxBatchSize;
+	}
+	
+	/**
+	 * Sets the maximum number of session ids per batch. A full batch will be sent immediately.
+	 * 
+	 * @param pMaxBatchSize the maximum batch size
+	 */
+	public void setMaxBatchSize(int pMaxBatchSize)
+	{
+		maxBatchSize = pMaxBatchSize;
+	}
+	
+	/**
+	 * Gets the time a handled session id will be ignored.
+	 * 
+	 * @return the time in milliseconds
+	 */
+	public long getDedupTimeout()
+	{
+		return dedupTimeout;
+	}
+	
+	/**
+	 * Sets the time a handled session id will be ignored.
+	 * 
+	 * @param pDedupTimeout the time in milliseconds
+	 */
+	public void setDedupTimeout(long pDedupTimeout)
+	{
+		dedupTimeout = pDedupTimeout;
+	}
+	
+	/**
+	 * Gets the number of failed broadcasts.
+	 * 
+	 * @return the number of failed broadcasts
+	 */
+	public int getFailedBroadcastCount()
+	{
+		return aiFailedBroadcasts.get();
+	}
+	
+} // ClusterSessionInvalidator
@@ -17,6 +17,8 @@
  * History
  * 
  * 04.02.2015 - [TK] - creation
+ * 19.10.2026 - [TK] - cluster-wide session invalidation
+ * 19.10.2026 - [TK] - audit log
  */
 package com.sibvisions.rad.server.security.spring.logout;
 
@@ -25,15 +27,25 @@ import jvx.rad.remote.SessionExpiredException;
 import org.springframework.security.core.Authentication;
 
 import com.sibvisions.rad.server.Server;
+import com.sibvisions.rad.server.security.spring.audit.AuditLog;
 import com.sibvisions.rad.server.security.spring.WrappedAuthentication;
+import com.sibvisions.rad.server.security.spring.jfr.DestroySessionEvent;
 
 /**
- * Handles destroy of the server session.
+ * Handles destroy of the server session. If the session is not owned by this node and a
+ * {@link ClusterSessionInvalidator} is set, the session will be destroyed on the other nodes.
  * 
  * @author Thomas Krautinger
  */
 public class DestroySessionHandler
 {
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Class members
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/** the session invalidator for other nodes. */
+	private ClusterSessionInvalidator sessionInvalidator;
+	
     //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
     // User-defined methods
     //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -44,6 +56,53 @@ public class DestroySessionHandler
 	 * @param pAuthentication the authentication
 	 */
 	public void doLogout(Authentication pAuthentication)
+	{
+		DestroySessionEvent event = new DestroySessionEvent();
+		event.begin();
+		
+		String outcome = "error";
+		
+		try
+		{
+			outcome = destroySession(pAuthentication);
+		}
+		finally
+		{
+			if (AuditLog.isActive())
+			{
+				Object sessionId = null;
+				
+				if (pAuthentication instanceof WrappedAuthentication)
+				{
+					sessionId = ((WrappedAuthentication) pAuthentication).getProperty("client.sessionid");
+				}
+				
+				AuditLog.record(AuditLog.LOGOUT, pAuthentication == null ? null : pAuthentication.getName(), sessionId, outcome);
+			}
+			
+			if (event.shouldCommit())
+			{
+				if (pAuthentication != null
+					&& pAuthentication.getName() != null)
+				{
+					event.principalHash = pAuthentication.getName().hashCode();
+				}
+				
+				event.outcome = outcome;
+				event.commit();
+			}
+		}
+	}
+	
+	/**
+	 * Destroys the server session which is referenced by the authentication.
+	 * 
+	 * @param pAuthentication the authentication
+	 * @return <code>destroyed</code> if the session was destroyed, <code>expired</code> if the session was already
+	 *         expired, <code>broadcast</code> if the session will be destroyed on the other nodes or <code>none</code>
+	 *         if the authentication doesn't reference a session
+	 */
+	private String destroySession(Authentication pAuthentication)
 	{
 		if (pAuthentication != null
 			&& pAuthentication instanceof WrappedAuthentication)
@@ -52,18 +111,58 @@ public class DestroySessionHandler
 			
 			if (sessionId != null)
 			{
-				Server server = Server.getInstance();
-				
 				try
 				{
-					server.destroySession(sessionId);
+					destroyServerSession(sessionId);
 				}
 				catch (SessionExpiredException exc)
 				{
-					// Do nothing
+					if (sessionInvalidator != null)
+					{
+						sessionInvalidator.invalidate(sessionId);
+						
+						return "broadcast";
+					}
+					
+					return "expired";
 				}
+				
+				return "destroyed";
 			}
 		}
+		
+		return "none";
+	}
+	
+	/**
+	 * Destroys the JVx session with the given id.
+	 * 
+	 * @param pSessionId the JVx session id
+	 * @throws SessionExpiredException if the session is already expired
+	 */
+	protected void destroyServerSession(Object pSessionId) throws SessionExpiredException
+	{
+		Server.getInstance().destroySession(pSessionId);
+	}
+	
+	/**
+	 * Gets the session invalidator for other nodes.
+	 * 
+	 * @return the session invalidator or <code>null</code>
+	 */
+	public ClusterSessionInvalidator getSessionInvalidator()
+	{
+		return sessionInvalidator;
+	}
+	
+	/**
+	 * Sets the session invalidator for other nodes.
+	 * 
+	 * @param pSessionInvalidator the session invalidator or <code>null</code> to destroy local sessions only
+	 */
+	public void setSessionInvalidator(ClusterSessionInvalidator pSessionInvalidator)
+	{
+		sessionInvalidator = pSessionInvalidator;
 	}
 	
 } // DestroySessionHandler
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.logout;
+
+import java.io.IOException;
+
+/**
+ * The <code>ISessionInvalidationTransport</code> sends batches of JVx session ids, which should be
+ * destroyed, to all nodes of a cluster, including the sending node.
+ * 
+ * @author Thomas Krautinger
+ */
+public interface ISessionInvalidationTransport
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Method definitions
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/**
+	 * Sends the session ids to all nodes.
+	 * 
+	 * @param pSessionIds the session ids
+	 * @throws IOException if the ids couldn't be sent
+	 */
+	public void broadcast(Object[] pSessionIds) throws IOException;
+	
+	/**
+	 * Sets the listener for received session ids of this node.
+	 * 
+	 * @param pListener the listener or <code>null</code> to stop receiving
+	 */
+	public void setListener(ISessionInvalidationListener pListener);
+	
+} // ISessionInvalidationTransport
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.logout;
+
+import java.util.Hashtable;
+
+import com.sibvisions.util.ArrayUtil;
+
+/**
+ * The <code>LoopbackSessionInvalidationTransport</code> delivers the session ids to all transports of
+ * the same group in the current JVM. It is intended for tests and single node installations, and
+ * for simulating multiple nodes in one JVM.
+ * 
+ * @author Thomas Krautinger
+ */
+public class LoopbackSessionInvalidationTransport implements ISessionInvalidationTransport
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/** the transports per group. */
+	private static Hashtable<String, ArrayUtil<LoopbackSessionInvalidationTransport>> htGroups = new Hashtable<String, ArrayUtil<LoopbackSessionInvalidationTransport>>();
+	
+	/** the group name. */
+	private String group;
+	
+	/** the listener. */
+	private volatile ISessionInvalidationListener listener;
+	
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/**
+	 * Creates a new instance of <code>LoopbackSessionInvalidationTransport</code> for the default group.
+	 */
+	public LoopbackSessionInvalidationTransport()
+	{
+		this("default");
+	}
+	
+	/**
+	 * Creates a new instance of <code>LoopbackSessionInvalidationTransport</code>.
+	 * 
+	 * @param pGroup the group name
+	 */
+	public LoopbackSessionInvalidationTransport(String pGroup)
+	{
+		group = pGroup;
+	}
+	
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Interface implementation
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public void broadcast(Object[] pSessionIds)
+	{
+		LoopbackSessionInvalidationTransport[] transports;
+		
+		synchronized (htGroups)
+		{
+			ArrayUtil<LoopbackSessionInvalidationTransport> auTransports = htGroups.get(group);
+			
+			if (auTransports == null)
+			{
+				return;
+			}
+			
+			transports = auTransports.toArray(new LoopbackSessionInvalidationTransport[auTransports.size()]);
+		}
+		
+		for (int i = 0; i < transports.length; i++)
+		{
+			ISessionInvalidationListener lis = transports[i].listener;
+			
+			if (lis != null)
+			{
+				lis.sessionsInvalidated(pSessionIds.clone());
+			}
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public void setListener(ISessionInvalidationListener pListener)
+	{
+		synchronized (htGroups)
+		{
+			ArrayUtil<LoopbackSessionInvalidationTransport> auTransports = htGroups.get(group);
+			
+			if (pListener == null)
+			{
+				if (auTransports != null)
+				{
+					auTransports.remove(this);
+					
+					if (auTransports.isEmpty())
+					{
+						htGroups.remove(group);
+					}
+				}
+			}
+			else
+			{
+				if (auTransports == null)
+				{
+					auTransports = new ArrayUtil<LoopbackSessionInvalidationTransport>();
+					
+					htGroups.put(group, auTransports);
+				}
+				
+				if (!auTransports.contains(this))
+				{
+					auTransports.add(this);
+				}
+			}
+			
+			listener = pListener;
+		}
+	}
+	
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/**
+	 * Gets the group name.
+	 * 
+	 * @return the group name
+	 */
+	public String getGroup()
+	{
+		return group;
+	}
+	
+} // LoopbackSessionInvalidationTransport
@@ -0,0 +1,676 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ * 19.10.2026 - [TK] - orphans only by the session registry
+ */
+package com.sibvisions.rad.server.security.spring.logout;
+
+import java.security.Principal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.servlet.http.HttpSession;
+
+import jvx.rad.remote.SessionExpiredException;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.security.core.session.SessionInformation;
+import org.springframework.security.core.session.SessionRegistry;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.sibvisions.rad.server.Server;
+import com.sibvisions.rad.server.security.spring.audit.AuditLog;
+
+/**
+ * The <code>SessionReaper</code> destroys JVx sessions whose <code>HttpSession</code> is gone, without a
+ * {@link org.springframework.security.core.session.SessionDestroyedEvent}, e.g. because the
+ * <code>HttpSessionEventPublisher</code> is missing or a replica crashed.
+ * 
+ * The state of an <code>HttpSession</code> will be looked up by its id in the {@link SessionRegistry}, e.g.
+ * the <code>SessionRegistryImpl</code> of the concurrent session control or the
+ * <code>SpringSessionBackedSessionRegistry</code> of a session repository. The <code>HttpSession</code> object
+ * itself is no proof, because it may be a wrapper per request or swapped out by the container. Without
+ * session registry, no JVx session will be bound and no session will be reaped.
+ * 
+ * Every JVx master session, validated with the security context stored in an <code>HttpSession</code>,
+ * will be bound to the id of the <code>HttpSession</code> and the principal. Sessions of request scoped
+ * contexts, e.g. stateless pre-authentication or bearer tokens, will not be bound. Bindings will be checked
+ * in a hierarchical timing wheel, when the <code>HttpSession</code> would expire after its last request,
+ * but at least with the check interval. A JVx session is orphaned if its <code>HttpSession</code>
+ * <ul>
+ *   <li>is unknown or expired in the session registry</li>
+ *   <li>belongs to another principal in the session registry</li>
+ * </ul>
+ * 
+ * Orphaned JVx sessions will be destroyed in batches, at most one batch per tick.
+ * 
+ * e.g.:
+ * 
+ * <beans:bean id="jvxSessionReaper" class="com.sibvisions.rad.server.security.spring.logout.SessionReaper">
+ *    <beans:property name="sessionRegistry" ref="sessionRegistry" />
+ *    <beans:property name="checkInterval" value="300000" />
+ *    <beans:property name="batchSize" value="100" />
+ * </beans:bean>
+ * 
+ * Only one reaper per class loader is active.
+ * 
+ * @author Thomas Krautinger
+ */
+public class SessionReaper extends DestroySessionHandler
+						   implements InitializingBean,
+									  DisposableBean
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the active reaper. */
+	private static volatile SessionReaper instance;
+
+	/** the current binding per JVx session id. */
+	private ConcurrentHashMap<Object, Binding> chmBindings = new ConcurrentHashMap<Object, Binding>();
+
+	/** the new bindings, not yet in the wheel. */
+	private ConcurrentLinkedQueue<Binding> clqNew = new ConcurrentLinkedQueue<Binding>();
+
+	/** the orphaned sessions, not yet destroyed. */
+	private ArrayDeque<Binding> adOrphans = new ArrayDeque<Binding>();
+
+	/** the number of destroyed orphans. */
+	private AtomicLong alReaped = new AtomicLong();
+
+	/** the timing wheel, only used by the reaper thread. */
+	private TimingWheel<Binding> wheel;
+
+	/** the reaper thread. */
+	private Thread thReaper;
+
+	/** whether the reaper should stop. */
+	private volatile boolean bStopped;
+
+	/** the session registry. */
+	private SessionRegistry sessionRegistry;
+
+	/** the tick duration in milliseconds. */
+	private long tickDuration = 1000;
+
+	/** the maximum time between two checks of a binding in milliseconds. */
+	private long checkInterval = 300000;
+
+	/** the time after the expiry of an <code>HttpSession</code> until its JVx session is orphaned. */
+	private long gracePeriod = 60000;
+
+	/** the maximum number of destroyed sessions per tick. */
+	private int batchSize = 100;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Interface implementation
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void afterPropertiesSet() throws Exception
+	{
+		start();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void destroy()
+	{
+		stop();
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Binds a JVx session to an <code>HttpSession</code> and a principal, with the active reaper. If no
+	 * reaper is active, the call will be ignored.
+	 * 
+	 * @param pSessionId the JVx session id
+	 * @param pHttpSession the http session
+	 * @param pPrincipal the principal name
+	 */
+	public static void bind(Object pSessionId, HttpSession pHttpSession, String pPrincipal)
+	{
+		SessionReaper reaper = instance;
+
+		if (reaper != null)
+		{
+			reaper.add(pSessionId, pHttpSession, pPrincipal);
+		}
+	}
+
+	/**
+	 * Gets whether a reaper with session registry is active.
+	 * 
+	 * @return <code>true</code> if sessions will be bound
+	 */
+	public static boolean isActive()
+	{
+		SessionReaper reaper = instance;
+
+		return reaper != null
+			   && reaper.sessionRegistry != null;
+	}
+
+	/**
+	 * Starts the reaper and makes it the active reaper.
+	 */
+	public synchronized void start()
+	{
+		if (thReaper != null)
+		{
+			return;
+		}
+
+		bStopped = false;
+
+		wheel = new TimingWheel<Binding>(tickDuration, 4, System.currentTimeMillis());
+
+		thReaper = new Thread(new Runnable()
+		{
+			public void run()
+			{
+				reap();
+			}
+		}, "SessionReaper");
+		thReaper.setDaemon(true);
+		thReaper.start();
+
+		instance = this;
+	}
+
+	/**
+	 * Stops the reaper. Bound sessions will not be destroyed.
+	 */
+	public synchronized void stop()
+	{
+		if (instance == this)
+		{
+			instance = null;
+		}
+
+		if (thReaper != null)
+		{
+			bStopped = true;
+
+			thReaper.interrupt();
+
+			try
+			{
+				thReaper.join(5000);
+			}
+			catch (InterruptedException ie)
+			{
+				Thread.currentThread().interrupt();
+			}
+
+			thReaper = null;
+		}
+
+		chmBindings.clear();
+		clqNew.clear();
+	}
+
+	/**
+	 * Binds a JVx session to an <code>HttpSession</code> and a principal. Without session registry, the
+	 * call will be ignored.
+	 * 
+	 * @param pSessionId the JVx session id
+	 * @param pHttpSession the http session
+	 * @param pPrincipal the principal name
+	 */
+	public void add(Object pSessionId, HttpSession pHttpSession, String pPrincipal)
+	{
+		if (sessionRegistry == null)
+		{
+			return;
+		}
+
+		Binding binding;
+
+		try
+		{
+			binding = new Binding(pSessionId, pHttpSession, pPrincipal);
+		}
+		catch (IllegalStateException ise)
+		{
+			// invalidated
+			return;
+		}
+
+		Binding previous = chmBindings.get(pSessionId);
+
+		// same binding, keep the scheduled check
+		if (previous != null
+			&& previous.httpSessionId.equals(binding.httpSessionId)
+			&& previous.principal.equals(binding.principal))
+		{
+			return;
+		}
+
+		chmBindings.put(pSessionId, binding);
+
+		clqNew.add(binding);
+	}
+
+	/**
+	 * Runs the reaper loop.
+	 */
+	private void reap()
+	{
+		ArrayList<Binding> liDue = new ArrayList<Binding>();
+
+		while (!bStopped)
+		{
+			try
+			{
+				Thread.sleep(tickDuration);
+			}
+			catch (InterruptedException ie)
+			{
+				continue;
+			}
+
+			try
+			{
+				tick(liDue);
+			}
+			catch (RuntimeException re)
+			{
+				// keep the reaper alive
+			}
+			finally
+			{
+				liDue.clear();
+			}
+		}
+	}
+
+	/**
+	 * Schedules new bindings, checks the due bindings and destroys a batch of orphaned sessions.
+	 * 
+	 * @param pDue the list for due bindings
+	 */
+	void tick(ArrayList<Binding> pDue)
+	{
+		long lNow = System.currentTimeMillis();
+
+		Binding binding;
+
+		while ((binding = clqNew.poll()) != null)
+		{
+			schedule(binding, lNow);
+		}
+
+		wheel.advance(lNow, pDue);
+
+		for (int i = 0, ic = pDue.size(); i < ic; i++)
+		{
+			binding = pDue.get(i);
+
+			// replaced or removed binding
+			if (chmBindings.get(binding.sessionId) != binding)
+			{
+				continue;
+			}
+
+			if (!isSessionAvailable(binding.sessionId))
+			{
+				chmBindings.remove(binding.sessionId, binding);
+			}
+			else if (isOrphan(binding, lNow))
+			{
+				adOrphans.add(binding);
+			}
+			else
+			{
+				schedule(binding, lNow);
+			}
+		}
+
+		for (int i = 0; i < batchSize && !adOrphans.isEmpty(); i++)
+		{
+			binding = adOrphans.poll();
+
+			if (chmBindings.remove(binding.sessionId, binding))
+			{
+				destroyOrphan(binding);
+			}
+		}
+	}
+
+	/**
+	 * Schedules the next check of a binding, at the expiry of the <code>HttpSession</code> after its last
+	 * request but not later than the check interval.
+	 * 
+	 * @param pBinding the binding
+	 * @param pNow the current time
+	 */
+	private void schedule(Binding pBinding, long pNow)
+	{
+		long lDeadline = pNow + checkInterval;
+
+		SessionRegistry registry = sessionRegistry;
+
+		if (registry != null
+			&& pBinding.maxInactiveInterval > 0)
+		{
+			SessionInformation information = registry.getSessionInformation(pBinding.httpSessionId);
+
+			if (information != null
+				&& information.getLastRequest() != null)
+			{
+				lDeadline = Math.min(lDeadline, information.getLastRequest().getTime() + pBinding.maxInactiveInterval * 1000L + gracePeriod);
+			}
+		}
+
+		wheel.add(pBinding, Math.max(lDeadline, pNow + tickDuration));
+	}
+
+	/**
+	 * Checks whether the JVx session of a binding is orphaned. Only the session registry decides, a binding
+	 * without session registry is never orphaned.
+	 * 
+	 * @param pBinding the binding
+	 * @param pNow the current time
+	 * @return <code>true</code> if the <code>HttpSession</code> is unknown, expired or belongs to another principal
+	 */
+	protected boolean isOrphan(Binding pBinding, long pNow)
+	{
+		SessionRegistry registry = sessionRegistry;
+
+		if (registry == null)
+		{
+			return false;
+		}
+
+		SessionInformation information = registry.getSessionInformation(pBinding.httpSessionId);
+
+		if (information == null
+			|| information.isExpired())
+		{
+			return true;
+		}
+
+		Object principal = information.getPrincipal();
+
+		if (principal == null)
+		{
+			return false;
+		}
+
+		String sName;
+
+		if (principal instanceof UserDetails)
+		{
+			sName = ((UserDetails) principal).getUsername();
+		}
+		else if (principal instanceof Principal)
+		{
+			sName = ((Principal) principal).getName();
+		}
+		else
+		{
+			sName = principal.toString();
+		}
+
+		return !pBinding.principal.equals(sName);
+	}
+
+	/**
+	 * Checks whether the JVx session is still available.
+	 * 
+	 * @param pSessionId the JVx session id
+	 * @return <code>true</code> if the session is available
+	 */
+	protected boolean isSessionAvailable(Object pSessionId)
+	{
+		try
+		{
+			return Server.getInstance().getSessionManager().isAvailable(pSessionId);
+		}
+		catch (Exception e)
+		{
+			return false;
+		}
+	}
+
+	/**
+	 * Destroys the JVx session of an orphaned binding.
+	 * 
+	 * @param pBinding the binding
+	 */
+	private void destroyOrphan(Binding pBinding)
+	{
+		String outcome = "reaped";
+
+		try
+		{
+			destroyServerSession(pBinding.sessionId);
+
+			alReaped.incrementAndGet();
+		}
+		catch (SessionExpiredException see)
+		{
+			outcome = "expired";
+		}
+		catch (RuntimeException re)
+		{
+			outcome = "error";
+		}
+
+		if (AuditLog.isActive())
+		{
+			AuditLog.record(AuditLog.LOGOUT, pBinding.principal, pBinding.sessionId, outcome);
+		}
+	}
+
+	/**
+	 * Gets the number of bound JVx sessions.
+	 * 
+	 * @return the number of bindings
+	 */
+	public int getBindingCount()
+	{
+		return chmBindings.size();
+	}
+
+	/**
+	 * Gets the number of destroyed orphaned sessions.
+	 * 
+	 * @return the number of reaped sessions
+	 */
+	public long getReapedCount()
+	{
+		return alReaped.get();
+	}
+
+	/**
+	 * Gets the session registry.
+	 * 
+	 * @return the session registry or <code>null</code>
+	 */
+	public SessionRegistry getSessionRegistry()
+	{
+		return sessionRegistry;
+	}
+
+	/**
+	 * Sets the session registry, e.g. of the concurrent session control or of a session repository. JVx
+	 * sessions of unknown or expired <code>HttpSession</code>s will be destroyed. Without session registry,
+	 * no session will be bound.
+	 * 
+	 * @param pSessionRegistry the session registry or <code>null</code>
+	 */
+	public void setSessionRegistry(SessionRegistry pSessionRegistry)
+	{
+		sessionRegistry = pSessionRegistry;
+	}
+
+	/**
+	 * Gets the tick duration.
+	 * 
+	 * @return the tick duration in milliseconds
+	 */
+	public long getTickDuration()
+	{
+		return tickDuration;
+	}
+
+	/**
+	 * Sets the tick duration. It should be set before the reaper starts.
+	 * 
+	 * @param pTickDuration the tick duration in milliseconds
+	 */
+	public void setTickDuration(long pTickDuration)
+	{
+		tickDuration = pTickDuration;
+	}
+
+	/**
+	 * Gets the maximum time between two checks of a bound session.
+	 * 
+	 * @return the interval in milliseconds
+	 */
+	public long getCheckInterval()
+	{
+		return checkInterval;
+	}
+
+	/**
+	 * Sets the maximum time between two checks of a bound session.
+	 * 
+	 * @param pCheckInterval the interval in milliseconds
+	 */
+	public void setCheckInterval(long pCheckInterval)
+	{
+		checkInterval = pCheckInterval;
+	}
+
+	/**
+	 * Gets the time after the expiry of an <code>HttpSession</code> until its JVx session is orphaned.
+	 * 
+	 * @return the grace period in milliseconds
+	 */
+	public long getGracePeriod()
+	{
+		return gracePeriod;
+	}
+
+	/**
+	 * Sets the time after the expiry of an <code>HttpSession</code> until its JVx session is orphaned.
+	 * 
+	 * @param pGracePeriod the grace period in milliseconds
+	 */
+	public void setGracePeriod(long pGracePeriod)
+	{
+		gracePeriod = pGracePeriod;
+	}
+
+	/**
+	 * Gets the maximum number of destroyed sessions per tick.
+	 * 
+	 * @return the batch size
+	 */
+	public int getBatchSize()
+	{
+		return batchSize;
+	}
+
+	/**
+	 * Sets the maximum number of destroyed sessions per tick.
+	 * 
+	 * @param pBatchSize the batch size
+	 */
+	public void setBatchSize(int pBatchSize)
+	{
+		batchSize = pBatchSize;
+	}
+
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+
+	/**
+	 * The <code>Binding</code> binds a JVx session to an <code>HttpSession</code> and a principal.
+	 * 
+	 * @author Thomas Krautinger
+	 */
+	protected static final class Binding
+	{
+		/** the JVx session id. */
+		private Object sessionId;
+
+		/** the http session id. */
+		private String httpSessionId;
+
+		/** the maximum inactive interval of the http session in seconds. */
+		private int maxInactiveInterval;
+
+		/** the principal name. */
+		private String principal;
+
+		/**
+		 * Creates a new instance of <code>Binding</code>.
+		 * 
+		 * @param pSessionId the JVx session id
+		 * @param pHttpSession the http session
+		 * @param pPrincipal the principal name
+		 */
+		private Binding(Object pSessionId, HttpSession pHttpSession, String pPrincipal)
+		{
+			sessionId = pSessionId;
+			httpSessionId = pHttpSession.getId();
+			maxInactiveInterval = pHttpSession.getMaxInactiveInterval();
+			principal = pPrincipal == null ? "" : pPrincipal;
+		}
+
+		/**
+		 * Gets the JVx session id.
+		 * 
+		 * @return the session id
+		 */
+		public Object getSessionId()
+		{
+			return sessionId;
+		}
+
+		/**
+		 * Gets the principal name.
+		 * 
+		 * @return the principal name
+		 */
+		public String getPrincipal()
+		{
+			return principal;
+		}
+
+	}	// Binding
+
+} // SessionReaper
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ */
+package com.sibvisions.rad.server.security.spring.logout;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The <code>TimingWheel</code> is a hierarchical timing wheel for deadlines with tick resolution. Every
+ * level has 64 slots, a slot of level <code>n</code> covers <code>64^n</code> ticks. Elements of higher
+ * levels will be moved to lower levels when their period starts, so adding an element and advancing a
+ * tick is constant time, independent of the number of elements.
+ * 
+ * The wheel is not thread-safe.
+ * 
+ * @param <E> the element type
+ * @author Thomas Krautinger
+ */
+final class TimingWheel<E>
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Constants
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the bits per level. */
+	private static final int BITS = 6;
+
+	/** the slots per level. */
+	private static final int SLOTS = 1 << BITS;
+
+	/** the slot mask. */
+	private static final int MASK = SLOTS - 1;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the slots per level. */
+	private ArrayList<Timeout<E>>[][] slots;
+
+	/** the tick duration in milliseconds. */
+	private long tickDuration;
+
+	/** the current tick. */
+	private long currentTick;
+
+	/** the number of elements. */
+	private int size;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates a new instance of <code>TimingWheel</code>.
+	 * 
+	 * @param pTickDuration the tick duration in milliseconds
+	 * @param pLevels the number of levels
+	 * @param pNow the current time in milliseconds
+	 */
+	TimingWheel(long pTickDuration, int pLevels, long pNow)
+	{
+		tickDuration = pTickDuration;
+		currentTick = pNow / pTickDuration;
+
+		slots = createSlots(pLevels);
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Adds an element.
+	 * 
+	 * @param pElement the element
+	 * @param pDeadline the deadline in milliseconds
+	 */
+	void add(E pElement, long pDeadline)
+	{
+		add(new Timeout<E>(pElement, (pDeadline + tickDuration - 1) / tickDuration));
+
+		size++;
+	}
+
+	/**
+	 * Advances the wheel to the given time.
+	 * 
+	 * @param pNow the current time in milliseconds
+	 * @param pDue the list for all elements with a deadline up to the current time
+	 */
+	void advance(long pNow, List<E> pDue)
+	{
+		long lTargetTick = pNow / tickDuration;
+
+		while (currentTick < lTargetTick)
+		{
+			currentTick++;
+
+			// cascade the higher levels whose period starts with this tick
+			for (int i = 1; i < slots.length && (currentTick & ((1L << (BITS * i)) - 1)) == 0; i++)
+			{
+				int iSlot = (int) (currentTick >>> (BITS * i)) & MASK;
+
+				ArrayList<Timeout<E>> liCascade = slots[i][iSlot];
+
+				if (liCascade != null)
+				{
+					slots[i][iSlot] = null;
+
+					for (int j = 0, jc = liCascade.size(); j < jc; j++)
+					{
+						Timeout<E> timeout = liCascade.get(j);
+
+						if (timeout.tick <= currentTick)
+						{
+							pDue.add(timeout.element);
+
+							size--;
+						}
+						else
+						{
+							add(timeout);
+						}
+					}
+				}
+			}
+
+			int iSlot = (int) currentTick & MASK;
+
+			ArrayList<Timeout<E>> liDue = slots[0][iSlot];
+
+			if (liDue != null)
+			{
+				slots[0][iSlot] = null;
+
+				for (int j = 0, jc = liDue.size(); j < jc; j++)
+				{
+					pDue.add(liDue.get(j).element);
+				}
+
+				size -= liDue.size();
+			}
+		}
+	}
+
+	/**
+	 * Adds a timeout to the slot of its level.
+	 * 
+	 * @param pTimeout the timeout
+	 */
+	private void add(Timeout<E> pTimeout)
+	{
+		long lDelta = pTimeout.tick - currentTick;
+
+		if (lDelta <= 0)
+		{
+			// due with the next tick
+			lDelta = 1;
+		}
+
+		int iLevel = 0;
+
+		while (iLevel < slots.length - 1
+			   && lDelta >= 1L << (BITS * (iLevel + 1)))
+		{
+			iLevel++;
+		}
+
+		long lTick = currentTick + Math.min(lDelta, (1L << (BITS * (iLevel + 1))) - 1);
+
+		int iSlot = (int) (lTick >>> (BITS * iLevel)) & MASK;
+
+		ArrayList<Timeout<E>> liSlot = slots[iLevel][iSlot];
+
+		if (liSlot == null)
+		{
+			liSlot = new ArrayList<Timeout<E>>();
+
+			slots[iLevel][iSlot] = liSlot;
+		}
+
+		liSlot.add(pTimeout);
+	}
+
+	/**
+	 * Gets the number of elements.
+	 * 
+	 * @return the number of elements
+	 */
+	int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Creates the empty slots of all levels.
+	 * 
+	 * @param <E> the element type
+	 * @param pLevels the number of levels
+	 * @return the slots per level
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static <E> ArrayList<Timeout<E>>[][] createSlots(int pLevels)
+	{
+		return new ArrayList[pLevels][SLOTS];
+	}
+
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+
+	/**
+	 * The <code>Timeout</code> is an element with its deadline tick.
+	 * 
+	 * @param <E> the element type
+	 * @author Thomas Krautinger
+	 */
+	private static final class Timeout<E>
+	{
+		/** the element. */
+		private E element;
+
+		/** the deadline tick. */
+		private long tick;
+
+		/**
+		 * Creates a new instance of <code>Timeout</code>.
+		 * 
+		 * @param pElement the element
+		 * @param pTick the deadline tick
+		 */
+		private Timeout(E pElement, long pTick)
+		{
+			element = pElement;
+			tick = pTick;
+		}
+
+	}	// Timeout
+
+} // TimingWheel
@@ -0,0 +1,506 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ * 19.10.2026 - [TK] - documented that the built-in REST adapter doesn't use the pool
+ */
+package com.sibvisions.rad.server.security.spring.rest;
+
+import java.util.ArrayDeque;
+import java.util.Hashtable;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Timer;
+import java.util.TimerTask;
+
+import jvx.rad.remote.IConnectionConstants;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.core.Authentication;
+
+import com.sibvisions.rad.server.DirectServerSession;
+import com.sibvisions.rad.server.security.spring.WrappedAuthentication;
+import com.sibvisions.rad.server.security.spring.logout.DestroySessionHandler;
+import com.sibvisions.util.ArrayUtil;
+
+/**
+ * The <code>RestSessionPool</code> keeps JVx sessions per authenticated principal, so that stateless
+ * REST calls of the same principal reuse a warm session instead of creating and destroying a session
+ * per call. Idle sessions will be destroyed after the idle timeout with the {@link DestroySessionHandler}.
+ * 
+ * The sessions are offered to custom REST endpoints by the {@link RestSessionPoolFilter}. The built-in
+ * REST adapter of JVx (<code>/services/rest/*</code>) still creates a session per call, because it has
+ * no hook for the session creation.
+ * 
+ * e.g.:
+ * 
+ * <beans:bean id="jvxRestSessionPool" class="com.sibvisions.rad.server.security.spring.rest.RestSessionPool">
+ *    <beans:property name="maxSessionsPerPrincipal" value="4" />
+ *    <beans:property name="idleTimeout" value="60000" />
+ * </beans:bean>
+ * 
+ * @author Thomas Krautinger
+ */
+public class RestSessionPool implements DisposableBean
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the pooled sessions per principal key. */
+	private Hashtable<String, Pool> htPools = new Hashtable<String, Pool>();
+
+	/** the handler for destroying sessions. */
+	private DestroySessionHandler destroySessionHandler = new DestroySessionHandler();
+
+	/** the eviction timer. */
+	private Timer timer;
+
+	/** the maximum number of sessions per principal. */
+	private int maxSessionsPerPrincipal = 4;
+
+	/** the idle timeout in milliseconds. */
+	private long idleTimeout = 60000;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Interface implementation
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void destroy()
+	{
+		synchronized (this)
+		{
+			if (timer != null)
+			{
+				timer.cancel();
+				timer = null;
+			}
+		}
+
+		ArrayUtil<PooledSession> auSessions = new ArrayUtil<PooledSession>();
+
+		synchronized (htPools)
+		{
+			for (Pool pool : htPools.values())
+			{
+				auSessions.addAll(pool.idle);
+				pool.idle.clear();
+			}
+
+			htPools.clear();
+		}
+
+		for (int i = 0, ic = auSessions.size(); i < ic; i++)
+		{
+			destroySession(auSessions.get(i));
+		}
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Gets a session for the given principal. The authentication has to be set in the current security
+	 * context, because new sessions will be validated by the security manager. The session has to be
+	 * returned with {@link #release(PooledSession)}.
+	 * 
+	 * @param pApplicationName the application name
+	 * @param pAuthentication the authentication of the principal
+	 * @return the session
+	 * @throws Throwable if the session could not be created
+	 */
+	public PooledSession acquire(String pApplicationName, Authentication pAuthentication) throws Throwable
+	{
+		String sKey = getKey(pApplicationName, pAuthentication);
+
+		Pool pool;
+
+		synchronized (htPools)
+		{
+			pool = htPools.get(sKey);
+
+			if (pool == null)
+			{
+				pool = new Pool();
+
+				htPools.put(sKey, pool);
+			}
+
+			long lNow = System.currentTimeMillis();
+
+			while (!pool.idle.isEmpty())
+			{
+				PooledSession session = pool.idle.pollFirst();
+
+				if (!session.session.isInactive(lNow))
+				{
+					return session;
+				}
+
+				pool.size--;
+
+				destroySessionLater(session);
+			}
+
+			if (pool.size < maxSessionsPerPrincipal)
+			{
+				pool.size++;
+			}
+			else
+			{
+				// overflow sessions will be destroyed on release
+				pool = null;
+			}
+		}
+
+		try
+		{
+			DirectServerSession session = DirectServerSession.createMasterSession(pApplicationName, pAuthentication.getName(), null);
+
+			startTimer();
+
+			return new PooledSession(sKey, session, pAuthentication, pool != null);
+		}
+		catch (Throwable th)
+		{
+			if (pool != null)
+			{
+				synchronized (htPools)
+				{
+					pool.size--;
+				}
+			}
+
+			throw th;
+		}
+	}
+
+	/**
+	 * Returns a session to the pool.
+	 * 
+	 * @param pSession the session
+	 */
+	public void release(PooledSession pSession)
+	{
+		if (pSession == null)
+		{
+			return;
+		}
+
+		if (pSession.pooled)
+		{
+			synchronized (htPools)
+			{
+				Pool pool = htPools.get(pSession.key);
+
+				if (pool != null)
+				{
+					pSession.lastUsed = System.currentTimeMillis();
+
+					pool.idle.addFirst(pSession);
+
+					return;
+				}
+			}
+		}
+
+		destroySession(pSession);
+	}
+
+	/**
+	 * Destroys a session which can't be used anymore, e.g. after a failed call.
+	 * 
+	 * @param pSession the session
+	 */
+	public void invalidate(PooledSession pSession)
+	{
+		if (pSession == null)
+		{
+			return;
+		}
+
+		if (pSession.pooled)
+		{
+			synchronized (htPools)
+			{
+				Pool pool = htPools.get(pSession.key);
+
+				if (pool != null)
+				{
+					pool.size--;
+				}
+			}
+		}
+
+		destroySession(pSession);
+	}
+
+	/**
+	 * Destroys all sessions which are idle longer than the idle timeout.
+	 */
+	protected void evict()
+	{
+		ArrayUtil<PooledSession> auEvicted = new ArrayUtil<PooledSession>();
+
+		long lNow = System.currentTimeMillis();
+
+		synchronized (htPools)
+		{
+			for (Iterator<Map.Entry<String, Pool>> it = htPools.entrySet().iterator(); it.hasNext();)
+			{
+				Pool pool = it.next().getValue();
+
+				// the oldest sessions are at the end
+				while (!pool.idle.isEmpty()
+					   && lNow - pool.idle.peekLast().lastUsed >= idleTimeout)
+				{
+					auEvicted.add(pool.idle.pollLast());
+
+					pool.size--;
+				}
+
+				if (pool.size == 0)
+				{
+					it.remove();
+				}
+			}
+		}
+
+		for (int i = 0, ic = auEvicted.size(); i < ic; i++)
+		{
+			destroySession(auEvicted.get(i));
+		}
+	}
+
+	/**
+	 * Destroys the session with the {@link DestroySessionHandler}.
+	 * 
+	 * @param pSession the session
+	 */
+	protected void destroySession(PooledSession pSession)
+	{
+		WrappedAuthentication authentication = new WrappedAuthentication(pSession.authentication);
+		authentication.setProperty(IConnectionConstants.PREFIX_CLIENT + "sessionid", pSession.session.getId());
+
+		destroySessionHandler.doLogout(authentication);
+	}
+
+	/**
+	 * Destroys the session outside of the pool lock.
+	 * 
+	 * @param pSession the session
+	 */
+	private void destroySessionLater(final PooledSession pSession)
+	{
+		startTimer();
+
+		synchronized (this)
+		{
+			if (timer != null)
+			{
+				timer.schedule(new TimerTask()
+				{
+					@Override
+					public void run()
+					{
+						destroySession(pSession);
+					}
+				}, 0);
+			}
+		}
+	}
+
+	/**
+	 * Starts the eviction timer, if not already started.
+	 */
+	private synchronized void startTimer()
+	{
+		if (timer == null)
+		{
+			long lPeriod = Math.max(1000, idleTimeout / 2);
+
+			timer = new Timer("RestSessionPool", true);
+			timer.schedule(new TimerTask()
+			{
+				@Override
+				public void run()
+				{
+					evict();
+				}
+			}, lPeriod, lPeriod);
+		}
+	}
+
+	/**
+	 * Gets the pool key for an authentication. The key contains the authorities, so that changed
+	 * authorities don't reuse a session with outdated roles.
+	 * 
+	 * @param pApplicationName the application name
+	 * @param pAuthentication the authentication
+	 * @return the key
+	 */
+	protected String getKey(String pApplicationName, Authentication pAuthentication)
+	{
+		return pApplicationName + '\n' + pAuthentication.getName() + '\n' + pAuthentication.getAuthorities();
+	}
+
+	/**
+	 * Gets the number of pooled sessions, idle and in use.
+	 * 
+	 * @return the number of pooled sessions
+	 */
+	public int getSessionCount()
+	{
+		int iCount = 0;
+
+		synchronized (htPools)
+		{
+			for (Pool pool : htPools.values())
+			{
+				iCount += pool.size;
+			}
+		}
+
+		return iCount;
+	}
+
+	/**
+	 * Gets the maximum number of sessions per principal.
+	 * 
+	 * @return the maximum number of sessions
+	 */
+	public int getMaxSessionsPerPrincipal()
+	{
+		return maxSessionsPerPrincipal;
+	}
+
+	/**
+	 * Sets the maximum number of sessions per principal. Additional concurrent calls get a session which
+	 * will be destroyed after the call.
+	 * 
+	 * @param pMaxSessionsPerPrincipal the maximum number of sessions
+	 */
+	public void setMaxSessionsPerPrincipal(int pMaxSessionsPerPrincipal)
+	{
+		maxSessionsPerPrincipal = pMaxSessionsPerPrincipal;
+	}
+
+	/**
+	 * Gets the idle timeout.
+	 * 
+	 * @return the idle timeout in milliseconds
+	 */
+	public long getIdleTimeout()
+	{
+		return idleTimeout;
+	}
+
+	/**
+	 * Sets the idle timeout.
+	 * 
+	 * @param pIdleTimeout the idle timeout in milliseconds
+	 */
+	public void setIdleTimeout(long pIdleTimeout)
+	{
+		idleTimeout = pIdleTimeout;
+	}
+
+	/**
+	 * Sets the handler for destroying sessions.
+	 * 
+	 * @param pDestroySessionHandler the handler
+	 */
+	public void setDestroySessionHandler(DestroySessionHandler pDestroySessionHandler)
+	{
+		destroySessionHandler = pDestroySessionHandler;
+	}
+
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+
+	/**
+	 * The <code>Pool</code> contains the idle sessions of one principal.
+	 * 
+	 * @author Thomas Krautinger
+	 */
+	private static final class Pool
+	{
+		/** the idle sessions, most recently used first. */
+		private ArrayDeque<PooledSession> idle = new ArrayDeque<PooledSession>();
+
+		/** the number of sessions, idle and in use. */
+		private int size;
+
+	}	// Pool
+
+	/**
+	 * The <code>PooledSession</code> is a JVx session of the pool.
+	 * 
+	 * @author Thomas Krautinger
+	 */
+	public static final class PooledSession
+	{
+		/** the pool key. */
+		private String key;
+
+		/** the session. */
+		private DirectServerSession session;
+
+		/** the authentication. */
+		private Authentication authentication;
+
+		/** whether the session is counted by the pool. */
+		private boolean pooled;
+
+		/** the time of the last release. */
+		private long lastUsed;
+
+		/**
+		 * Creates a new instance of <code>PooledSession</code>.
+		 * 
+		 * @param pKey the pool key
+		 * @param pSession the session
+		 * @param pAuthentication the authentication
+		 * @param pPooled whether the session is counted by the pool
+		 */
+		private PooledSession(String pKey, DirectServerSession pSession, Authentication pAuthentication, boolean pPooled)
+		{
+			key = pKey;
+			session = pSession;
+			authentication = pAuthentication;
+			pooled = pPooled;
+		}
+
+		/**
+		 * Gets the JVx session.
+		 * 
+		 * @return the session
+		 */
+		public DirectServerSession getSession()
+		{
+			return session;
+		}
+
+	}	// PooledSession
+
+} // RestSessionPool
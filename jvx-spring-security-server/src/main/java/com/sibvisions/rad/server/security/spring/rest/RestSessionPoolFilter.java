@@ -0,0 +1,223 @@
+/*
+ * Copyright 2015 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * 
+ * 
+ * History
+ * 
+ * 19.10.2026 - [TK] - creation
+ * 19.10.2026 - [TK] - documented that the built-in REST adapter doesn't use the pool
+ */
+package com.sibvisions.rad.server.security.spring.rest;
+
+import java.io.IOException;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.sibvisions.rad.server.DirectServerSession;
+import com.sibvisions.rad.server.security.spring.rest.RestSessionPool.PooledSession;
+
+/**
+ * The <code>RestSessionPoolFilter</code> offers a pooled JVx session of the authenticated principal to
+ * custom REST endpoints, e.g. servlets or controllers behind the filter. The session will be acquired on
+ * first use via the request attribute {@link #SESSION_ATTRIBUTE} and returned to the pool after the
+ * request:
+ * 
+ * <pre>
+ * SessionProvider provider = (SessionProvider) request.getAttribute(RestSessionPoolFilter.SESSION_ATTRIBUTE);
+ * 
+ * Object result = provider.getSession().call("customers", "find", id);
+ * </pre>
+ * 
+ * The built-in REST adapter of JVx (<code>/services/rest/*</code>) doesn't use the pool. It creates and
+ * destroys its own session for every call: the verifier of the <code>RESTAdapter</code> can't be replaced,
+ * it creates a new session with <code>DirectServerSession.createMasterSession</code>, and the security
+ * manager only validates this session and can't return a pooled one. The filter has no effect on such
+ * calls.
+ * 
+ * e.g.:
+ * 
+ * <beans:bean id="jvxRestSessionFilter" class="com.sibvisions.rad.server.security.spring.rest.RestSessionPoolFilter">
+ *    <beans:constructor-arg ref="jvxRestSessionPool" />
+ *    <beans:constructor-arg value="myapp" />
+ * </beans:bean>
+ * 
+ * @author Thomas Krautinger
+ */
+public class RestSessionPoolFilter implements Filter
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Constants
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the request attribute with the {@link SessionProvider}. */
+	public static final String SESSION_ATTRIBUTE = RestSessionPoolFilter.class.getName() + ".session";
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the session pool. */
+	private RestSessionPool pool;
+
+	/** the application name. */
+	private String applicationName;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates a new instance of <code>RestSessionPoolFilter</code>.
+	 * 
+	 * @param pPool the session pool
+	 * @param pApplicationName the application name
+	 */
+	public RestSessionPoolFilter(RestSessionPool pPool, String pApplicationName)
+	{
+		pool = pPool;
+		applicationName = pApplicationName;
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Interface implementation
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void init(FilterConfig pFilterConfig) throws ServletException
+	{
+		// Do nothing
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void doFilter(ServletRequest pRequest, ServletResponse pResponse, FilterChain pChain) throws IOException, ServletException
+	{
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+		if (authentication == null
+			|| !authentication.isAuthenticated())
+		{
+			pChain.doFilter(pRequest, pResponse);
+
+			return;
+		}
+
+		SessionProvider provider = new SessionProvider(authentication);
+
+		pRequest.setAttribute(SESSION_ATTRIBUTE, provider);
+
+		boolean bFailed = true;
+
+		try
+		{
+			pChain.doFilter(pRequest, pResponse);
+
+			bFailed = false;
+		}
+		finally
+		{
+			pRequest.removeAttribute(SESSION_ATTRIBUTE);
+
+			provider.close(bFailed);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void destroy()
+	{
+		// Do nothing
+	}
+
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+
+	/**
+	 * The <code>SessionProvider</code> acquires the pooled session on first use.
+	 * 
+	 * @author Thomas Krautinger
+	 */
+	public final class SessionProvider
+	{
+		/** the authentication. */
+		private Authentication authentication;
+
+		/** the acquired session. */
+		private PooledSession session;
+
+		/**
+		 * Creates a new instance of <code>SessionProvider</code>.
+		 * 
+		 * @param pAuthentication the authentication
+		 */
+		private SessionProvider(Authentication pAuthentication)
+		{
+			authentication = pAuthentication;
+		}
+
+		/**
+		 * Gets the pooled session of the principal.
+		 * 
+		 * @return the session
+		 * @throws Throwable if the session could not be created
+		 */
+		public synchronized DirectServerSession getSession() throws Throwable
+		{
+			if (session == null)
+			{
+				session = pool.acquire(applicationName, authentication);
+			}
+
+			return session.getSession();
+		}
+
+		/**
+		 * Returns the session to the pool, or destroys it if the request failed.
+		 * 
+		 * @param pFailed whether the request failed
+		 */
+		private synchronized void close(boolean pFailed)
+		{
+			if (session != null)
+			{
+				if (pFailed)
+				{
+					pool.invalidate(session);
+				}
+				else
+				{
+					pool.release(session);
+				}
+
+				session = null;
+			}
+		}
+
+	}	// SessionProvider
+
+} // RestSessionPoolFilter